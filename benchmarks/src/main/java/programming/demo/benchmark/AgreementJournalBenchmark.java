@@ -0,0 +1,94 @@
+package programming.demo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import programming.demo.ProgrammingDemo;
+import programming.demo.journal.AgreementJournal;
+import programming.demo.model.RentalAgreement;
+import programming.demo.model.enumeration.ToolCode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+public class AgreementJournalBenchmark {
+
+    private static final int REPLAY_RECORDS = 2_000_000;
+
+    @State(Scope.Benchmark)
+    public static class AppendState {
+        private Path file;
+        private AgreementJournal journal;
+        private RentalAgreement agreement;
+
+        @Setup(Level.Iteration)
+        public void setUp() throws IOException {
+            file = Files.createTempFile("append", ".journal");
+            journal = AgreementJournal.open(file);
+            agreement = ProgrammingDemo.checkout(ToolCode.JAKR, 20, 10, LocalDate.of(2020, 7, 2));
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() throws IOException {
+            journal.close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ReplayState {
+        private Path file;
+        private AgreementJournal journal;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            file = Files.createTempFile("replay", ".journal");
+            RentalAgreement agreement = ProgrammingDemo.checkout(ToolCode.CHNS, 5, 25, LocalDate.of(2015, 7, 2));
+            try (AgreementJournal writer = AgreementJournal.open(file)) {
+                for (int i = 0; i < REPLAY_RECORDS; i++) {
+                    writer.append(agreement);
+                }
+            }
+            journal = AgreementJournal.open(file);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            journal.close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public long append(AppendState state) {
+        return state.journal.append(state.agreement);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    @Fork(1)
+    public void replayTwoMillion(ReplayState state, Blackhole blackhole) {
+        state.journal.replay(blackhole::consume);
+    }
+}
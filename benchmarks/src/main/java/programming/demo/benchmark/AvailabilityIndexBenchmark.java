@@ -0,0 +1,62 @@
+package programming.demo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import programming.demo.inventory.AvailabilityIndex;
+import programming.demo.inventory.UnitWindow;
+import programming.demo.model.enumeration.ToolCode;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Earliest-window queries against a store whose units are booked back to back, with short gaps, for five years.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AvailabilityIndexBenchmark {
+
+    private static final LocalDate ORIGIN = LocalDate.of(2020, 1, 1);
+    private static final int BOOKED_DAYS = 5 * 365;
+
+    @Param({"20000"})
+    private int units;
+
+    private AvailabilityIndex index;
+    private int query;
+
+    @Setup
+    public void setUp() {
+        index = new AvailabilityIndex(ORIGIN);
+        index.addUnits("store-1", ToolCode.JAKD, units);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int unit = 0; unit < units; unit++) {
+            int day = random.nextInt(3);
+            while (day < BOOKED_DAYS) {
+                int days = 3 + random.nextInt(12);
+                index.book(new UnitWindow("store-1", ToolCode.JAKD, unit, ORIGIN.plusDays(day), days));
+                day += days + random.nextInt(4);
+            }
+        }
+    }
+
+    @Benchmark
+    public UnitWindow findEarliestFiveDayWindow() {
+        query = (query + 37) % BOOKED_DAYS;
+        return index.findEarliestWindow("store-1", ToolCode.JAKD, ORIGIN.plusDays(query), 5);
+    }
+}
@@ -0,0 +1,52 @@
+package programming.demo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import programming.demo.model.CartAgreement;
+import programming.demo.model.RentalAgreement;
+import programming.demo.model.enumeration.ToolCode;
+import programming.demo.service.RentalService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A contractor's cart of eight units over two weeks: one agreement per unit against one cart agreement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CartCheckoutBenchmark {
+
+    private final RentalService rentalService = new RentalService();
+    private final List<ToolCode> toolCodes = Arrays.asList(ToolCode.JAKR, ToolCode.JAKR, ToolCode.JAKD, ToolCode.LADW,
+            ToolCode.LADW, ToolCode.LADW, ToolCode.CHNS, ToolCode.CHNS);
+    private final LocalDate checkoutDate = LocalDate.of(2020, 6, 29);
+
+    @Benchmark
+    public List<RentalAgreement> agreementPerUnit() {
+        List<RentalAgreement> agreements = new ArrayList<>(toolCodes.size());
+        for (ToolCode toolCode : toolCodes) {
+            agreements.add(rentalService.buildRentalAgreement(toolCode, 14, 10, checkoutDate));
+        }
+        return agreements;
+    }
+
+    @Benchmark
+    public CartAgreement cartAgreement() {
+        return rentalService.buildCartAgreement(toolCodes, 14, 10, checkoutDate);
+    }
+}
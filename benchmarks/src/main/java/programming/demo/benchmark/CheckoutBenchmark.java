@@ -0,0 +1,40 @@
+package programming.demo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import programming.demo.ProgrammingDemo;
+import programming.demo.model.RentalAgreement;
+import programming.demo.model.enumeration.ToolCode;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CheckoutBenchmark {
+
+    @Param({"1", "5", "30", "365", "36500"})
+    private int rentalDayCount;
+
+    @Param({"LADW", "CHNS", "JAKD"})
+    private ToolCode toolCode;
+
+    private final LocalDate checkoutDate = LocalDate.of(2020, 7, 2);
+
+    @Benchmark
+    public RentalAgreement checkout() {
+        return ProgrammingDemo.checkout(toolCode, rentalDayCount, 10, checkoutDate);
+    }
+}
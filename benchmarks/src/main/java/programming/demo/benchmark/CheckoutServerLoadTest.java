@@ -0,0 +1,130 @@
+package programming.demo.benchmark;
+
+import programming.demo.http.CheckoutServer;
+import programming.demo.inventory.Inventory;
+import programming.demo.service.IdempotentCheckout;
+import programming.demo.service.RentalService;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test of {@link CheckoutServer} on one machine: {@code concurrency} clients each send quote and
+ * checkout requests back to back for the given number of seconds, then throughput and latency percentiles are
+ * printed. Run with
+ * {@code java -cp benchmarks/target/benchmarks.jar programming.demo.benchmark.CheckoutServerLoadTest [concurrency] [seconds]}.
+ */
+public class CheckoutServerLoadTest {
+
+    private static final int WARMUP_SECONDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+
+        try (CheckoutServer server = CheckoutServer.start(new InetSocketAddress("127.0.0.1", 0), new RentalService(), new Inventory(),
+                new IdempotentCheckout(Duration.ofDays(1)))) {
+            String base = "http://127.0.0.1:" + server.getPort();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()))
+                    .build();
+
+            run(client, base, concurrency, WARMUP_SECONDS);
+            long[] latencies = run(client, base, concurrency, seconds);
+
+            Arrays.sort(latencies);
+            System.out.println(String.format("concurrency=%d requests=%d throughput=%.0f/s",
+                    concurrency, latencies.length, latencies.length / (double) seconds));
+            System.out.println(String.format("p50=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms",
+                    percentile(latencies, 0.5), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                    latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6));
+        }
+        System.exit(0);
+    }
+
+    private static long[] run(HttpClient client, String base, int concurrency, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long[][] latencies = new long[concurrency][];
+        int[] counts = new int[concurrency];
+        AtomicLong failures = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+
+        for (int c = 0; c < concurrency; c++) {
+            int clientIndex = c;
+            clients.execute(() -> {
+                long[] own = new long[1 << 14];
+                int count = 0;
+                try {
+                    for (int i = clientIndex; System.nanoTime() < deadline; i++) {
+                        HttpRequest request = request(base, i);
+                        long start = System.nanoTime();
+                        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        long latency = System.nanoTime() - start;
+                        if (response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                        if (count == own.length) {
+                            own = Arrays.copyOf(own, count * 2);
+                        }
+                        own[count++] = latency;
+                    }
+                } catch (Exception ex) {
+                    failures.incrementAndGet();
+                } finally {
+                    latencies[clientIndex] = own;
+                    counts[clientIndex] = count;
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        clients.shutdown();
+
+        if (failures.get() > 0) {
+            System.out.println(String.format("failures=%d", failures.get()));
+        }
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        long[] merged = new long[total];
+        for (int c = 0, offset = 0; c < concurrency; offset += counts[c], c++) {
+            System.arraycopy(latencies[c], 0, merged, offset, counts[c]);
+        }
+        return merged;
+    }
+
+    private static HttpRequest request(String base, int i) {
+        String parameters = String.format("toolCode=%s&rentalDays=%d&discountPercent=%d&checkoutDate=2015-07-02",
+                i % 3 == 0 ? "LADW" : i % 3 == 1 ? "CHNS" : "JAKR", 1 + i % 30, i % 101);
+        if (i % 2 == 0) {
+            return HttpRequest.newBuilder(URI.create(base + "/quote?" + parameters)).GET().build();
+        }
+        return HttpRequest.newBuilder(URI.create(base + "/checkout"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(parameters))
+                .build();
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1e6;
+    }
+}
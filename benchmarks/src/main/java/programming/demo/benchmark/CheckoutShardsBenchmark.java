@@ -0,0 +1,78 @@
+package programming.demo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import programming.demo.model.CheckoutResult;
+import programming.demo.model.enumeration.ToolCode;
+import programming.demo.service.RentalService;
+import programming.demo.shard.CheckoutShards;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkout throughput of 256 stores as the number of shards grows. Each benchmark thread submits a window of
+ * checkouts to random stores and waits for all of them, so every shard always has work queued.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class CheckoutShardsBenchmark {
+
+    private static final int STORES = 256;
+    private static final int WINDOW = 64;
+
+    @Param({"1", "2", "4", "8"})
+    private int shardCount;
+
+    private CheckoutShards shards;
+    private final LocalDate checkoutDate = LocalDate.of(2020, 7, 2);
+
+    @Setup
+    public void setUp() {
+        shards = CheckoutShards.builder(new RentalService()).shardCount(shardCount).queueCapacity(1 << 16).start();
+        for (int store = 0; store < STORES; store++) {
+            shards.addUnits("store-" + store, ToolCode.JAKR, Long.MAX_VALUE / 2).join();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        shards.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WINDOW)
+    public CheckoutResult checkoutWindow() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        CompletableFuture<CheckoutResult>[] futures = new CompletableFuture[WINDOW];
+        for (int i = 0; i < WINDOW; i++) {
+            futures[i] = shards.checkout("store-" + random.nextInt(STORES), ToolCode.JAKR, 1 + random.nextInt(30),
+                    10, checkoutDate);
+        }
+        CheckoutResult last = null;
+        for (CompletableFuture<CheckoutResult> future : futures) {
+            last = future.join();
+        }
+        return last;
+    }
+}
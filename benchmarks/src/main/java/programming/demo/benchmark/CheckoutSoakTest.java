@@ -0,0 +1,193 @@
+package programming.demo.benchmark;
+
+import programming.demo.ProgrammingDemo;
+import programming.demo.metrics.LatencyHistogram;
+import programming.demo.model.CheckoutRequest;
+import programming.demo.model.CheckoutResult;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Soak test of {@link ProgrammingDemo#tryCheckout(programming.demo.model.enumeration.ToolCode, int, int,
+ * java.time.LocalDate)} under a mixed workload: {@code threads} workers replay traces drawn from a
+ * {@link SoakWorkload} back to back for {@code seconds} after a {@code warmup}, and every {@code report} seconds the
+ * harness prints that interval's throughput, latency percentiles, failures, collections and the workers' allocation
+ * rate, followed by the same for the whole run. Run with
+ * {@code java -cp benchmarks/target/benchmarks.jar programming.demo.benchmark.CheckoutSoakTest [key=value ...]},
+ * where the keys are {@code threads}, {@code seconds}, {@code warmup}, {@code report}, {@code seed} and those of
+ * {@link SoakWorkload}.
+ * <p>
+ * Each worker records latencies into a histogram only it writes. At the end of an interval the harness bumps a
+ * shared epoch and each worker hands its histogram over before its next request, so intervals are merged exactly
+ * and the workers never contend on a shared recorder.
+ */
+public class CheckoutSoakTest {
+
+    private static final int TRACE_LENGTH = 1 << 16;
+    private static final int STOP = -1;
+
+    private static volatile int epoch;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> arguments = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 1) {
+                throw new IllegalArgumentException(String.format("%s is not a key=value argument.", arg));
+            }
+            arguments.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        int threads = Integer.parseInt(arguments.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors() * 4)));
+        int seconds = Integer.parseInt(arguments.getOrDefault("seconds", "300"));
+        int warmup = Integer.parseInt(arguments.getOrDefault("warmup", "30"));
+        int report = Integer.parseInt(arguments.getOrDefault("report", "10"));
+        long seed = Long.parseLong(arguments.getOrDefault("seed", "42"));
+        SoakWorkload workload = SoakWorkload.of(arguments);
+        System.out.println(String.format("threads=%d seconds=%d warmup=%d %s", threads, seconds, warmup, workload));
+
+        AtomicReferenceArray<Interval> handoffs = new AtomicReferenceArray<>(threads);
+        Thread[] workers = new Thread[threads];
+        long[] workerIds = new long[threads];
+        for (int w = 0; w < threads; w++) {
+            CheckoutRequest[] trace = workload.trace(TRACE_LENGTH, seed + w);
+            int worker = w;
+            workers[w] = new Thread(() -> replay(trace, handoffs, worker), String.format("soak-worker-%d", w));
+            workers[w].setDaemon(true);
+            workerIds[w] = workers[w].getId();
+        }
+
+        Sample previous = Sample.take(workerIds);
+        long start = previous.nanos;
+        for (Thread worker : workers) {
+            worker.start();
+        }
+
+        Interval total = new Interval();
+        Sample measuredFrom = null;
+        long end = start + TimeUnit.SECONDS.toNanos(warmup + seconds);
+        for (long boundary = start + TimeUnit.SECONDS.toNanos(Math.max(warmup, 1)); ; boundary += TimeUnit.SECONDS.toNanos(report)) {
+            boundary = Math.min(boundary, end);
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, boundary - System.nanoTime()));
+            boolean last = boundary == end;
+            // Sampled before the workers see the new epoch; a stopped worker no longer reports its allocations.
+            Sample sample = Sample.take(workerIds);
+            epoch = last ? STOP : epoch + 1;
+            Interval interval = collect(handoffs);
+            boolean warmingUp = measuredFrom == null;
+            print(warmingUp ? "warmup" : String.format("%6.0fs", (sample.nanos - start) / 1e9), interval, previous, sample);
+            if (warmingUp) {
+                measuredFrom = sample;
+            } else {
+                total.add(interval);
+            }
+            previous = sample;
+            if (last) {
+                break;
+            }
+        }
+        print("total ", total, measuredFrom, previous);
+    }
+
+    private static void replay(CheckoutRequest[] trace, AtomicReferenceArray<Interval> handoffs, int worker) {
+        int seen = 0;
+        Interval interval = new Interval();
+        for (int i = 0; ; i = (i + 1) & (TRACE_LENGTH - 1)) {
+            int current = epoch;
+            if (current != seen) {
+                handoffs.set(worker, interval);
+                if (current == STOP) {
+                    return;
+                }
+                interval = new Interval();
+                seen = current;
+            }
+
+            CheckoutRequest request = trace[i];
+            long started = System.nanoTime();
+            CheckoutResult result;
+            try {
+                result = ProgrammingDemo.tryCheckout(request.getToolCode(), request.getRentalDayCount(),
+                        request.getDiscountPercent(), request.getCheckoutDate());
+            } catch (RuntimeException ex) {
+                result = null;
+            }
+            interval.latency.record(System.nanoTime() - started);
+            if (result == null || !result.isSuccess()) {
+                interval.failures++;
+            }
+        }
+    }
+
+    private static Interval collect(AtomicReferenceArray<Interval> handoffs) {
+        Interval merged = new Interval();
+        for (int w = 0; w < handoffs.length(); w++) {
+            Interval handedOff;
+            while ((handedOff = handoffs.getAndSet(w, null)) == null) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+            }
+            merged.add(handedOff);
+        }
+        return merged;
+    }
+
+    private static void print(String label, Interval interval, Sample from, Sample to) {
+        double elapsed = (to.nanos - from.nanos) / 1e9;
+        long requests = interval.latency.getCount();
+        System.out.println(String.format("%s requests=%d throughput=%.0f/s p50=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus"
+                        + " failures=%d gc=%d/%dms alloc=%.0fMB/s (%d B/op)",
+                label, requests, requests / elapsed, interval.latency.getPercentile(0.5) / 1e3,
+                interval.latency.getPercentile(0.99) / 1e3, interval.latency.getPercentile(0.999) / 1e3,
+                interval.latency.getMax() / 1e3, interval.failures, to.gcCount - from.gcCount,
+                to.gcMillis - from.gcMillis, (to.allocatedBytes - from.allocatedBytes) / elapsed / (1 << 20),
+                requests == 0 ? 0 : (to.allocatedBytes - from.allocatedBytes) / requests));
+    }
+
+    private static final class Interval {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private long failures;
+
+        void add(Interval other) {
+            latency.add(other.latency);
+            failures += other.failures;
+        }
+    }
+
+    /**
+     * Collector totals and bytes allocated by the workers at one instant.
+     */
+    private static final class Sample {
+        private final long nanos;
+        private final long gcCount;
+        private final long gcMillis;
+        private final long allocatedBytes;
+
+        private Sample(long nanos, long gcCount, long gcMillis, long allocatedBytes) {
+            this.nanos = nanos;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        static Sample take(long[] workerIds) {
+            long gcCount = 0;
+            long gcMillis = 0;
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                gcCount += Math.max(0, collector.getCollectionCount());
+                gcMillis += Math.max(0, collector.getCollectionTime());
+            }
+            long allocatedBytes = 0;
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            for (long bytes : threads.getThreadAllocatedBytes(workerIds)) {
+                allocatedBytes += Math.max(0, bytes);
+            }
+            return new Sample(System.nanoTime(), gcCount, gcMillis, allocatedBytes);
+        }
+    }
+}
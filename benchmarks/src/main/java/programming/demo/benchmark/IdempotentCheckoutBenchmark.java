@@ -0,0 +1,60 @@
+package programming.demo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import programming.demo.model.CheckoutResult;
+import programming.demo.model.enumeration.ToolCode;
+import programming.demo.service.IdempotentCheckout;
+import programming.demo.service.RentalService;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A checkout under a fresh request id against a retry of one of {@link #LIVE_IDS} ids already answered.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdempotentCheckoutBenchmark {
+
+    private static final int LIVE_IDS = 1 << 16;
+
+    private final RentalService rentalService = new RentalService();
+    private final IdempotentCheckout idempotentCheckout = new IdempotentCheckout(Duration.ofDays(1));
+    private final Supplier<CheckoutResult> checkout = () -> rentalService.tryBuildRentalAgreement(ToolCode.JAKR, 5, 10,
+            LocalDate.of(2020, 7, 2));
+    private long nextRequestId = LIVE_IDS;
+    private int retried;
+
+    @Setup
+    public void answerRequests() {
+        for (long requestId = 0; requestId < LIVE_IDS; requestId++) {
+            idempotentCheckout.checkout(requestId, checkout);
+        }
+    }
+
+    @Benchmark
+    public CheckoutResult newRequest() {
+        return idempotentCheckout.checkout(nextRequestId++, checkout);
+    }
+
+    @Benchmark
+    public CheckoutResult retriedRequest() {
+        retried = (retried + 1) & (LIVE_IDS - 1);
+        return idempotentCheckout.checkout(retried, checkout);
+    }
+}
@@ -0,0 +1,46 @@
+package programming.demo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import programming.demo.ProgrammingDemo;
+import programming.demo.model.CheckoutResult;
+import programming.demo.model.enumeration.ToolCode;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of refusing a checkout with an out-of-range discount through the throwing and the result-returning API.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvalidCheckoutBenchmark {
+
+    private final LocalDate checkoutDate = LocalDate.of(2020, 7, 2);
+
+    @Benchmark
+    public RuntimeException checkoutThrows() {
+        try {
+            ProgrammingDemo.checkout(ToolCode.JAKR, 5, 101, checkoutDate);
+            return null;
+        } catch (RuntimeException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public CheckoutResult tryCheckout() {
+        return ProgrammingDemo.tryCheckout(ToolCode.JAKR, 5, 101, checkoutDate);
+    }
+}
@@ -0,0 +1,59 @@
+package programming.demo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import programming.demo.inventory.Inventory;
+import programming.demo.model.enumeration.ToolCode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many threads reserving and returning the same popular code at one store. Compare a single stripe, which behaves
+ * like one shared counter, against wider striping.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class InventoryContentionBenchmark {
+
+    private static final String STORE = "store-1";
+
+    @Param({"1", "8", "32"})
+    private int stripes;
+
+    private Inventory inventory;
+
+    @Setup
+    public void setUp() {
+        inventory = new Inventory(stripes);
+        inventory.addUnits(STORE, ToolCode.LADW, 1_000_000);
+    }
+
+    @Benchmark
+    public boolean reserveAndRelease() {
+        boolean reserved = inventory.reserve(STORE, ToolCode.LADW);
+        if (reserved) {
+            inventory.release(STORE, ToolCode.LADW);
+        }
+        return reserved;
+    }
+
+    @Benchmark
+    public long availableUnits() {
+        return inventory.getAvailableUnits(STORE, ToolCode.LADW);
+    }
+}
@@ -0,0 +1,82 @@
+package programming.demo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import programming.demo.checkin.OverdueTracker;
+import programming.demo.model.RentalAgreement;
+import programming.demo.model.enumeration.ToolCode;
+import programming.demo.service.RentalService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One day's overdue rentals out of {@code openRentals} with due dates spread over a year: scanning every agreement
+ * against advancing the timing wheel by one day.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OverdueTrackerBenchmark {
+
+    @Param({"100000"})
+    private int openRentals;
+
+    private final RentalService rentalService = new RentalService();
+    private final LocalDate today = LocalDate.of(2020, 7, 1);
+    private final List<RentalAgreement> agreements = new ArrayList<>();
+    private OverdueTracker tracker;
+    private LocalDate scanDay;
+
+    @Setup(Level.Trial)
+    public void createAgreements() {
+        Random random = new Random(42);
+        ToolCode[] toolCodes = ToolCode.values();
+        for (int i = 0; i < openRentals; i++) {
+            agreements.add(rentalService.buildRentalAgreement(toolCodes[random.nextInt(toolCodes.length)],
+                    1 + random.nextInt(365), 0, today));
+        }
+        scanDay = today;
+    }
+
+    @Setup(Level.Iteration)
+    public void registerAgreements() {
+        tracker = new OverdueTracker(rentalService, today);
+        for (RentalAgreement agreement : agreements) {
+            tracker.register(agreement);
+        }
+    }
+
+    @Benchmark
+    public List<RentalAgreement> scanAllAgreements() {
+        scanDay = scanDay.plusDays(1);
+        List<RentalAgreement> overdue = new ArrayList<>();
+        for (RentalAgreement agreement : agreements) {
+            if (agreement.getDueDate().plusDays(1).equals(scanDay)) {
+                overdue.add(agreement);
+            }
+        }
+        return overdue;
+    }
+
+    @Benchmark
+    public Object advanceOneDay() {
+        return tracker.advanceTo(tracker.getToday().plusDays(1));
+    }
+}
@@ -0,0 +1,50 @@
+package programming.demo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import programming.demo.model.PriceLadder;
+import programming.demo.model.enumeration.ToolCode;
+import programming.demo.service.RentalService;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prices of every length from 1 to {@code maxRentalDayCount} days, one agreement per length against one ladder.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PriceLadderBenchmark {
+
+    @Param({"30", "365"})
+    private int maxRentalDayCount;
+
+    private final RentalService rentalService = new RentalService();
+    private final LocalDate checkoutDate = LocalDate.of(2020, 7, 2);
+
+    @Benchmark
+    public long[] agreementPerLength() {
+        long[] finalCharges = new long[maxRentalDayCount];
+        for (int days = 1; days <= maxRentalDayCount; days++) {
+            finalCharges[days - 1] = rentalService.buildRentalAgreement(ToolCode.JAKR, days, 10, checkoutDate).getFinalChargeCents();
+        }
+        return finalCharges;
+    }
+
+    @Benchmark
+    public PriceLadder priceLadder() {
+        return rentalService.buildPriceLadder(ToolCode.JAKR, maxRentalDayCount, 10, checkoutDate);
+    }
+}
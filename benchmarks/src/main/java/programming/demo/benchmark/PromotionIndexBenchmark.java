@@ -0,0 +1,103 @@
+package programming.demo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import programming.demo.model.enumeration.ToolBrand;
+import programming.demo.model.enumeration.ToolType;
+import programming.demo.promotion.Promotion;
+import programming.demo.promotion.PromotionIndex;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Best promotion for one checkout out of {@code promotionCount} running over two years: scanning every promotion
+ * against the index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PromotionIndexBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+    private static final int QUERIES = 1 << 10;
+
+    @Param({"5000"})
+    private int promotionCount;
+
+    private final List<Promotion> promotions = new ArrayList<>();
+    private final PromotionIndex index = new PromotionIndex();
+    private final ToolType[] toolTypes = new ToolType[QUERIES];
+    private final ToolBrand[] toolBrands = new ToolBrand[QUERIES];
+    private final LocalDate[] checkoutDates = new LocalDate[QUERIES];
+    private final int[] rentalDayCounts = new int[QUERIES];
+    private int query;
+
+    @Setup
+    public void addPromotions() {
+        Random random = new Random(42);
+        for (int i = 0; i < promotionCount; i++) {
+            LocalDate firstDate = START.plusDays(random.nextInt(730));
+            int minRentalDayCount = 1 + random.nextInt(14);
+            Promotion.PromotionBuilder builder = new Promotion.PromotionBuilder()
+                    .id("promo-" + i)
+                    .discountPercent(1 + random.nextInt(40))
+                    .dates(firstDate, firstDate.plusDays(7 + random.nextInt(60)))
+                    .rentalDayCounts(minRentalDayCount, minRentalDayCount + random.nextInt(30));
+            if (random.nextBoolean()) {
+                builder.toolType(ToolType.values()[random.nextInt(ToolType.values().length)]);
+            }
+            if (random.nextBoolean()) {
+                builder.toolBrand(ToolBrand.values()[random.nextInt(ToolBrand.values().length)]);
+            }
+            Promotion promotion = builder.build();
+            promotions.add(promotion);
+            index.add(promotion);
+        }
+        for (int i = 0; i < QUERIES; i++) {
+            toolTypes[i] = ToolType.values()[random.nextInt(ToolType.values().length)];
+            toolBrands[i] = ToolBrand.values()[random.nextInt(ToolBrand.values().length)];
+            checkoutDates[i] = START.plusDays(random.nextInt(730));
+            rentalDayCounts[i] = 1 + random.nextInt(30);
+        }
+    }
+
+    @Benchmark
+    public Promotion linearScan() {
+        int i = next();
+        Promotion best = null;
+        for (Promotion promotion : promotions) {
+            if (promotion.appliesTo(toolTypes[i], toolBrands[i], checkoutDates[i], rentalDayCounts[i])
+                    && (best == null || promotion.getDiscountPercent() > best.getDiscountPercent())) {
+                best = promotion;
+            }
+        }
+        return best;
+    }
+
+    @Benchmark
+    public Promotion index() {
+        int i = next();
+        return index.findBest(toolTypes[i], toolBrands[i], checkoutDates[i], rentalDayCounts[i]);
+    }
+
+    private int next() {
+        query = (query + 1) & (QUERIES - 1);
+        return query;
+    }
+}
@@ -0,0 +1,76 @@
+package programming.demo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import programming.demo.ProgrammingDemo;
+import programming.demo.codec.RentalAgreementCodec;
+import programming.demo.codec.RentalAgreementFlyweight;
+import programming.demo.model.RentalAgreement;
+import programming.demo.model.enumeration.ToolCode;
+import programming.demo.receipt.ReceiptRenderer;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RentalAgreementBenchmark {
+
+    private RentalAgreement agreement;
+    private final StringBuilder chars = new StringBuilder(ReceiptRenderer.MAX_RECEIPT_LENGTH);
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(ReceiptRenderer.MAX_RECEIPT_LENGTH);
+    private final ByteBuffer encoded = ByteBuffer.allocateDirect(RentalAgreementCodec.ENCODED_LENGTH);
+    private final RentalAgreementFlyweight flyweight = new RentalAgreementFlyweight();
+
+    @Setup
+    public void setUp() {
+        agreement = ProgrammingDemo.checkout(ToolCode.JAKR, 20, 10, LocalDate.of(2020, 7, 2));
+        RentalAgreementCodec.encode(agreement, encoded, 0);
+    }
+
+    @Benchmark
+    public String toStringReceipt() {
+        return agreement.toString();
+    }
+
+    @Benchmark
+    public StringBuilder renderIntoStringBuilder() {
+        chars.setLength(0);
+        return ReceiptRenderer.render(agreement, chars);
+    }
+
+    @Benchmark
+    public ByteBuffer renderIntoByteBuffer() {
+        bytes.clear();
+        return ReceiptRenderer.render(agreement, bytes);
+    }
+
+    @Benchmark
+    public ByteBuffer encode() {
+        bytes.clear();
+        return RentalAgreementCodec.encode(agreement, bytes);
+    }
+
+    @Benchmark
+    public RentalAgreement decode() {
+        return RentalAgreementCodec.decode(encoded, 0);
+    }
+
+    @Benchmark
+    public long readFinalChargeInPlace() {
+        return flyweight.wrap(encoded, 0).getFinalChargeCents();
+    }
+}
@@ -0,0 +1,69 @@
+package programming.demo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import programming.demo.ProgrammingDemo;
+import programming.demo.analytics.RevenueDimension;
+import programming.demo.analytics.RevenueFilter;
+import programming.demo.analytics.RevenueStore;
+import programming.demo.analytics.RevenueSummary;
+import programming.demo.model.RentalAgreement;
+import programming.demo.model.enumeration.ToolCode;
+import programming.demo.model.enumeration.ToolType;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-XX:MaxDirectMemorySize=4g"})
+@State(Scope.Benchmark)
+public class RevenueStoreBenchmark {
+
+    @Param({"10000000"})
+    private int rows;
+
+    @Param({"false", "true"})
+    private boolean offHeap;
+
+    private RevenueStore store;
+    private RevenueFilter filter;
+
+    @Setup
+    public void setUp() {
+        RentalAgreement[] agreements = new RentalAgreement[4096];
+        for (int i = 0; i < agreements.length; i++) {
+            agreements[i] = ProgrammingDemo.checkout(ToolCode.values()[i % 4], 1 + i % 30, i % 101,
+                    LocalDate.of(2015, 1, 1).plusDays(i % 1461));
+        }
+        store = offHeap ? RevenueStore.offHeap() : RevenueStore.onHeap();
+        for (int i = 0; i < rows; i++) {
+            store.add(agreements[i % agreements.length]);
+        }
+        filter = RevenueFilter.builder()
+                .checkoutBetween(LocalDate.of(2016, 1, 1), LocalDate.of(2018, 1, 1))
+                .toolTypes(ToolType.Jackhammer, ToolType.Chainsaw)
+                .build();
+    }
+
+    @Benchmark
+    public RevenueSummary sumByToolType() {
+        return store.sumBy(RevenueDimension.TOOL_TYPE, RevenueFilter.all());
+    }
+
+    @Benchmark
+    public RevenueSummary sumByMonthFiltered() {
+        return store.sumBy(RevenueDimension.MONTH, filter);
+    }
+}
@@ -0,0 +1,116 @@
+package programming.demo.benchmark;
+
+import programming.demo.model.CheckoutRequest;
+import programming.demo.model.enumeration.ToolCode;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.ToLongFunction;
+
+/**
+ * The mix of checkouts a {@link CheckoutSoakTest} replays. Each input is drawn from weighted choices written as
+ * comma-separated {@code value:weight} entries, where a value may be an inclusive range:
+ * <ul>
+ *     <li>{@code tools=LADW:3,CHNS:2,JAKR:3,JAKD:2}</li>
+ *     <li>{@code days=1-3:50,4-7:30,8-30:15,31-120:5}</li>
+ *     <li>{@code discounts=0:60,10:20,25:10,50:5,100:4,101:1}, so 1% of requests are refused</li>
+ *     <li>{@code dates=2020-06-26..2020-07-08:30,2020-08-28..2020-09-10:30,2015-01-01..2025-12-31:40}, which puts
+ *     most checkouts around Independence Day and Labor Day</li>
+ * </ul>
+ * Requests are generated up front into a fixed trace per thread, so drawing them costs nothing while measuring.
+ */
+public class SoakWorkload {
+
+    private static final ToolCode[] TOOL_CODES = ToolCode.values();
+
+    private final Choice tools;
+    private final Choice days;
+    private final Choice discounts;
+    private final Choice dates;
+
+    private SoakWorkload(Choice tools, Choice days, Choice discounts, Choice dates) {
+        this.tools = tools;
+        this.days = days;
+        this.discounts = discounts;
+        this.dates = dates;
+    }
+
+    public static SoakWorkload of(Map<String, String> arguments) {
+        return new SoakWorkload(
+                Choice.parse(arguments.getOrDefault("tools", "LADW:3,CHNS:2,JAKR:3,JAKD:2"), null,
+                        code -> ToolCode.valueOf(code).ordinal()),
+                Choice.parse(arguments.getOrDefault("days", "1-3:50,4-7:30,8-30:15,31-120:5"), "-", Long::parseLong),
+                Choice.parse(arguments.getOrDefault("discounts", "0:60,10:20,25:10,50:5,100:4,101:1"), "-", Long::parseLong),
+                Choice.parse(arguments.getOrDefault("dates",
+                        "2020-06-26..2020-07-08:30,2020-08-28..2020-09-10:30,2015-01-01..2025-12-31:40"), "..",
+                        date -> LocalDate.parse(date).toEpochDay()));
+    }
+
+    public CheckoutRequest[] trace(int length, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        CheckoutRequest[] trace = new CheckoutRequest[length];
+        for (int i = 0; i < length; i++) {
+            trace[i] = new CheckoutRequest(TOOL_CODES[(int) tools.sample(random)], (int) days.sample(random),
+                    (int) discounts.sample(random), LocalDate.ofEpochDay(dates.sample(random)));
+        }
+        return trace;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("tools=%s days=%s discounts=%s dates=%s", tools.spec, days.spec, discounts.spec, dates.spec);
+    }
+
+    private static final class Choice {
+        private final String spec;
+        private final long[] lows;
+        private final long[] highs;
+        private final long[] cumulativeWeights;
+
+        private Choice(String spec, long[] lows, long[] highs, long[] cumulativeWeights) {
+            this.spec = spec;
+            this.lows = lows;
+            this.highs = highs;
+            this.cumulativeWeights = cumulativeWeights;
+        }
+
+        /**
+         * Reads {@code value:weight} entries; a value holding {@code rangeSeparator}, when there is one, is a range.
+         */
+        static Choice parse(String spec, String rangeSeparator, ToLongFunction<String> value) {
+            String[] entries = spec.split(",");
+            long[] lows = new long[entries.length];
+            long[] highs = new long[entries.length];
+            long[] cumulativeWeights = new long[entries.length];
+            long total = 0;
+            for (int i = 0; i < entries.length; i++) {
+                int weightAt = entries[i].lastIndexOf(':');
+                if (weightAt < 0) {
+                    throw new IllegalArgumentException(String.format("%s has no weight.", entries[i]));
+                }
+                String range = entries[i].substring(0, weightAt).trim();
+                int separatorAt = rangeSeparator == null ? -1 : range.indexOf(rangeSeparator, 1);
+                lows[i] = value.applyAsLong(separatorAt < 0 ? range : range.substring(0, separatorAt));
+                highs[i] = separatorAt < 0 ? lows[i] : value.applyAsLong(range.substring(separatorAt + rangeSeparator.length()));
+                long weight = Long.parseLong(entries[i].substring(weightAt + 1).trim());
+                if (highs[i] < lows[i] || weight < 1) {
+                    throw new IllegalArgumentException(String.format("%s is not a valid choice.", entries[i]));
+                }
+                total += weight;
+                cumulativeWeights[i] = total;
+            }
+            return new Choice(spec, lows, highs, cumulativeWeights);
+        }
+
+        long sample(SplittableRandom random) {
+            long draw = random.nextLong(cumulativeWeights[cumulativeWeights.length - 1]);
+            int entry = Arrays.binarySearch(cumulativeWeights, draw + 1);
+            if (entry < 0) {
+                entry = -entry - 1;
+            }
+            return lows[entry] + random.nextLong(highs[entry] - lows[entry] + 1);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package programming.demo.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import programming.demo.model.RentalAgreement;
+import programming.demo.model.Tool;
+import programming.demo.model.enumeration.ToolCode;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each stage of {@link RentalService#buildRentalAgreement} on its own. Lives in the service package to
+ * reach the package-private stage methods.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RentalServiceBenchmark {
+
+    @Param({"1", "5", "30", "365", "36500"})
+    private int rentalDayCount;
+
+    @Param({"LADW", "CHNS", "JAKR"})
+    private ToolCode toolCode;
+
+    private final RentalService rentalService = new RentalService();
+    private final LocalDate checkoutDate = LocalDate.of(2020, 7, 2);
+    private Tool tool;
+    private int chargeDays;
+
+    @Setup
+    public void setUp() {
+        tool = rentalService.getToolByToolCode(toolCode);
+        chargeDays = rentalService.calculateChargeDays(tool, checkoutDate, rentalDayCount);
+    }
+
+    @Benchmark
+    public Tool toolLookup() {
+        return rentalService.getToolByToolCode(toolCode);
+    }
+
+    @Benchmark
+    public int chargeDays() {
+        return rentalService.calculateChargeDays(tool, checkoutDate, rentalDayCount);
+    }
+
+    @Benchmark
+    public long pricing() {
+        long preDiscountCharge = rentalService.calculatePreDiscountCharge(tool, checkoutDate, rentalDayCount);
+        long discountAmount = rentalService.calculateDiscountAmount(10, preDiscountCharge);
+        return rentalService.calculateFinalCharge(preDiscountCharge, discountAmount);
+    }
+
+    @Benchmark
+    public RentalAgreement buildRentalAgreement() {
+        return rentalService.buildRentalAgreement(toolCode, rentalDayCount, 10, checkoutDate);
+    }
+}
@@ -1,35 +1,106 @@
 package programming.demo;
 
-import programming.demo.exception.InvalidDiscountException;
-import programming.demo.exception.InvalidRentalDayCountException;
+import programming.demo.exception.ToolNotAvailableException;
+import programming.demo.http.CheckoutServer;
+import programming.demo.inventory.Inventory;
+import programming.demo.model.CartAgreement;
+import programming.demo.model.CheckoutRequest;
+import programming.demo.model.CheckoutResult;
 import programming.demo.model.RentalAgreement;
+import programming.demo.model.enumeration.CheckoutError;
 import programming.demo.model.enumeration.ToolCode;
+import programming.demo.service.IdempotentCheckout;
 import programming.demo.service.RentalService;
 
+import java.net.InetSocketAddress;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
 
 public class ProgrammingDemo {
 
     private static final RentalService rentalService = new RentalService();
+    private static final Inventory inventory = new Inventory();
+    private static final IdempotentCheckout idempotentCheckout = new IdempotentCheckout(Duration.ofDays(1));
+    private static final int DEFAULT_PORT = 8080;
 
     public static void main(String[] args) {
-//        System.out.println(checkout(LADW, 3, 10, LocalDate.of(2020, 7, 2)));
-//        System.out.println(checkout(CHNS, 5, 25, LocalDate.of(2015, 7, 2)));
-//        System.out.println(checkout(LADW, 6, 0, LocalDate.of(2020, 7, 2)));
-//        System.out.println(ProgrammingDemo.checkout(JAKR, 9, 0, LocalDate.of(2015, 7, 2)));
-//        System.out.println(checkout(JAKR, 9, 0, LocalDate.of(2015, 7, 2)));
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        // See CheckoutServer: responses are two writes, which need TCP_NODELAY to avoid waiting on a delayed ACK.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        CheckoutServer server = CheckoutServer.start(new InetSocketAddress(port), rentalService, inventory,
+                idempotentCheckout);
+        System.out.println(String.format("Listening on port %d.", server.getPort()));
     }
 
     public static RentalAgreement checkout(ToolCode toolCode, int rentalDayCount, int discountPercent, LocalDate checkoutDate) {
+        CheckoutResult result = tryCheckout(toolCode, rentalDayCount, discountPercent, checkoutDate);
+        if (!result.isSuccess()) {
+            throw result.getError();
+        }
+        return result.getAgreement();
+    }
+
+    public static RentalAgreement checkout(String storeId, ToolCode toolCode, int rentalDayCount, int discountPercent, LocalDate checkoutDate) {
+        CheckoutResult result = tryCheckout(storeId, toolCode, rentalDayCount, discountPercent, checkoutDate);
+        if (result.getErrorCode() == CheckoutError.TOOL_NOT_AVAILABLE) {
+            throw new ToolNotAvailableException(storeId, toolCode);
+        } else if (!result.isSuccess()) {
+            throw result.getError();
+        }
+        return result.getAgreement();
+    }
+
+    /**
+     * Same as {@link #checkout(ToolCode, int, int, LocalDate)}, but invalid input comes back as a failed result
+     * instead of an exception.
+     */
+    public static CheckoutResult tryCheckout(ToolCode toolCode, int rentalDayCount, int discountPercent, LocalDate checkoutDate) {
+        return rentalService.tryBuildRentalAgreement(toolCode, rentalDayCount, discountPercent, checkoutDate);
+    }
+
+    public static CheckoutResult tryCheckout(String storeId, ToolCode toolCode, int rentalDayCount, int discountPercent, LocalDate checkoutDate) {
         if (discountPercent < 0 || discountPercent > 100) {
-            throw new InvalidDiscountException();
+            return CheckoutResult.failure(CheckoutError.INVALID_DISCOUNT);
         }
 
         if (rentalDayCount < 1) {
-            throw new InvalidRentalDayCountException();
+            return CheckoutResult.failure(CheckoutError.INVALID_RENTAL_DAY_COUNT);
+        }
+
+        if (!inventory.reserve(storeId, toolCode)) {
+            return CheckoutResult.toolNotAvailable(toolCode);
+        }
+
+        CheckoutResult result = rentalService.tryBuildRentalAgreement(toolCode, rentalDayCount, discountPercent, checkoutDate);
+        if (!result.isSuccess()) {
+            inventory.release(storeId, toolCode);
         }
+        return result;
+    }
+
+    /**
+     * Same as {@link #tryCheckout(String, ToolCode, int, int, LocalDate)}, but a retry with the same request id gets
+     * the original agreement instead of reserving another unit.
+     */
+    public static CheckoutResult tryCheckout(long requestId, String storeId, ToolCode toolCode, int rentalDayCount,
+                                             int discountPercent, LocalDate checkoutDate) {
+        return idempotentCheckout.checkout(requestId,
+                () -> tryCheckout(storeId, toolCode, rentalDayCount, discountPercent, checkoutDate));
+    }
+
+    public static CartAgreement checkoutCart(List<ToolCode> toolCodes, int rentalDayCount, int discountPercent, LocalDate checkoutDate) {
+        return rentalService.buildCartAgreement(toolCodes, rentalDayCount, discountPercent, checkoutDate);
+    }
+
+    public static Inventory getInventory() {
+        return inventory;
+    }
 
-        return rentalService.buildRentalAgreement(toolCode, rentalDayCount, discountPercent, checkoutDate);
+    public static List<CheckoutResult> checkout(List<CheckoutRequest> requests) {
+        return rentalService.buildRentalAgreements(requests);
     }
 
 
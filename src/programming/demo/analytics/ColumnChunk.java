@@ -0,0 +1,28 @@
+package programming.demo.analytics;
+
+/**
+ * A fixed block of {@link #CAPACITY} rows, one primitive column per field. Rows are only written by the store's
+ * single ingesting thread and only read after the store publishes its new size.
+ */
+abstract class ColumnChunk {
+
+    static final int CAPACITY = 1 << 16;
+
+    abstract void set(int row, int toolCode, int toolType, int toolBrand, int discountPercent, int checkoutEpochDay,
+                      int checkoutMonth, int chargeDays, long preDiscountChargeCents, long discountAmountCents,
+                      long finalChargeCents);
+
+    /**
+     * Adds the first {@code rows} rows that pass the filter into {@code totals}, grouped by the dimension's key
+     * minus {@code keyBase}.
+     */
+    abstract void scan(int rows, RevenueFilter filter, RevenueDimension dimension, int keyBase, GroupTotals totals);
+
+    static ColumnChunk onHeap() {
+        return new HeapColumnChunk();
+    }
+
+    static ColumnChunk offHeap() {
+        return new DirectColumnChunk();
+    }
+}
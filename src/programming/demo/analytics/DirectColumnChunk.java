@@ -0,0 +1,85 @@
+package programming.demo.analytics;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Keeps all columns of the chunk in one direct buffer, column after column, outside the Java heap.
+ */
+final class DirectColumnChunk extends ColumnChunk {
+
+    private static final int TOOL_CODES = 0;
+    private static final int TOOL_TYPES = TOOL_CODES + CAPACITY;
+    private static final int TOOL_BRANDS = TOOL_TYPES + CAPACITY;
+    private static final int DISCOUNT_PERCENTS = TOOL_BRANDS + CAPACITY;
+    private static final int CHECKOUT_EPOCH_DAYS = DISCOUNT_PERCENTS + CAPACITY;
+    private static final int CHECKOUT_MONTHS = CHECKOUT_EPOCH_DAYS + CAPACITY * Integer.BYTES;
+    private static final int CHARGE_DAYS = CHECKOUT_MONTHS + CAPACITY * Integer.BYTES;
+    private static final int PRE_DISCOUNT_CHARGE_CENTS = CHARGE_DAYS + CAPACITY * Integer.BYTES;
+    private static final int DISCOUNT_AMOUNT_CENTS = PRE_DISCOUNT_CHARGE_CENTS + CAPACITY * Long.BYTES;
+    private static final int FINAL_CHARGE_CENTS = DISCOUNT_AMOUNT_CENTS + CAPACITY * Long.BYTES;
+    private static final int SIZE = FINAL_CHARGE_CENTS + CAPACITY * Long.BYTES;
+
+    private final ByteBuffer columns = ByteBuffer.allocateDirect(SIZE).order(ByteOrder.nativeOrder());
+
+    @Override
+    void set(int row, int toolCode, int toolType, int toolBrand, int discountPercent, int checkoutEpochDay,
+             int checkoutMonth, int chargeDays, long preDiscountChargeCents, long discountAmountCents,
+             long finalChargeCents) {
+        columns.put(TOOL_CODES + row, (byte) toolCode);
+        columns.put(TOOL_TYPES + row, (byte) toolType);
+        columns.put(TOOL_BRANDS + row, (byte) toolBrand);
+        columns.put(DISCOUNT_PERCENTS + row, (byte) discountPercent);
+        columns.putInt(CHECKOUT_EPOCH_DAYS + row * Integer.BYTES, checkoutEpochDay);
+        columns.putInt(CHECKOUT_MONTHS + row * Integer.BYTES, checkoutMonth);
+        columns.putInt(CHARGE_DAYS + row * Integer.BYTES, chargeDays);
+        columns.putLong(PRE_DISCOUNT_CHARGE_CENTS + row * Long.BYTES, preDiscountChargeCents);
+        columns.putLong(DISCOUNT_AMOUNT_CENTS + row * Long.BYTES, discountAmountCents);
+        columns.putLong(FINAL_CHARGE_CENTS + row * Long.BYTES, finalChargeCents);
+    }
+
+    @Override
+    void scan(int rows, RevenueFilter filter, RevenueDimension dimension, int keyBase, GroupTotals totals) {
+        int fromEpochDay = filter.fromEpochDay;
+        int untilEpochDay = filter.untilEpochDay;
+        int toolCodeMask = filter.toolCodeMask;
+        int toolTypeMask = filter.toolTypeMask;
+        int toolBrandMask = filter.toolBrandMask;
+        int minDiscountPercent = filter.minDiscountPercent;
+        int maxDiscountPercent = filter.maxDiscountPercent;
+
+        for (int row = 0; row < rows; row++) {
+            int day = columns.getInt(CHECKOUT_EPOCH_DAYS + row * Integer.BYTES);
+            int discountPercent = columns.get(DISCOUNT_PERCENTS + row);
+            boolean selected = day >= fromEpochDay & day < untilEpochDay
+                    & (toolCodeMask >>> columns.get(TOOL_CODES + row) & 1) != 0
+                    & (toolTypeMask >>> columns.get(TOOL_TYPES + row) & 1) != 0
+                    & (toolBrandMask >>> columns.get(TOOL_BRANDS + row) & 1) != 0
+                    & discountPercent >= minDiscountPercent & discountPercent <= maxDiscountPercent;
+            if (selected) {
+                int group = groupKey(dimension, row) - keyBase;
+                totals.counts[group]++;
+                totals.preDiscountChargeCents[group] += columns.getLong(PRE_DISCOUNT_CHARGE_CENTS + row * Long.BYTES);
+                totals.discountAmountCents[group] += columns.getLong(DISCOUNT_AMOUNT_CENTS + row * Long.BYTES);
+                totals.finalChargeCents[group] += columns.getLong(FINAL_CHARGE_CENTS + row * Long.BYTES);
+            }
+        }
+    }
+
+    private int groupKey(RevenueDimension dimension, int row) {
+        switch (dimension) {
+            case TOOL_CODE:
+                return columns.get(TOOL_CODES + row);
+            case TOOL_TYPE:
+                return columns.get(TOOL_TYPES + row);
+            case TOOL_BRAND:
+                return columns.get(TOOL_BRANDS + row);
+            case MONTH:
+                return columns.getInt(CHECKOUT_MONTHS + row * Integer.BYTES);
+            case DISCOUNT_BAND:
+                return columns.get(DISCOUNT_PERCENTS + row) / RevenueStore.DISCOUNT_BAND_WIDTH;
+            default:
+                return columns.getInt(CHARGE_DAYS + row * Integer.BYTES);
+        }
+    }
+}
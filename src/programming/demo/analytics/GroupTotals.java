@@ -0,0 +1,29 @@
+package programming.demo.analytics;
+
+/**
+ * Running sums per group key, one array per measure. Each scan task fills its own and they are added up afterwards.
+ */
+final class GroupTotals {
+
+    final long[] counts;
+    final long[] preDiscountChargeCents;
+    final long[] discountAmountCents;
+    final long[] finalChargeCents;
+
+    GroupTotals(int groups) {
+        this.counts = new long[groups];
+        this.preDiscountChargeCents = new long[groups];
+        this.discountAmountCents = new long[groups];
+        this.finalChargeCents = new long[groups];
+    }
+
+    GroupTotals add(GroupTotals other) {
+        for (int group = 0; group < counts.length; group++) {
+            counts[group] += other.counts[group];
+            preDiscountChargeCents[group] += other.preDiscountChargeCents[group];
+            discountAmountCents[group] += other.discountAmountCents[group];
+            finalChargeCents[group] += other.finalChargeCents[group];
+        }
+        return this;
+    }
+}
@@ -0,0 +1,76 @@
+package programming.demo.analytics;
+
+final class HeapColumnChunk extends ColumnChunk {
+
+    private final byte[] toolCodes = new byte[CAPACITY];
+    private final byte[] toolTypes = new byte[CAPACITY];
+    private final byte[] toolBrands = new byte[CAPACITY];
+    private final byte[] discountPercents = new byte[CAPACITY];
+    private final int[] checkoutEpochDays = new int[CAPACITY];
+    private final int[] checkoutMonths = new int[CAPACITY];
+    private final int[] chargeDays = new int[CAPACITY];
+    private final long[] preDiscountChargeCents = new long[CAPACITY];
+    private final long[] discountAmountCents = new long[CAPACITY];
+    private final long[] finalChargeCents = new long[CAPACITY];
+
+    @Override
+    void set(int row, int toolCode, int toolType, int toolBrand, int discountPercent, int checkoutEpochDay,
+             int checkoutMonth, int chargeDays, long preDiscountChargeCents, long discountAmountCents,
+             long finalChargeCents) {
+        this.toolCodes[row] = (byte) toolCode;
+        this.toolTypes[row] = (byte) toolType;
+        this.toolBrands[row] = (byte) toolBrand;
+        this.discountPercents[row] = (byte) discountPercent;
+        this.checkoutEpochDays[row] = checkoutEpochDay;
+        this.checkoutMonths[row] = checkoutMonth;
+        this.chargeDays[row] = chargeDays;
+        this.preDiscountChargeCents[row] = preDiscountChargeCents;
+        this.discountAmountCents[row] = discountAmountCents;
+        this.finalChargeCents[row] = finalChargeCents;
+    }
+
+    @Override
+    void scan(int rows, RevenueFilter filter, RevenueDimension dimension, int keyBase, GroupTotals totals) {
+        int fromEpochDay = filter.fromEpochDay;
+        int untilEpochDay = filter.untilEpochDay;
+        int toolCodeMask = filter.toolCodeMask;
+        int toolTypeMask = filter.toolTypeMask;
+        int toolBrandMask = filter.toolBrandMask;
+        int minDiscountPercent = filter.minDiscountPercent;
+        int maxDiscountPercent = filter.maxDiscountPercent;
+
+        for (int row = 0; row < rows; row++) {
+            int day = checkoutEpochDays[row];
+            int discountPercent = discountPercents[row];
+            boolean selected = day >= fromEpochDay & day < untilEpochDay
+                    & (toolCodeMask >>> toolCodes[row] & 1) != 0
+                    & (toolTypeMask >>> toolTypes[row] & 1) != 0
+                    & (toolBrandMask >>> toolBrands[row] & 1) != 0
+                    & discountPercent >= minDiscountPercent & discountPercent <= maxDiscountPercent;
+            if (selected) {
+                int group = groupKey(dimension, row) - keyBase;
+                totals.counts[group]++;
+                totals.preDiscountChargeCents[group] += preDiscountChargeCents[row];
+                totals.discountAmountCents[group] += discountAmountCents[row];
+                totals.finalChargeCents[group] += finalChargeCents[row];
+            }
+        }
+    }
+
+    private int groupKey(RevenueDimension dimension, int row) {
+        switch (dimension) {
+            case TOOL_CODE:
+                return toolCodes[row];
+            case TOOL_TYPE:
+                return toolTypes[row];
+            case TOOL_BRAND:
+                return toolBrands[row];
+            case MONTH:
+                return checkoutMonths[row];
+            case DISCOUNT_BAND:
+                return discountPercents[row] / RevenueStore.DISCOUNT_BAND_WIDTH;
+            default:
+                return chargeDays[row];
+        }
+    }
+}
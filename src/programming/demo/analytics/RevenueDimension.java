@@ -0,0 +1,10 @@
+package programming.demo.analytics;
+
+public enum RevenueDimension {
+    TOOL_CODE,
+    TOOL_TYPE,
+    TOOL_BRAND,
+    MONTH,
+    DISCOUNT_BAND,
+    CHARGE_DAYS
+}
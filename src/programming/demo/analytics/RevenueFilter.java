@@ -0,0 +1,95 @@
+package programming.demo.analytics;
+
+import programming.demo.model.enumeration.ToolBrand;
+import programming.demo.model.enumeration.ToolCode;
+import programming.demo.model.enumeration.ToolType;
+
+import java.time.LocalDate;
+
+/**
+ * Row filter of a {@link RevenueStore} query. Enum filters are kept as bit masks over ordinals so a scan tests them
+ * with a shift instead of a set lookup.
+ */
+public class RevenueFilter {
+
+    private static final RevenueFilter ALL = builder().build();
+
+    final int fromEpochDay;
+    final int untilEpochDay;
+    final int toolCodeMask;
+    final int toolTypeMask;
+    final int toolBrandMask;
+    final int minDiscountPercent;
+    final int maxDiscountPercent;
+
+    private RevenueFilter(RevenueFilterBuilder builder) {
+        this.fromEpochDay = builder.fromEpochDay;
+        this.untilEpochDay = builder.untilEpochDay;
+        this.toolCodeMask = builder.toolCodeMask;
+        this.toolTypeMask = builder.toolTypeMask;
+        this.toolBrandMask = builder.toolBrandMask;
+        this.minDiscountPercent = builder.minDiscountPercent;
+        this.maxDiscountPercent = builder.maxDiscountPercent;
+    }
+
+    public static RevenueFilter all() {
+        return ALL;
+    }
+
+    public static RevenueFilterBuilder builder() {
+        return new RevenueFilterBuilder();
+    }
+
+    public static class RevenueFilterBuilder {
+        private int fromEpochDay = Integer.MIN_VALUE;
+        private int untilEpochDay = Integer.MAX_VALUE;
+        private int toolCodeMask = -1;
+        private int toolTypeMask = -1;
+        private int toolBrandMask = -1;
+        private int minDiscountPercent = 0;
+        private int maxDiscountPercent = 100;
+
+        /**
+         * Keeps agreements checked out on or after {@code from} and before {@code until}.
+         */
+        public RevenueFilterBuilder checkoutBetween(LocalDate from, LocalDate until) {
+            this.fromEpochDay = Math.toIntExact(from.toEpochDay());
+            this.untilEpochDay = Math.toIntExact(until.toEpochDay());
+            return this;
+        }
+
+        public RevenueFilterBuilder toolCodes(ToolCode... toolCodes) {
+            this.toolCodeMask = 0;
+            for (ToolCode toolCode : toolCodes) {
+                this.toolCodeMask |= 1 << toolCode.ordinal();
+            }
+            return this;
+        }
+
+        public RevenueFilterBuilder toolTypes(ToolType... toolTypes) {
+            this.toolTypeMask = 0;
+            for (ToolType toolType : toolTypes) {
+                this.toolTypeMask |= 1 << toolType.ordinal();
+            }
+            return this;
+        }
+
+        public RevenueFilterBuilder toolBrands(ToolBrand... toolBrands) {
+            this.toolBrandMask = 0;
+            for (ToolBrand toolBrand : toolBrands) {
+                this.toolBrandMask |= 1 << toolBrand.ordinal();
+            }
+            return this;
+        }
+
+        public RevenueFilterBuilder discountPercentBetween(int min, int max) {
+            this.minDiscountPercent = min;
+            this.maxDiscountPercent = max;
+            return this;
+        }
+
+        public RevenueFilter build() {
+            return new RevenueFilter(this);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package programming.demo.analytics;
+
+import programming.demo.codec.RentalAgreementFlyweight;
+import programming.demo.model.RentalAgreement;
+import programming.demo.model.Tool;
+import programming.demo.model.enumeration.ToolBrand;
+import programming.demo.model.enumeration.ToolCode;
+import programming.demo.model.enumeration.ToolType;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Append-only columnar copy of agreements for revenue queries. Rows are stored in chunks of primitive columns, on
+ * the heap or in direct buffers, and a query scans the chunks in parallel on the common pool, summing counts and
+ * cents into dense per-group arrays.
+ * <p>
+ * One thread at a time may add rows; queries run concurrently with it and see every row added before they started.
+ */
+public class RevenueStore {
+
+    static final int DISCOUNT_BAND_WIDTH = 10;
+
+    private static final int DISCOUNT_BANDS = 100 / DISCOUNT_BAND_WIDTH + 1;
+
+    private final boolean offHeap;
+    private volatile ColumnChunk[] chunks = new ColumnChunk[0];
+    private volatile long size;
+    // Written before size is published, so a reader that has read size sees bounds covering those rows.
+    private int minMonth = Integer.MAX_VALUE;
+    private int maxMonth = Integer.MIN_VALUE;
+    private int maxChargeDays;
+
+    private RevenueStore(boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    public static RevenueStore onHeap() {
+        return new RevenueStore(false);
+    }
+
+    public static RevenueStore offHeap() {
+        return new RevenueStore(true);
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public synchronized void add(RentalAgreement agreement) {
+        size = append(size, agreement);
+    }
+
+    public synchronized void addAll(Iterable<RentalAgreement> agreements) {
+        long rows = size;
+        for (RentalAgreement agreement : agreements) {
+            rows = append(rows, agreement);
+        }
+        size = rows;
+    }
+
+    /**
+     * Adds the agreement a flyweight points at, e.g. while scanning an agreement journal, without decoding it.
+     */
+    public synchronized void add(RentalAgreementFlyweight agreement) {
+        size = append(size, agreement.getToolCode().ordinal(), agreement.getToolType().ordinal(),
+                agreement.getToolBrand().ordinal(), agreement.getDiscountPercent(), agreement.getCheckoutEpochDay(),
+                agreement.getChargeDays(), agreement.getPreDiscountChargeCents(), agreement.getDiscountAmountCents(),
+                agreement.getFinalChargeCents());
+    }
+
+    public RevenueSummary sumBy(RevenueDimension dimension, RevenueFilter filter) {
+        long rows = size;
+        ColumnChunk[] snapshot = chunks;
+        int keyBase = 0;
+        int groups;
+        switch (dimension) {
+            case TOOL_CODE:
+                groups = ToolCode.values().length;
+                break;
+            case TOOL_TYPE:
+                groups = ToolType.values().length;
+                break;
+            case TOOL_BRAND:
+                groups = ToolBrand.values().length;
+                break;
+            case MONTH:
+                keyBase = rows == 0 ? 0 : minMonth;
+                groups = rows == 0 ? 0 : maxMonth - minMonth + 1;
+                break;
+            case DISCOUNT_BAND:
+                groups = DISCOUNT_BANDS;
+                break;
+            default:
+                groups = maxChargeDays + 1;
+                break;
+        }
+
+        int chunkCount = (int) ((rows + ColumnChunk.CAPACITY - 1) / ColumnChunk.CAPACITY);
+        GroupTotals totals = chunkCount == 0 ? new GroupTotals(groups) : ForkJoinPool.commonPool()
+                .invoke(new ScanTask(snapshot, rows, dimension, filter, keyBase, groups, 0, chunkCount));
+        return new RevenueSummary(dimension, keyBase, totals);
+    }
+
+    private long append(long row, RentalAgreement agreement) {
+        Tool tool = agreement.getTool();
+        return append(row, tool.getCode().ordinal(), tool.getType().ordinal(), tool.getBrand().ordinal(),
+                agreement.getDiscountPercent(), agreement.getCheckoutDate().toEpochDay(), agreement.getChargeDays(),
+                agreement.getPreDiscountChargeCents(), agreement.getDiscountAmountCents(), agreement.getFinalChargeCents());
+    }
+
+    private long append(long row, int toolCode, int toolType, int toolBrand, int discountPercent, long checkoutEpochDay,
+                        int chargeDays, long preDiscountChargeCents, long discountAmountCents, long finalChargeCents) {
+        int chunk = (int) (row / ColumnChunk.CAPACITY);
+        if (chunk == chunks.length) {
+            ColumnChunk[] grown = Arrays.copyOf(chunks, chunk + 1);
+            grown[chunk] = offHeap ? ColumnChunk.offHeap() : ColumnChunk.onHeap();
+            chunks = grown;
+        }
+
+        LocalDate checkoutDate = LocalDate.ofEpochDay(checkoutEpochDay);
+        int month = (checkoutDate.getYear() - 1970) * 12 + checkoutDate.getMonthValue() - 1;
+        chunks[chunk].set((int) (row % ColumnChunk.CAPACITY), toolCode, toolType, toolBrand, discountPercent,
+                Math.toIntExact(checkoutEpochDay), month, chargeDays, preDiscountChargeCents, discountAmountCents,
+                finalChargeCents);
+        minMonth = Math.min(minMonth, month);
+        maxMonth = Math.max(maxMonth, month);
+        maxChargeDays = Math.max(maxChargeDays, chargeDays);
+        return row + 1;
+    }
+
+    private static class ScanTask extends RecursiveTask<GroupTotals> {
+        private final ColumnChunk[] chunks;
+        private final long rows;
+        private final RevenueDimension dimension;
+        private final RevenueFilter filter;
+        private final int keyBase;
+        private final int groups;
+        private final int from;
+        private final int to;
+
+        ScanTask(ColumnChunk[] chunks, long rows, RevenueDimension dimension, RevenueFilter filter, int keyBase,
+                 int groups, int from, int to) {
+            this.chunks = chunks;
+            this.rows = rows;
+            this.dimension = dimension;
+            this.filter = filter;
+            this.keyBase = keyBase;
+            this.groups = groups;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected GroupTotals compute() {
+            if (to - from == 1) {
+                GroupTotals totals = new GroupTotals(groups);
+                long first = (long) from * ColumnChunk.CAPACITY;
+                chunks[from].scan((int) Math.min(ColumnChunk.CAPACITY, rows - first), filter, dimension, keyBase, totals);
+                return totals;
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask right = new ScanTask(chunks, rows, dimension, filter, keyBase, groups, middle, to);
+            right.fork();
+            GroupTotals left = new ScanTask(chunks, rows, dimension, filter, keyBase, groups, from, middle).compute();
+            return left.add(right.join());
+        }
+    }
+}
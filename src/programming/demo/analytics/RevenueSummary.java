@@ -0,0 +1,91 @@
+package programming.demo.analytics;
+
+import programming.demo.model.Money;
+import programming.demo.model.enumeration.ToolBrand;
+import programming.demo.model.enumeration.ToolCode;
+import programming.demo.model.enumeration.ToolType;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Totals of a {@link RevenueStore} query, one group per possible key of the dimension. Groups no row fell into have
+ * a count of 0.
+ */
+public class RevenueSummary {
+
+    private static final YearMonth FIRST_MONTH = YearMonth.of(1970, 1);
+
+    private final RevenueDimension dimension;
+    private final int keyBase;
+    private final GroupTotals totals;
+
+    RevenueSummary(RevenueDimension dimension, int keyBase, GroupTotals totals) {
+        this.dimension = dimension;
+        this.keyBase = keyBase;
+        this.totals = totals;
+    }
+
+    public RevenueDimension getDimension() {
+        return dimension;
+    }
+
+    public int getGroupCount() {
+        return totals.counts.length;
+    }
+
+    public String getGroupLabel(int group) {
+        int key = keyBase + group;
+        switch (dimension) {
+            case TOOL_CODE:
+                return ToolCode.values()[key].name();
+            case TOOL_TYPE:
+                return ToolType.values()[key].name();
+            case TOOL_BRAND:
+                return ToolBrand.values()[key].name();
+            case MONTH:
+                return FIRST_MONTH.plusMonths(key).toString();
+            case DISCOUNT_BAND:
+                int from = key * RevenueStore.DISCOUNT_BAND_WIDTH;
+                return from >= 100 ? "100" : String.format("%d-%d", from, from + RevenueStore.DISCOUNT_BAND_WIDTH - 1);
+            default:
+                return String.valueOf(key);
+        }
+    }
+
+    public long getCount(int group) {
+        return totals.counts[group];
+    }
+
+    public long getPreDiscountChargeCents(int group) {
+        return totals.preDiscountChargeCents[group];
+    }
+
+    public long getDiscountAmountCents(int group) {
+        return totals.discountAmountCents[group];
+    }
+
+    public long getFinalChargeCents(int group) {
+        return totals.finalChargeCents[group];
+    }
+
+    public BigDecimal getFinalCharge(int group) {
+        return Money.toBigDecimal(totals.finalChargeCents[group]);
+    }
+
+    public long getTotalCount() {
+        long count = 0;
+        for (long groupCount : totals.counts) {
+            count += groupCount;
+        }
+        return count;
+    }
+
+    public long getTotalFinalChargeCents() {
+        long cents = 0;
+        for (long groupCents : totals.finalChargeCents) {
+            cents += groupCents;
+        }
+        return cents;
+    }
+}
@@ -0,0 +1,78 @@
+package programming.demo.bulk;
+
+import programming.demo.format.AsciiFormat;
+import programming.demo.model.RentalAgreement;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes one CSV row per priced line into a byte buffer, formatting numbers and dates with {@link AsciiFormat}.
+ */
+final class AgreementCsvWriter {
+
+    static final int MAX_ROW_LENGTH = 512;
+
+    private static final int MAX_MESSAGE_LENGTH = 256;
+
+    static final byte[] HEADER = ("line,toolCode,toolType,toolBrand,rentalDays,checkoutDate,dueDate,dailyRentalCharge,"
+            + "chargeDays,preDiscountCharge,discountPercent,discountAmount,finalCharge,error\n").getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] INVALID_LINE = "\"Line is not a valid checkout request.\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EMPTY_AGREEMENT_FIELDS = ",,,,,,,,,,,,".getBytes(StandardCharsets.US_ASCII);
+
+    private AgreementCsvWriter() {
+    }
+
+    static void writeAgreement(ByteBuffer out, long lineNumber, RentalAgreement agreement) {
+        AsciiFormat.putNumber(out, lineNumber, 1);
+        out.put((byte) ',');
+        AsciiFormat.putAscii(out, agreement.getTool().getCode().name());
+        out.put((byte) ',');
+        AsciiFormat.putAscii(out, agreement.getTool().getType().name());
+        out.put((byte) ',');
+        AsciiFormat.putAscii(out, agreement.getTool().getBrand().name());
+        out.put((byte) ',');
+        AsciiFormat.putNumber(out, agreement.getRentalDayCount(), 1);
+        out.put((byte) ',');
+        AsciiFormat.putIsoDate(out, agreement.getCheckoutDate());
+        out.put((byte) ',');
+        AsciiFormat.putIsoDate(out, agreement.getDueDate());
+        out.put((byte) ',');
+        AsciiFormat.putCents(out, agreement.getDailyRentalCostCents());
+        out.put((byte) ',');
+        AsciiFormat.putNumber(out, agreement.getChargeDays(), 1);
+        out.put((byte) ',');
+        AsciiFormat.putCents(out, agreement.getPreDiscountChargeCents());
+        out.put((byte) ',');
+        AsciiFormat.putNumber(out, agreement.getDiscountPercent(), 1);
+        out.put((byte) ',');
+        AsciiFormat.putCents(out, agreement.getDiscountAmountCents());
+        out.put((byte) ',');
+        AsciiFormat.putCents(out, agreement.getFinalChargeCents());
+        out.put((byte) ',');
+        out.put((byte) '\n');
+    }
+
+    static void writeError(ByteBuffer out, long lineNumber, String message) {
+        AsciiFormat.putNumber(out, lineNumber, 1);
+        out.put(EMPTY_AGREEMENT_FIELDS);
+        out.put((byte) ',');
+        out.put((byte) '"');
+        String text = message == null ? "" : message;
+        for (int i = 0; i < Math.min(text.length(), MAX_MESSAGE_LENGTH); i++) {
+            char c = text.charAt(i);
+            out.put((byte) (c == '"' || c > 0x7f ? '\'' : c));
+        }
+        out.put((byte) '"');
+        out.put((byte) '\n');
+    }
+
+    static void writeInvalidLine(ByteBuffer out, long lineNumber) {
+        AsciiFormat.putNumber(out, lineNumber, 1);
+        out.put(EMPTY_AGREEMENT_FIELDS);
+        out.put((byte) ',');
+        out.put(INVALID_LINE);
+        out.put((byte) '\n');
+    }
+}
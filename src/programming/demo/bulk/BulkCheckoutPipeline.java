@@ -0,0 +1,287 @@
+package programming.demo.bulk;
+
+import programming.demo.model.CheckoutRequest;
+import programming.demo.model.CheckoutResult;
+import programming.demo.service.RentalService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Reprices a CSV file of checkout requests into a CSV file of agreements in three stages connected by bounded
+ * queues: the calling thread reads and parses chunks, a pricing thread runs each batch through
+ * {@link RentalService#buildRentalAgreements(CheckoutRequest[])}, and a writer thread encodes rows into a reused
+ * buffer. Memory use depends on the batch size and queue depth, not on the file size.
+ */
+public class BulkCheckoutPipeline {
+
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final int BATCH_SIZE = 4096;
+    private static final int QUEUE_DEPTH = 4;
+    private static final long POLL_MILLIS = 100;
+
+    private final RentalService rentalService;
+
+    public BulkCheckoutPipeline(RentalService rentalService) {
+        this.rentalService = rentalService;
+    }
+
+    public BulkCheckoutReport run(Path input, Path output) {
+        BlockingQueue<Batch> parsed = new ArrayBlockingQueue<>(QUEUE_DEPTH);
+        BlockingQueue<Batch> priced = new ArrayBlockingQueue<>(QUEUE_DEPTH);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        long[] written = new long[2];
+
+        Thread pricer = new Thread(() -> runStage(failure, () -> price(parsed, priced, failure)), "bulk-checkout-pricer");
+        Thread writer = new Thread(() -> runStage(failure, () -> write(priced, output, written, failure)), "bulk-checkout-writer");
+        pricer.start();
+        writer.start();
+
+        long lines = 0;
+        try {
+            lines = read(input, parsed, failure);
+        } catch (RuntimeException ex) {
+            failure.compareAndSet(null, ex);
+            pricer.interrupt();
+            writer.interrupt();
+        }
+
+        try {
+            pricer.join();
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, ex);
+        }
+
+        Throwable error = failure.get();
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        } else if (error != null) {
+            throw new IllegalStateException("Bulk checkout failed.", error);
+        }
+        return new BulkCheckoutReport(lines, written[0], written[1]);
+    }
+
+    private long read(Path input, BlockingQueue<Batch> parsed, AtomicReference<Throwable> failure) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        long lineNumber = 0;
+        boolean skippingLongLine = false;
+        Batch batch = new Batch();
+
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            boolean endOfInput = false;
+            while (!endOfInput) {
+                endOfInput = channel.read(buffer) < 0;
+                int limit = buffer.position();
+                int lineStart = 0;
+
+                for (int i = 0; i < limit; i++) {
+                    if (buffer.get(i) != '\n') {
+                        continue;
+                    }
+                    if (skippingLongLine) {
+                        skippingLongLine = false;
+                    } else {
+                        lineNumber++;
+                        batch = addLine(batch, buffer, lineStart, i, lineNumber, parsed, failure);
+                    }
+                    lineStart = i + 1;
+                }
+
+                if (endOfInput && lineStart < limit && !skippingLongLine) {
+                    lineNumber++;
+                    batch = addLine(batch, buffer, lineStart, limit, lineNumber, parsed, failure);
+                    lineStart = limit;
+                }
+
+                if (lineStart == 0 && limit == buffer.capacity()) {
+                    // A line longer than the whole buffer: report it and drop bytes until its line break.
+                    if (!skippingLongLine) {
+                        lineNumber++;
+                        batch = addInvalidLine(batch, lineNumber, parsed, failure);
+                        skippingLongLine = true;
+                    }
+                    lineStart = limit;
+                }
+                buffer.limit(limit).position(lineStart);
+                buffer.compact();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        if (batch.size > 0) {
+            offer(parsed, batch, failure);
+        }
+        offer(parsed, Batch.END, failure);
+        return lineNumber;
+    }
+
+    private static Batch addLine(Batch batch, ByteBuffer buffer, int start, int end, long lineNumber,
+                                 BlockingQueue<Batch> parsed, AtomicReference<Throwable> failure) {
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        if (lineNumber == 1 && end > start && CheckoutLineParser.isHeader(buffer, start, end)) {
+            return batch;
+        }
+        CheckoutRequest request = end == start ? null : CheckoutLineParser.parse(buffer, start, end);
+        if (request == null) {
+            return addInvalidLine(batch, lineNumber, parsed, failure);
+        }
+        batch.add(request, lineNumber);
+        return flushIfFull(batch, parsed, failure);
+    }
+
+    private static Batch addInvalidLine(Batch batch, long lineNumber, BlockingQueue<Batch> parsed,
+                                        AtomicReference<Throwable> failure) {
+        batch.addInvalid(lineNumber);
+        return flushIfFull(batch, parsed, failure);
+    }
+
+    private static Batch flushIfFull(Batch batch, BlockingQueue<Batch> parsed, AtomicReference<Throwable> failure) {
+        if (batch.size == BATCH_SIZE) {
+            offer(parsed, batch, failure);
+            return new Batch();
+        }
+        return batch;
+    }
+
+    private void price(BlockingQueue<Batch> parsed, BlockingQueue<Batch> priced, AtomicReference<Throwable> failure) {
+        while (true) {
+            Batch batch = take(parsed, failure);
+            if (batch == Batch.END) {
+                offer(priced, batch, failure);
+                return;
+            }
+
+            int valid = 0;
+            for (int i = 0; i < batch.size; i++) {
+                if (batch.requests[i] != null) {
+                    valid++;
+                }
+            }
+            CheckoutRequest[] requests = new CheckoutRequest[valid];
+            for (int i = 0, j = 0; i < batch.size; i++) {
+                if (batch.requests[i] != null) {
+                    requests[j++] = batch.requests[i];
+                }
+            }
+
+            CheckoutResult[] results = rentalService.buildRentalAgreements(requests);
+            for (int i = 0, j = 0; i < batch.size; i++) {
+                if (batch.requests[i] != null) {
+                    batch.results[i] = results[j++];
+                }
+            }
+            offer(priced, batch, failure);
+        }
+    }
+
+    private static void write(BlockingQueue<Batch> priced, Path output, long[] written, AtomicReference<Throwable> failure) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer.put(AgreementCsvWriter.HEADER);
+            while (true) {
+                Batch batch = take(priced, failure);
+                if (batch == Batch.END) {
+                    break;
+                }
+                for (int i = 0; i < batch.size; i++) {
+                    if (buffer.remaining() < AgreementCsvWriter.MAX_ROW_LENGTH) {
+                        drain(buffer, channel);
+                    }
+                    CheckoutResult result = batch.results[i];
+                    if (result == null) {
+                        AgreementCsvWriter.writeInvalidLine(buffer, batch.lineNumbers[i]);
+                        written[1]++;
+                    } else if (result.isSuccess()) {
+                        AgreementCsvWriter.writeAgreement(buffer, batch.lineNumbers[i], result.getAgreement());
+                        written[0]++;
+                    } else {
+                        AgreementCsvWriter.writeError(buffer, batch.lineNumbers[i], result.getErrorMessage());
+                        written[1]++;
+                    }
+                }
+            }
+            drain(buffer, channel);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void runStage(AtomicReference<Throwable> failure, Runnable stage) {
+        try {
+            stage.run();
+        } catch (Throwable ex) {
+            failure.compareAndSet(null, ex);
+        }
+    }
+
+    private static void offer(BlockingQueue<Batch> queue, Batch batch, AtomicReference<Throwable> failure) {
+        try {
+            while (!queue.offer(batch, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                checkFailure(failure);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Bulk checkout was interrupted.", ex);
+        }
+    }
+
+    private static Batch take(BlockingQueue<Batch> queue, AtomicReference<Throwable> failure) {
+        try {
+            Batch batch;
+            while ((batch = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                checkFailure(failure);
+            }
+            return batch;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Bulk checkout was interrupted.", ex);
+        }
+    }
+
+    private static void checkFailure(AtomicReference<Throwable> failure) {
+        if (failure.get() != null) {
+            throw new IllegalStateException("Another bulk checkout stage failed.", failure.get());
+        }
+    }
+
+    private static class Batch {
+        private static final Batch END = new Batch();
+
+        private final CheckoutRequest[] requests = new CheckoutRequest[BATCH_SIZE];
+        private final CheckoutResult[] results = new CheckoutResult[BATCH_SIZE];
+        private final long[] lineNumbers = new long[BATCH_SIZE];
+        private int size;
+
+        void add(CheckoutRequest request, long lineNumber) {
+            requests[size] = request;
+            lineNumbers[size++] = lineNumber;
+        }
+
+        void addInvalid(long lineNumber) {
+            lineNumbers[size++] = lineNumber;
+        }
+    }
+}
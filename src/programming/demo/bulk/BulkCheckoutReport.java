@@ -0,0 +1,30 @@
+package programming.demo.bulk;
+
+public class BulkCheckoutReport {
+    private final long lines;
+    private final long agreements;
+    private final long errors;
+
+    BulkCheckoutReport(long lines, long agreements, long errors) {
+        this.lines = lines;
+        this.agreements = agreements;
+        this.errors = errors;
+    }
+
+    public long getLines() {
+        return lines;
+    }
+
+    public long getAgreements() {
+        return agreements;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BulkCheckoutReport{lines=%d, agreements=%d, errors=%d}", lines, agreements, errors);
+    }
+}
@@ -0,0 +1,121 @@
+package programming.demo.bulk;
+
+import programming.demo.model.CheckoutRequest;
+import programming.demo.model.enumeration.ToolCode;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Parses {@code toolCode,rentalDayCount,discountPercent,yyyy-MM-dd} lines straight from the read buffer, without
+ * decoding fields into strings.
+ */
+final class CheckoutLineParser {
+
+    private static final ToolCode[] TOOL_CODES = ToolCode.values();
+    private static final byte[][] TOOL_CODE_BYTES = new byte[TOOL_CODES.length][];
+
+    static {
+        for (ToolCode toolCode : TOOL_CODES) {
+            TOOL_CODE_BYTES[toolCode.ordinal()] = toolCode.name().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private CheckoutLineParser() {
+    }
+
+    /**
+     * Returns the request on the line between {@code start} and {@code end} (exclusive, without the line break), or
+     * {@code null} when the line is malformed.
+     */
+    static CheckoutRequest parse(ByteBuffer buffer, int start, int end) {
+        int firstComma = indexOf(buffer, start, end);
+        int secondComma = indexOf(buffer, firstComma + 1, end);
+        int thirdComma = indexOf(buffer, secondComma + 1, end);
+        if (thirdComma >= end) {
+            return null;
+        }
+
+        ToolCode toolCode = parseToolCode(buffer, start, firstComma);
+        long rentalDayCount = parseInt(buffer, firstComma + 1, secondComma);
+        long discountPercent = parseInt(buffer, secondComma + 1, thirdComma);
+        LocalDate checkoutDate = parseDate(buffer, thirdComma + 1, end);
+        if (toolCode == null || rentalDayCount == Long.MIN_VALUE || discountPercent == Long.MIN_VALUE || checkoutDate == null) {
+            return null;
+        }
+        return new CheckoutRequest(toolCode, (int) rentalDayCount, (int) discountPercent, checkoutDate);
+    }
+
+    static boolean isHeader(ByteBuffer buffer, int start, int end) {
+        int firstComma = indexOf(buffer, start, end);
+        int secondComma = indexOf(buffer, firstComma + 1, end);
+        return firstComma < end && parseToolCode(buffer, start, firstComma) == null
+                && parseInt(buffer, firstComma + 1, secondComma) == Long.MIN_VALUE;
+    }
+
+    private static int indexOf(ByteBuffer buffer, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (buffer.get(i) == ',') {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private static ToolCode parseToolCode(ByteBuffer buffer, int start, int end) {
+        for (int code = 0; code < TOOL_CODE_BYTES.length; code++) {
+            byte[] name = TOOL_CODE_BYTES[code];
+            if (name.length != end - start) {
+                continue;
+            }
+            int i = 0;
+            while (i < name.length && buffer.get(start + i) == name[i]) {
+                i++;
+            }
+            if (i == name.length) {
+                return TOOL_CODES[code];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns {@link Long#MIN_VALUE} when the field is not an int.
+     */
+    private static long parseInt(ByteBuffer buffer, int start, int end) {
+        boolean negative = start < end && buffer.get(start) == '-';
+        int i = negative ? start + 1 : start;
+        if (i == end || end - i > 10) {
+            return Long.MIN_VALUE;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? Long.MIN_VALUE : value;
+    }
+
+    private static LocalDate parseDate(ByteBuffer buffer, int start, int end) {
+        if (end - start != 10 || buffer.get(start + 4) != '-' || buffer.get(start + 7) != '-') {
+            return null;
+        }
+        long year = parseInt(buffer, start, start + 4);
+        long month = parseInt(buffer, start + 5, start + 7);
+        long day = parseInt(buffer, start + 8, start + 10);
+        if (year < 0 || month < 0 || day < 0) {
+            return null;
+        }
+        try {
+            return LocalDate.of((int) year, (int) month, (int) day);
+        } catch (DateTimeException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package programming.demo.calendar;
+
+import programming.demo.model.ChargeInformation;
+
+import java.lang.ref.WeakReference;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Counts chargeable days in constant time. The Gregorian calendar repeats every 400 years (146097 days, a whole
+ * number of weeks), so one prefix-sum array per weekday/weekend/holiday flag combination over a single cycle
+ * answers any date range with two lookups.
+ */
+public class ChargeDayCalendar {
+
+    public static final int WEEKDAY_CHARGE = 1;
+    public static final int WEEKEND_CHARGE = 1 << 1;
+    public static final int HOLIDAY_CHARGE = 1 << 2;
+    public static final int FLAG_COMBINATIONS = 8;
+    public static final int CYCLE_DAYS = 146097;
+
+    private static final int CYCLE_YEARS = 400;
+
+    private static final byte WEEKEND = 1;
+    private static final byte HOLIDAY = 1 << 1;
+
+    /**
+     * Weak on both sides: a calendar refers to its holidays, so only the rate plans using it keep it and its prefix
+     * arrays alive. {@link HolidayCalendar#of} interns weakly too, so a replaced holiday calendar and its compiled
+     * years go as well once nothing prices with it.
+     */
+    private static final Map<HolidayCalendar, WeakReference<ChargeDayCalendar>> calendarsByHolidays = new WeakHashMap<>();
+
+    private final HolidayCalendar holidayCalendar;
+    private final byte[] dayClasses;
+    private final AtomicReferenceArray<int[]> prefixByFlags = new AtomicReferenceArray<>(FLAG_COMBINATIONS);
+
+    private ChargeDayCalendar(HolidayCalendar holidayCalendar) {
+        this.holidayCalendar = holidayCalendar;
+        this.dayClasses = buildDayClasses(holidayCalendar);
+    }
+
+    public static ChargeDayCalendar forHolidays(HolidayCalendar holidayCalendar) {
+        synchronized (calendarsByHolidays) {
+            WeakReference<ChargeDayCalendar> cached = calendarsByHolidays.get(holidayCalendar);
+            ChargeDayCalendar calendar = cached == null ? null : cached.get();
+            if (calendar == null) {
+                calendar = new ChargeDayCalendar(holidayCalendar);
+                calendarsByHolidays.put(holidayCalendar, new WeakReference<>(calendar));
+            }
+            return calendar;
+        }
+    }
+
+    public HolidayCalendar getHolidayCalendar() {
+        return holidayCalendar;
+    }
+
+    public static int chargeFlags(ChargeInformation chargeInformation) {
+        return (chargeInformation.hasWeekdayCharge() ? WEEKDAY_CHARGE : 0)
+                | (chargeInformation.hasWeekendCharge() ? WEEKEND_CHARGE : 0)
+                | (chargeInformation.hasHolidayCharge() ? HOLIDAY_CHARGE : 0);
+    }
+
+    public int countChargeDays(ChargeInformation chargeInformation, LocalDate checkoutDate, int rentalDayCount) {
+        long firstDay = checkoutDate.toEpochDay();
+        return countChargeDays(chargeFlags(chargeInformation), firstDay, firstDay + rentalDayCount + 1);
+    }
+
+    public int countChargeDays(int chargeFlags, long fromEpochDay, long toEpochDayExclusive) {
+        int[] prefix = prefixFor(chargeFlags);
+        return (int) (countBefore(prefix, toEpochDayExclusive) - countBefore(prefix, fromEpochDay));
+    }
+
+    /**
+     * Sets {@code charged[i]} to whether day {@code fromEpochDay + i} is a charge day, walking the cycle once.
+     */
+    public void markChargeDays(int chargeFlags, long fromEpochDay, boolean[] charged) {
+        int[] prefix = prefixFor(chargeFlags);
+        int cycleDay = Math.floorMod(fromEpochDay, CYCLE_DAYS);
+        for (int i = 0; i < charged.length; i++) {
+            charged[i] = prefix[cycleDay + 1] != prefix[cycleDay];
+            if (++cycleDay == CYCLE_DAYS) {
+                cycleDay = 0;
+            }
+        }
+    }
+
+    public void precompute(int chargeFlags) {
+        prefixFor(chargeFlags);
+    }
+
+    private static long countBefore(int[] prefix, long epochDay) {
+        return Math.floorDiv(epochDay, CYCLE_DAYS) * prefix[CYCLE_DAYS] + prefix[Math.floorMod(epochDay, CYCLE_DAYS)];
+    }
+
+    private int[] prefixFor(int chargeFlags) {
+        int[] prefix = prefixByFlags.get(chargeFlags);
+        if (prefix == null) {
+            prefixByFlags.compareAndSet(chargeFlags, null, buildPrefix(chargeFlags));
+            prefix = prefixByFlags.get(chargeFlags);
+        }
+        return prefix;
+    }
+
+    private int[] buildPrefix(int chargeFlags) {
+        int[] prefix = new int[CYCLE_DAYS + 1];
+        for (int day = 0; day < CYCLE_DAYS; day++) {
+            prefix[day + 1] = prefix[day] + (isChargeable(chargeFlags, dayClasses[day]) ? 1 : 0);
+        }
+        return prefix;
+    }
+
+    private static boolean isChargeable(int chargeFlags, byte dayClass) {
+        int dayFlag = (dayClass & WEEKEND) != 0 ? WEEKEND_CHARGE : WEEKDAY_CHARGE;
+        if ((chargeFlags & dayFlag) == 0) {
+            return false;
+        }
+        return (dayClass & HOLIDAY) == 0 || (chargeFlags & HOLIDAY_CHARGE) != 0;
+    }
+
+    private static byte[] buildDayClasses(HolidayCalendar holidayCalendar) {
+        byte[] classes = new byte[CYCLE_DAYS];
+        for (int day = 0; day < CYCLE_DAYS; day++) {
+            // Epoch day 0 is a Thursday; shift so that 0 is Monday.
+            int dayOfWeek = Math.floorMod(day + 3, 7);
+            if (dayOfWeek >= 5) {
+                classes[day] |= WEEKEND;
+            }
+        }
+
+        LocalDate firstDay = LocalDate.ofEpochDay(0);
+        for (int year = firstDay.getYear(); year < firstDay.getYear() + CYCLE_YEARS; year++) {
+            int yearStart = (int) LocalDate.of(year, 1, 1).toEpochDay();
+            long[] bits = holidayCalendar.bitsFor(year);
+            for (int word = 0; word < bits.length; word++) {
+                for (long remaining = bits[word]; remaining != 0; remaining &= remaining - 1) {
+                    classes[yearStart + (word << 6) + Long.numberOfTrailingZeros(remaining)] |= HOLIDAY;
+                }
+            }
+        }
+        return classes;
+    }
+}
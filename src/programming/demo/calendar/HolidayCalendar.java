@@ -0,0 +1,149 @@
+package programming.demo.calendar;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A set of holiday rules compiled lazily into one 366-bit set per year. Calendars are interned by their rules, so
+ * every store loading the same definitions shares the compiled years. The intern table holds calendars weakly: one
+ * nothing uses any more is collected with its years, and its entry is dropped on a later lookup.
+ */
+public class HolidayCalendar {
+
+    private static final String DEFAULT_RESOURCE = "default.holidays";
+    private static final int FIRST_CACHED_YEAR = 1600;
+    private static final int CACHED_YEARS = 1000;
+
+    private static final Map<Set<HolidayRule>, CalendarReference> calendarsByRules = new HashMap<>();
+    private static final ReferenceQueue<HolidayCalendar> collectedCalendars = new ReferenceQueue<>();
+
+    private final List<HolidayRule> rules;
+    private final AtomicReferenceArray<long[]> yearBits = new AtomicReferenceArray<>(CACHED_YEARS);
+
+    private HolidayCalendar(List<HolidayRule> rules) {
+        this.rules = rules;
+    }
+
+    public static HolidayCalendar defaultCalendar() {
+        return DefaultCalendarHolder.DEFAULT_CALENDAR;
+    }
+
+    public static HolidayCalendar of(List<HolidayRule> rules) {
+        Set<HolidayRule> key = Set.copyOf(rules);
+        synchronized (calendarsByRules) {
+            for (Reference<?> collected; (collected = collectedCalendars.poll()) != null; ) {
+                calendarsByRules.remove(((CalendarReference) collected).rules, collected);
+            }
+            CalendarReference cached = calendarsByRules.get(key);
+            HolidayCalendar calendar = cached == null ? null : cached.get();
+            if (calendar == null) {
+                calendar = new HolidayCalendar(List.copyOf(rules));
+                calendarsByRules.put(key, new CalendarReference(key, calendar));
+            }
+            return calendar;
+        }
+    }
+
+    public static HolidayCalendar load(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return load(in);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public static HolidayCalendar fromResource(String name) {
+        try (InputStream in = HolidayCalendar.class.getResourceAsStream(name)) {
+            if (in == null) {
+                throw new FileNotFoundException(name);
+            }
+            return load(in);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static HolidayCalendar load(InputStream in) throws IOException {
+        List<HolidayRule> rules = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                rules.add(HolidayRule.parse(line));
+            }
+        }
+        return of(rules);
+    }
+
+    public List<HolidayRule> getRules() {
+        return rules;
+    }
+
+    public boolean isHoliday(LocalDate date) {
+        return isHoliday(date.getYear(), date.getDayOfYear());
+    }
+
+    public boolean isHoliday(int year, int dayOfYear) {
+        int bit = dayOfYear - 1;
+        return (bitsFor(year)[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    long[] bitsFor(int year) {
+        int index = year - FIRST_CACHED_YEAR;
+        if (index < 0 || index >= CACHED_YEARS) {
+            return compile(year);
+        }
+        long[] bits = yearBits.get(index);
+        if (bits == null) {
+            yearBits.compareAndSet(index, null, compile(year));
+            bits = yearBits.get(index);
+        }
+        return bits;
+    }
+
+    private long[] compile(int year) {
+        long[] bits = new long[6];
+        // An observed date can fall in the neighbouring year, e.g. a Saturday January 1st observed on December 31st.
+        for (int ruleYear = year - 1; ruleYear <= year + 1; ruleYear++) {
+            for (HolidayRule rule : rules) {
+                LocalDate date = rule.dateIn(ruleYear);
+                if (date.getYear() == year) {
+                    int bit = date.getDayOfYear() - 1;
+                    bits[bit >>> 6] |= 1L << bit;
+                }
+            }
+        }
+        return bits;
+    }
+
+    private static class DefaultCalendarHolder {
+        private static final HolidayCalendar DEFAULT_CALENDAR = fromResource(DEFAULT_RESOURCE);
+    }
+
+    private static final class CalendarReference extends WeakReference<HolidayCalendar> {
+        private final Set<HolidayRule> rules;
+
+        CalendarReference(Set<HolidayRule> rules, HolidayCalendar calendar) {
+            super(calendar, collectedCalendars);
+            this.rules = rules;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package programming.demo.calendar;
+
+import programming.demo.exception.InvalidHolidayRuleException;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Objects;
+
+public class HolidayRule {
+
+    private final String name;
+    private final Month month;
+    private final int dayOfMonth;
+    private final int weekdayOrdinal;
+    private final DayOfWeek dayOfWeek;
+    private final boolean observed;
+
+    private HolidayRule(String name, Month month, int dayOfMonth, int weekdayOrdinal, DayOfWeek dayOfWeek, boolean observed) {
+        this.name = name;
+        this.month = month;
+        this.dayOfMonth = dayOfMonth;
+        this.weekdayOrdinal = weekdayOrdinal;
+        this.dayOfWeek = dayOfWeek;
+        this.observed = observed;
+    }
+
+    public static HolidayRule fixed(String name, Month month, int dayOfMonth, boolean observed) {
+        if (dayOfMonth < 1 || dayOfMonth > month.minLength()) {
+            throw new InvalidHolidayRuleException(name);
+        }
+        return new HolidayRule(name, month, dayOfMonth, 0, null, observed);
+    }
+
+    public static HolidayRule nthWeekday(String name, Month month, int weekdayOrdinal, DayOfWeek dayOfWeek, boolean observed) {
+        if (weekdayOrdinal == 0 || weekdayOrdinal < -1 || weekdayOrdinal > 4) {
+            throw new InvalidHolidayRuleException(name);
+        }
+        return new HolidayRule(name, month, 0, weekdayOrdinal, dayOfWeek, observed);
+    }
+
+    public static HolidayRule parse(String line) {
+        int separator = line.indexOf('=');
+        if (separator < 0) {
+            throw new InvalidHolidayRuleException(line);
+        }
+        String name = line.substring(0, separator).trim();
+        String[] tokens = line.substring(separator + 1).trim().split("\\s+");
+
+        try {
+            switch (tokens[0]) {
+                case "fixed":
+                    if (tokens.length < 2 || tokens.length > 3) {
+                        throw new InvalidHolidayRuleException(line);
+                    }
+                    String[] monthDay = tokens[1].split("-");
+                    return fixed(name, Month.of(Integer.parseInt(monthDay[0])), Integer.parseInt(monthDay[1]),
+                            isObserved(tokens, 2, line));
+                case "nth":
+                    if (tokens.length < 4 || tokens.length > 5) {
+                        throw new InvalidHolidayRuleException(line);
+                    }
+                    return nthWeekday(name, Month.of(Integer.parseInt(tokens[3])), Integer.parseInt(tokens[1]),
+                            DayOfWeek.valueOf(tokens[2]), isObserved(tokens, 4, line));
+                default:
+                    throw new InvalidHolidayRuleException(line);
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException ex) {
+            throw new InvalidHolidayRuleException(line);
+        }
+    }
+
+    private static boolean isObserved(String[] tokens, int index, String line) {
+        if (tokens.length <= index) {
+            return false;
+        }
+        if (!tokens[index].equals("observed")) {
+            throw new InvalidHolidayRuleException(line);
+        }
+        return true;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalDate dateIn(int year) {
+        LocalDate date;
+        if (dayOfWeek == null) {
+            date = LocalDate.of(year, month, dayOfMonth);
+        } else if (weekdayOrdinal < 0) {
+            date = LocalDate.of(year, month, 1).with(TemporalAdjusters.lastInMonth(dayOfWeek));
+        } else {
+            date = LocalDate.of(year, month, 1).with(TemporalAdjusters.dayOfWeekInMonth(weekdayOrdinal, dayOfWeek));
+        }
+
+        if (observed && date.getDayOfWeek() == DayOfWeek.SATURDAY) {
+            return date.minusDays(1);
+        } else if (observed && date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            return date.plusDays(1);
+        } else {
+            return date;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof HolidayRule)) return false;
+        HolidayRule that = (HolidayRule) o;
+        return dayOfMonth == that.dayOfMonth && weekdayOrdinal == that.weekdayOrdinal && observed == that.observed && month == that.month && dayOfWeek == that.dayOfWeek;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(month, dayOfMonth, weekdayOrdinal, dayOfWeek, observed);
+    }
+}
@@ -0,0 +1,115 @@
+package programming.demo.catalog;
+
+import programming.demo.exception.InvalidCatalogEntryException;
+import programming.demo.exception.ToolNotFoundException;
+import programming.demo.model.Tool;
+import programming.demo.model.enumeration.ToolBrand;
+import programming.demo.model.enumeration.ToolCode;
+import programming.demo.model.enumeration.ToolType;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable set of shared {@link Tool} instances indexed by {@link ToolCode} ordinal. Replace a catalog as a whole
+ * rather than mutating it, so readers never need a lock.
+ */
+public class ToolCatalog {
+
+    private static final String DEFAULT_RESOURCE = "default.tools";
+
+    private final Tool[] toolsByCode = new Tool[ToolCode.values().length];
+    private final List<Tool> tools;
+
+    private ToolCatalog(Collection<Tool> tools) {
+        for (Tool tool : tools) {
+            if (toolsByCode[tool.getCode().ordinal()] != null) {
+                throw new InvalidCatalogEntryException(tool.getCode().name());
+            }
+            toolsByCode[tool.getCode().ordinal()] = tool;
+        }
+        this.tools = List.copyOf(tools);
+    }
+
+    public static ToolCatalog defaultCatalog() {
+        return DefaultCatalogHolder.DEFAULT_CATALOG;
+    }
+
+    public static ToolCatalog of(Collection<Tool> tools) {
+        return new ToolCatalog(tools);
+    }
+
+    public static ToolCatalog load(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return load(in);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public static ToolCatalog fromResource(String name) {
+        try (InputStream in = ToolCatalog.class.getResourceAsStream(name)) {
+            if (in == null) {
+                throw new FileNotFoundException(name);
+            }
+            return load(in);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static ToolCatalog load(InputStream in) throws IOException {
+        List<Tool> tools = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                tools.add(parseTool(line));
+            }
+        }
+        return of(tools);
+    }
+
+    private static Tool parseTool(String line) {
+        String[] fields = line.split("\\s*,\\s*");
+        if (fields.length != 3) {
+            throw new InvalidCatalogEntryException(line);
+        }
+        try {
+            return new Tool(ToolType.valueOf(fields[1]), ToolBrand.valueOf(fields[2]), ToolCode.valueOf(fields[0]));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCatalogEntryException(line);
+        }
+    }
+
+    public Tool getTool(ToolCode toolCode) {
+        Tool tool = toolsByCode[toolCode.ordinal()];
+        if (tool == null) {
+            throw new ToolNotFoundException(toolCode);
+        }
+        return tool;
+    }
+
+    public boolean contains(ToolCode toolCode) {
+        return toolsByCode[toolCode.ordinal()] != null;
+    }
+
+    public List<Tool> getTools() {
+        return tools;
+    }
+
+    private static class DefaultCatalogHolder {
+        private static final ToolCatalog DEFAULT_CATALOG = fromResource(DEFAULT_RESOURCE);
+    }
+}
@@ -0,0 +1,55 @@
+package programming.demo.checkin;
+
+import programming.demo.model.RentalAgreement;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+public class CheckIn {
+    private final RentalAgreement agreement;
+    private final LocalDate returnDate;
+    private final int lateDayCount;
+    private final int lateChargeDays;
+    private final long lateChargeCents;
+
+    public CheckIn(RentalAgreement agreement, LocalDate returnDate, int lateDayCount, int lateChargeDays, long lateChargeCents) {
+        this.agreement = agreement;
+        this.returnDate = returnDate;
+        this.lateDayCount = lateDayCount;
+        this.lateChargeDays = lateChargeDays;
+        this.lateChargeCents = lateChargeCents;
+    }
+
+    public RentalAgreement getAgreement() {
+        return agreement;
+    }
+
+    public LocalDate getReturnDate() {
+        return returnDate;
+    }
+
+    public int getLateDayCount() {
+        return lateDayCount;
+    }
+
+    public int getLateChargeDays() {
+        return lateChargeDays;
+    }
+
+    public long getLateChargeCents() {
+        return lateChargeCents;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CheckIn)) return false;
+        CheckIn checkIn = (CheckIn) o;
+        return lateDayCount == checkIn.lateDayCount && lateChargeDays == checkIn.lateChargeDays && lateChargeCents == checkIn.lateChargeCents && Objects.equals(agreement, checkIn.agreement) && Objects.equals(returnDate, checkIn.returnDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(agreement, returnDate, lateDayCount, lateChargeDays, lateChargeCents);
+    }
+}
@@ -0,0 +1,41 @@
+package programming.demo.checkin;
+
+import programming.demo.model.RentalAgreement;
+
+/**
+ * A rental registered with an {@link OverdueTracker} and not yet checked in. It is also the node of the timing wheel
+ * slot it waits in, so checking it in unlinks it in constant time.
+ */
+public final class OpenRental {
+    private final RentalAgreement agreement;
+    final long overdueEpochDay;
+    OpenRental previous;
+    OpenRental next;
+    boolean overdue;
+    boolean checkedIn;
+
+    /**
+     * A slot sentinel.
+     */
+    OpenRental() {
+        this.agreement = null;
+        this.overdueEpochDay = Long.MIN_VALUE;
+    }
+
+    OpenRental(RentalAgreement agreement) {
+        this.agreement = agreement;
+        this.overdueEpochDay = agreement.getDueDate().toEpochDay() + 1;
+    }
+
+    public RentalAgreement getAgreement() {
+        return agreement;
+    }
+
+    public boolean isOverdue() {
+        return overdue;
+    }
+
+    public boolean isCheckedIn() {
+        return checkedIn;
+    }
+}
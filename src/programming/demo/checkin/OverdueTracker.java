@@ -0,0 +1,165 @@
+package programming.demo.checkin;
+
+import programming.demo.model.RentalAgreement;
+import programming.demo.service.RentalService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Open rentals ordered by the day they become overdue, the day after their due date, in a three-level hierarchical
+ * timing wheel of 64 slots per level: level 0 holds the next 64 days one day per slot, level 1 the next 4096 in
+ * 64-day slots and level 2 the next 262144 in 4096-day slots. Registering and checking in link and unlink a node,
+ * and advancing the clock one day empties one level-0 slot after moving at most one slot of each higher level down,
+ * so every rental is touched a constant number of times between registration and expiry.
+ * <p>
+ * Methods synchronize on the tracker.
+ */
+public class OverdueTracker {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 3;
+    private static final long MAX_AHEAD = 1L << (SLOT_BITS * LEVELS);
+
+    private final RentalService rentalService;
+    private final OpenRental[][] wheel = new OpenRental[LEVELS][SLOTS];
+    private final List<OpenRental> alreadyOverdue = new ArrayList<>();
+    private long currentEpochDay;
+    private int openCount;
+
+    public OverdueTracker(RentalService rentalService, LocalDate today) {
+        this.rentalService = rentalService;
+        this.currentEpochDay = today.toEpochDay();
+        for (OpenRental[] level : wheel) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                level[slot] = newSentinel();
+            }
+        }
+    }
+
+    public synchronized LocalDate getToday() {
+        return LocalDate.ofEpochDay(currentEpochDay);
+    }
+
+    public synchronized int getOpenCount() {
+        return openCount;
+    }
+
+    /**
+     * Starts tracking the agreement. One already overdue today is reported by the next {@link #advanceTo}.
+     */
+    public synchronized OpenRental register(RentalAgreement agreement) {
+        OpenRental rental = new OpenRental(agreement);
+        if (rental.overdueEpochDay - currentEpochDay >= MAX_AHEAD) {
+            throw new IllegalArgumentException(String.format("Due date %s is too far ahead to track.", agreement.getDueDate()));
+        }
+        openCount++;
+        if (rental.overdueEpochDay <= currentEpochDay) {
+            alreadyOverdue.add(rental);
+        } else {
+            schedule(rental);
+        }
+        return rental;
+    }
+
+    /**
+     * Stops tracking the rental and prices any days it was kept past its due date.
+     */
+    public synchronized CheckIn checkIn(OpenRental rental, LocalDate returnDate) {
+        if (rental.checkedIn) {
+            throw new IllegalStateException("Rental is already checked in.");
+        }
+        rental.checkedIn = true;
+        openCount--;
+        if (rental.next != null) {
+            unlink(rental);
+        } else {
+            alreadyOverdue.remove(rental);
+        }
+
+        RentalAgreement agreement = rental.getAgreement();
+        int lateDayCount = (int) Math.max(0, returnDate.toEpochDay() - agreement.getDueDate().toEpochDay());
+        return new CheckIn(agreement, returnDate, lateDayCount, rentalService.calculateLateChargeDays(agreement, returnDate),
+                rentalService.calculateLateChargeCents(agreement, returnDate));
+    }
+
+    /**
+     * Moves the clock forward and returns every open rental that became overdue on or before {@code today}, in the
+     * order their due dates passed. Each rental is returned once; it stays open until checked in.
+     */
+    public synchronized List<OpenRental> advanceTo(LocalDate today) {
+        long target = today.toEpochDay();
+        List<OpenRental> overdue = new ArrayList<>(alreadyOverdue);
+        alreadyOverdue.clear();
+        for (OpenRental rental : overdue) {
+            rental.overdue = true;
+        }
+        while (currentEpochDay < target) {
+            currentEpochDay++;
+            cascade();
+            drain(wheel[0][(int) (currentEpochDay & (SLOTS - 1))], overdue);
+        }
+        return overdue;
+    }
+
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((currentEpochDay & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                return;
+            }
+            OpenRental sentinel = wheel[level][(int) ((currentEpochDay >>> (SLOT_BITS * level)) & (SLOTS - 1))];
+            OpenRental rental = sentinel.next;
+            sentinel.next = sentinel;
+            sentinel.previous = sentinel;
+            while (rental != sentinel) {
+                OpenRental next = rental.next;
+                schedule(rental);
+                rental = next;
+            }
+        }
+    }
+
+    private void drain(OpenRental sentinel, List<OpenRental> overdue) {
+        OpenRental rental = sentinel.next;
+        sentinel.next = sentinel;
+        sentinel.previous = sentinel;
+        while (rental != sentinel) {
+            OpenRental next = rental.next;
+            rental.next = null;
+            rental.previous = null;
+            rental.overdue = true;
+            overdue.add(rental);
+            rental = next;
+        }
+    }
+
+    private void schedule(OpenRental rental) {
+        long deadline = rental.overdueEpochDay;
+        long ahead = deadline - currentEpochDay;
+        int level = 0;
+        while (level < LEVELS - 1 && ahead >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        OpenRental sentinel = wheel[level][(int) ((deadline >>> (SLOT_BITS * level)) & (SLOTS - 1))];
+        rental.previous = sentinel.previous;
+        rental.next = sentinel;
+        sentinel.previous.next = rental;
+        sentinel.previous = rental;
+    }
+
+    private static void unlink(OpenRental rental) {
+        rental.previous.next = rental.next;
+        rental.next.previous = rental.previous;
+        rental.next = null;
+        rental.previous = null;
+    }
+
+    private static OpenRental newSentinel() {
+        OpenRental sentinel = new OpenRental();
+        sentinel.next = sentinel;
+        sentinel.previous = sentinel;
+        return sentinel;
+    }
+}
@@ -0,0 +1,157 @@
+package programming.demo.codec;
+
+import programming.demo.catalog.ToolCatalog;
+import programming.demo.exception.InvalidAgreementEncodingException;
+import programming.demo.model.RentalAgreement;
+import programming.demo.model.Tool;
+import programming.demo.model.enumeration.ToolBrand;
+import programming.demo.model.enumeration.ToolCode;
+import programming.demo.model.enumeration.ToolType;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+/**
+ * Fixed-width binary form of a {@link RentalAgreement}: a format version, enum ordinals as bytes, dates as epoch days
+ * and amounts as cents, {@value #ENCODED_LENGTH} bytes in the buffer's byte order. The layout is
+ * <pre>
+ *  0 version        1 tool code     2 tool type     3 tool brand
+ *  4 discount percent               5-7 unused
+ *  8 rental days (int)             12 charge days (int)
+ * 16 checkout epoch day (int)      20 due epoch day (int)
+ * 24 daily rental charge cents (long)
+ * 32 pre-discount charge cents (long)
+ * 40 discount amount cents (long)
+ * 48 final charge cents (long)
+ * </pre>
+ * Decoding checks the version and every ordinal and throws {@link InvalidAgreementEncodingException} on a mismatch.
+ * Tools are resolved against a {@link ToolCatalog}, the default one unless the caller passes its own.
+ */
+public final class RentalAgreementCodec {
+
+    public static final int ENCODED_LENGTH = 56;
+    public static final byte VERSION = 1;
+
+    static final int VERSION_OFFSET = 0;
+    static final int TOOL_CODE_OFFSET = 1;
+    static final int TOOL_TYPE_OFFSET = 2;
+    static final int TOOL_BRAND_OFFSET = 3;
+    static final int DISCOUNT_PERCENT_OFFSET = 4;
+    static final int RENTAL_DAY_COUNT_OFFSET = 8;
+    static final int CHARGE_DAYS_OFFSET = 12;
+    static final int CHECKOUT_DATE_OFFSET = 16;
+    static final int DUE_DATE_OFFSET = 20;
+    static final int DAILY_RENTAL_COST_OFFSET = 24;
+    static final int PRE_DISCOUNT_CHARGE_OFFSET = 32;
+    static final int DISCOUNT_AMOUNT_OFFSET = 40;
+    static final int FINAL_CHARGE_OFFSET = 48;
+
+    static final ToolCode[] TOOL_CODES = ToolCode.values();
+    static final ToolType[] TOOL_TYPES = ToolType.values();
+    static final ToolBrand[] TOOL_BRANDS = ToolBrand.values();
+
+    private RentalAgreementCodec() {
+    }
+
+    /**
+     * Writes the agreement at the buffer's position and advances it.
+     */
+    public static ByteBuffer encode(RentalAgreement agreement, ByteBuffer buffer) {
+        encode(agreement, buffer, buffer.position());
+        return buffer.position(buffer.position() + ENCODED_LENGTH);
+    }
+
+    public static void encode(RentalAgreement agreement, ByteBuffer buffer, int offset) {
+        Tool tool = agreement.getTool();
+        buffer.put(offset + VERSION_OFFSET, VERSION);
+        buffer.put(offset + TOOL_CODE_OFFSET, (byte) tool.getCode().ordinal());
+        buffer.put(offset + TOOL_TYPE_OFFSET, (byte) tool.getType().ordinal());
+        buffer.put(offset + TOOL_BRAND_OFFSET, (byte) tool.getBrand().ordinal());
+        buffer.put(offset + DISCOUNT_PERCENT_OFFSET, (byte) agreement.getDiscountPercent());
+        buffer.putInt(offset + RENTAL_DAY_COUNT_OFFSET, agreement.getRentalDayCount());
+        buffer.putInt(offset + CHARGE_DAYS_OFFSET, agreement.getChargeDays());
+        buffer.putInt(offset + CHECKOUT_DATE_OFFSET, Math.toIntExact(agreement.getCheckoutDate().toEpochDay()));
+        buffer.putInt(offset + DUE_DATE_OFFSET, Math.toIntExact(agreement.getDueDate().toEpochDay()));
+        buffer.putLong(offset + DAILY_RENTAL_COST_OFFSET, agreement.getDailyRentalCostCents());
+        buffer.putLong(offset + PRE_DISCOUNT_CHARGE_OFFSET, agreement.getPreDiscountChargeCents());
+        buffer.putLong(offset + DISCOUNT_AMOUNT_OFFSET, agreement.getDiscountAmountCents());
+        buffer.putLong(offset + FINAL_CHARGE_OFFSET, agreement.getFinalChargeCents());
+    }
+
+    /**
+     * Reads an agreement at the buffer's position and advances it, resolving its tool against the default catalog.
+     */
+    public static RentalAgreement decode(ByteBuffer buffer) {
+        return decode(buffer, ToolCatalog.defaultCatalog());
+    }
+
+    /**
+     * Reads an agreement at the buffer's position and advances it, resolving its tool against {@code catalog}.
+     */
+    public static RentalAgreement decode(ByteBuffer buffer, ToolCatalog catalog) {
+        RentalAgreement agreement = decode(buffer, buffer.position(), catalog);
+        buffer.position(buffer.position() + ENCODED_LENGTH);
+        return agreement;
+    }
+
+    public static RentalAgreement decode(ByteBuffer buffer, int offset) {
+        return decode(buffer, offset, ToolCatalog.defaultCatalog());
+    }
+
+    public static RentalAgreement decode(ByteBuffer buffer, int offset, ToolCatalog catalog) {
+        checkVersion(buffer, offset);
+        return RentalAgreement.builder()
+                .tool(tool(catalog, toolCode(buffer, offset), toolType(buffer, offset), toolBrand(buffer, offset)))
+                .discountPercent(buffer.get(offset + DISCOUNT_PERCENT_OFFSET))
+                .rentalDayCount(buffer.getInt(offset + RENTAL_DAY_COUNT_OFFSET))
+                .chargeDays(buffer.getInt(offset + CHARGE_DAYS_OFFSET))
+                .checkoutDate(LocalDate.ofEpochDay(buffer.getInt(offset + CHECKOUT_DATE_OFFSET)))
+                .dueDate(LocalDate.ofEpochDay(buffer.getInt(offset + DUE_DATE_OFFSET)))
+                .dailyRentalCostCents(buffer.getLong(offset + DAILY_RENTAL_COST_OFFSET))
+                .preDiscountChargeCents(buffer.getLong(offset + PRE_DISCOUNT_CHARGE_OFFSET))
+                .discountAmountCents(buffer.getLong(offset + DISCOUNT_AMOUNT_OFFSET))
+                .finalChargeCents(buffer.getLong(offset + FINAL_CHARGE_OFFSET))
+                .build();
+    }
+
+    static void checkVersion(ByteBuffer buffer, int offset) {
+        byte version = buffer.get(offset + VERSION_OFFSET);
+        if (version != VERSION) {
+            throw new InvalidAgreementEncodingException(String.format("version %d, expected %d", version, VERSION));
+        }
+    }
+
+    static ToolCode toolCode(ByteBuffer buffer, int offset) {
+        return TOOL_CODES[ordinal(buffer, offset + TOOL_CODE_OFFSET, TOOL_CODES.length, "tool code")];
+    }
+
+    static ToolType toolType(ByteBuffer buffer, int offset) {
+        return TOOL_TYPES[ordinal(buffer, offset + TOOL_TYPE_OFFSET, TOOL_TYPES.length, "tool type")];
+    }
+
+    static ToolBrand toolBrand(ByteBuffer buffer, int offset) {
+        return TOOL_BRANDS[ordinal(buffer, offset + TOOL_BRAND_OFFSET, TOOL_BRANDS.length, "tool brand")];
+    }
+
+    private static int ordinal(ByteBuffer buffer, int index, int count, String field) {
+        int ordinal = buffer.get(index);
+        if (ordinal < 0 || ordinal >= count) {
+            throw new InvalidAgreementEncodingException(String.format("%s ordinal %d", field, ordinal));
+        }
+        return ordinal;
+    }
+
+    /**
+     * Returns the catalog's instance when it describes the same tool, so decoded agreements share tools and only a
+     * tool the catalog no longer matches is allocated.
+     */
+    static Tool tool(ToolCatalog catalog, ToolCode toolCode, ToolType toolType, ToolBrand toolBrand) {
+        if (catalog.contains(toolCode)) {
+            Tool tool = catalog.getTool(toolCode);
+            if (tool.getType() == toolType && tool.getBrand() == toolBrand) {
+                return tool;
+            }
+        }
+        return new Tool(toolType, toolBrand, toolCode);
+    }
+}
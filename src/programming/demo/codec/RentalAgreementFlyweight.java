@@ -0,0 +1,104 @@
+package programming.demo.codec;
+
+import programming.demo.catalog.ToolCatalog;
+import programming.demo.model.RentalAgreement;
+import programming.demo.model.enumeration.ToolBrand;
+import programming.demo.model.enumeration.ToolCode;
+import programming.demo.model.enumeration.ToolType;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+import static programming.demo.codec.RentalAgreementCodec.CHARGE_DAYS_OFFSET;
+import static programming.demo.codec.RentalAgreementCodec.CHECKOUT_DATE_OFFSET;
+import static programming.demo.codec.RentalAgreementCodec.DAILY_RENTAL_COST_OFFSET;
+import static programming.demo.codec.RentalAgreementCodec.DISCOUNT_AMOUNT_OFFSET;
+import static programming.demo.codec.RentalAgreementCodec.DISCOUNT_PERCENT_OFFSET;
+import static programming.demo.codec.RentalAgreementCodec.DUE_DATE_OFFSET;
+import static programming.demo.codec.RentalAgreementCodec.FINAL_CHARGE_OFFSET;
+import static programming.demo.codec.RentalAgreementCodec.PRE_DISCOUNT_CHARGE_OFFSET;
+import static programming.demo.codec.RentalAgreementCodec.RENTAL_DAY_COUNT_OFFSET;
+
+/**
+ * Reads the fields of an encoded agreement in place. One instance can be re-wrapped over any number of records, so
+ * scanning a buffer of agreements allocates nothing unless {@link #toRentalAgreement()} is called.
+ */
+public class RentalAgreementFlyweight {
+
+    private ByteBuffer buffer;
+    private int offset;
+
+    public RentalAgreementFlyweight wrap(ByteBuffer buffer, int offset) {
+        if (offset < 0 || offset > buffer.limit() - RentalAgreementCodec.ENCODED_LENGTH) {
+            throw new IndexOutOfBoundsException(String.format("No encoded agreement fits at offset %d.", offset));
+        }
+        RentalAgreementCodec.checkVersion(buffer, offset);
+        this.buffer = buffer;
+        this.offset = offset;
+        return this;
+    }
+
+    public ToolCode getToolCode() {
+        return RentalAgreementCodec.toolCode(buffer, offset);
+    }
+
+    public ToolType getToolType() {
+        return RentalAgreementCodec.toolType(buffer, offset);
+    }
+
+    public ToolBrand getToolBrand() {
+        return RentalAgreementCodec.toolBrand(buffer, offset);
+    }
+
+    public int getDiscountPercent() {
+        return buffer.get(offset + DISCOUNT_PERCENT_OFFSET);
+    }
+
+    public int getRentalDayCount() {
+        return buffer.getInt(offset + RENTAL_DAY_COUNT_OFFSET);
+    }
+
+    public int getChargeDays() {
+        return buffer.getInt(offset + CHARGE_DAYS_OFFSET);
+    }
+
+    public long getCheckoutEpochDay() {
+        return buffer.getInt(offset + CHECKOUT_DATE_OFFSET);
+    }
+
+    public LocalDate getCheckoutDate() {
+        return LocalDate.ofEpochDay(getCheckoutEpochDay());
+    }
+
+    public long getDueEpochDay() {
+        return buffer.getInt(offset + DUE_DATE_OFFSET);
+    }
+
+    public LocalDate getDueDate() {
+        return LocalDate.ofEpochDay(getDueEpochDay());
+    }
+
+    public long getDailyRentalCostCents() {
+        return buffer.getLong(offset + DAILY_RENTAL_COST_OFFSET);
+    }
+
+    public long getPreDiscountChargeCents() {
+        return buffer.getLong(offset + PRE_DISCOUNT_CHARGE_OFFSET);
+    }
+
+    public long getDiscountAmountCents() {
+        return buffer.getLong(offset + DISCOUNT_AMOUNT_OFFSET);
+    }
+
+    public long getFinalChargeCents() {
+        return buffer.getLong(offset + FINAL_CHARGE_OFFSET);
+    }
+
+    public RentalAgreement toRentalAgreement() {
+        return RentalAgreementCodec.decode(buffer, offset);
+    }
+
+    public RentalAgreement toRentalAgreement(ToolCatalog catalog) {
+        return RentalAgreementCodec.decode(buffer, offset, catalog);
+    }
+}
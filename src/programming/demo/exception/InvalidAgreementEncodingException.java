@@ -0,0 +1,7 @@
+package programming.demo.exception;
+
+public class InvalidAgreementEncodingException extends RuntimeException {
+    public InvalidAgreementEncodingException(String reason) {
+        super(String.format("Encoded agreement is not valid: %s.", reason));
+    }
+}
@@ -0,0 +1,7 @@
+package programming.demo.exception;
+
+public class InvalidCatalogEntryException extends RuntimeException {
+    public InvalidCatalogEntryException(String entry) {
+        super(String.format("Catalog entry '%s' is not valid.", entry));
+    }
+}
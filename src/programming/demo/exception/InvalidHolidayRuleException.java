@@ -0,0 +1,7 @@
+package programming.demo.exception;
+
+public class InvalidHolidayRuleException extends RuntimeException {
+    public InvalidHolidayRuleException(String rule) {
+        super(String.format("Holiday rule '%s' is not valid.", rule));
+    }
+}
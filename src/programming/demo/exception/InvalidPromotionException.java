@@ -0,0 +1,7 @@
+package programming.demo.exception;
+
+public class InvalidPromotionException extends RuntimeException {
+    public InvalidPromotionException(String id, String reason) {
+        super(String.format("Promotion '%s' is not valid: %s.", id, reason));
+    }
+}
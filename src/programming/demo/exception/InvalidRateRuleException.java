@@ -0,0 +1,11 @@
+package programming.demo.exception;
+
+public class InvalidRateRuleException extends RuntimeException {
+    public InvalidRateRuleException(String rule) {
+        super(String.format("Rate rule '%s' is not valid.", rule));
+    }
+
+    public InvalidRateRuleException(String rule, String reason) {
+        super(String.format("Rate rule '%s' is not valid: %s.", rule, reason));
+    }
+}
@@ -4,4 +4,8 @@ public class InvalidRentalDayCountException extends RuntimeException {
     public InvalidRentalDayCountException() {
         super("The rental day count must be 1 or more.");
     }
+
+    public InvalidRentalDayCountException(int maxRentalDayCount) {
+        super(String.format("The rental day count must be between 1 and %d.", maxRentalDayCount));
+    }
 }
@@ -0,0 +1,10 @@
+package programming.demo.exception;
+
+import programming.demo.inventory.UnitWindow;
+
+public class ReservationConflictException extends RuntimeException {
+    public ReservationConflictException(UnitWindow window) {
+        super(String.format("Unit %d of tool %s at store %s is already reserved between %s and %s.", window.getUnit(),
+                window.getToolCode().name(), window.getStoreId(), window.getFirstDate(), window.getLastDate()));
+    }
+}
@@ -0,0 +1,13 @@
+package programming.demo.exception;
+
+import programming.demo.model.enumeration.ToolCode;
+
+public class ToolNotAvailableException extends RuntimeException {
+    public ToolNotAvailableException(ToolCode toolCode) {
+        super(String.format("Tool %s is not available, please try another code.", toolCode.name()));
+    }
+
+    public ToolNotAvailableException(String storeId, ToolCode toolCode) {
+        super(String.format("Tool %s is not available at store %s, please try another code.", toolCode.name(), storeId));
+    }
+}
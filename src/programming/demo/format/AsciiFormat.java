@@ -0,0 +1,111 @@
+package programming.demo.format;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+/**
+ * Formats numbers, cent amounts and ISO dates digit by digit as ASCII, into a byte buffer or an {@link Appendable},
+ * without allocating. Shared by the receipt, CSV and JSON writers.
+ */
+public final class AsciiFormat {
+
+    private AsciiFormat() {
+    }
+
+    /**
+     * Writes the characters of {@code text}, which must be ASCII, one byte each.
+     */
+    public static void putAscii(ByteBuffer out, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            out.put((byte) text.charAt(i));
+        }
+    }
+
+    /**
+     * Writes {@code value} in decimal, left-padded with zeros to at least {@code minDigits} digits.
+     */
+    public static void putNumber(ByteBuffer out, long value, int minDigits) {
+        if (value < 0) {
+            out.put((byte) '-');
+            value = -value;
+        }
+        long divisor = highestPowerOfTen(value);
+        for (int digits = digitCount(divisor); digits < minDigits; digits++) {
+            out.put((byte) '0');
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.put((byte) ('0' + value / divisor % 10));
+        }
+    }
+
+    /**
+     * Writes {@code cents} as a decimal amount with two fraction digits, such as {@code 12.05}.
+     */
+    public static void putCents(ByteBuffer out, long cents) {
+        if (cents < 0) {
+            out.put((byte) '-');
+            cents = -cents;
+        }
+        putNumber(out, cents / 100, 1);
+        out.put((byte) '.');
+        putNumber(out, cents % 100, 2);
+    }
+
+    /**
+     * Writes {@code date} as {@code yyyy-MM-dd}.
+     */
+    public static void putIsoDate(ByteBuffer out, LocalDate date) {
+        putNumber(out, date.getYear(), 4);
+        out.put((byte) '-');
+        putNumber(out, date.getMonthValue(), 2);
+        out.put((byte) '-');
+        putNumber(out, date.getDayOfMonth(), 2);
+    }
+
+    /**
+     * Like {@link #putNumber(ByteBuffer, long, int)}, for an {@link Appendable}.
+     */
+    public static void appendNumber(Appendable out, long value, int minDigits) throws IOException {
+        if (value < 0) {
+            out.append('-');
+            value = -value;
+        }
+        long divisor = highestPowerOfTen(value);
+        for (int digits = digitCount(divisor); digits < minDigits; digits++) {
+            out.append('0');
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + value / divisor % 10));
+        }
+    }
+
+    /**
+     * Like {@link #putCents(ByteBuffer, long)}, for an {@link Appendable}.
+     */
+    public static void appendCents(Appendable out, long cents) throws IOException {
+        if (cents < 0) {
+            out.append('-');
+            cents = -cents;
+        }
+        appendNumber(out, cents / 100, 1);
+        out.append('.');
+        appendNumber(out, cents % 100, 2);
+    }
+
+    private static long highestPowerOfTen(long value) {
+        long divisor = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+        }
+        return divisor;
+    }
+
+    private static int digitCount(long powerOfTen) {
+        int digits = 1;
+        for (long divisor = powerOfTen; divisor >= 10; divisor /= 10) {
+            digits++;
+        }
+        return digits;
+    }
+}
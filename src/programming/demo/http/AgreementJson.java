@@ -0,0 +1,92 @@
+package programming.demo.http;
+
+import programming.demo.format.AsciiFormat;
+import programming.demo.model.RentalAgreement;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes agreements and errors as compact JSON straight into a byte buffer. Amounts are JSON numbers with two
+ * decimals, dates are ISO strings.
+ */
+final class AgreementJson {
+
+    static final int MAX_LENGTH = 1024;
+
+    private static final int MAX_MESSAGE_LENGTH = 256;
+
+    private static final String[] FIELDS = {
+            "{\"toolCode\":\"",
+            "\",\"toolType\":\"",
+            "\",\"toolBrand\":\"",
+            "\",\"rentalDays\":",
+            ",\"checkoutDate\":\"",
+            "\",\"dueDate\":\"",
+            "\",\"dailyRentalCharge\":",
+            ",\"chargeDays\":",
+            ",\"preDiscountCharge\":",
+            ",\"discountPercent\":",
+            ",\"discountAmount\":",
+            ",\"finalCharge\":",
+            "}"
+    };
+    private static final byte[][] FIELD_BYTES = new byte[FIELDS.length][];
+    private static final byte[] ERROR_START = "{\"error\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ERROR_END = "\"}".getBytes(StandardCharsets.US_ASCII);
+
+    static {
+        for (int i = 0; i < FIELDS.length; i++) {
+            FIELD_BYTES[i] = FIELDS[i].getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private AgreementJson() {
+    }
+
+    static ByteBuffer write(ByteBuffer out, RentalAgreement agreement) {
+        out.put(FIELD_BYTES[0]);
+        AsciiFormat.putAscii(out, agreement.getTool().getCode().name());
+        out.put(FIELD_BYTES[1]);
+        AsciiFormat.putAscii(out, agreement.getTool().getType().name());
+        out.put(FIELD_BYTES[2]);
+        AsciiFormat.putAscii(out, agreement.getTool().getBrand().name());
+        out.put(FIELD_BYTES[3]);
+        AsciiFormat.putNumber(out, agreement.getRentalDayCount(), 1);
+        out.put(FIELD_BYTES[4]);
+        AsciiFormat.putIsoDate(out, agreement.getCheckoutDate());
+        out.put(FIELD_BYTES[5]);
+        AsciiFormat.putIsoDate(out, agreement.getDueDate());
+        out.put(FIELD_BYTES[6]);
+        AsciiFormat.putCents(out, agreement.getDailyRentalCostCents());
+        out.put(FIELD_BYTES[7]);
+        AsciiFormat.putNumber(out, agreement.getChargeDays(), 1);
+        out.put(FIELD_BYTES[8]);
+        AsciiFormat.putCents(out, agreement.getPreDiscountChargeCents());
+        out.put(FIELD_BYTES[9]);
+        AsciiFormat.putNumber(out, agreement.getDiscountPercent(), 1);
+        out.put(FIELD_BYTES[10]);
+        AsciiFormat.putCents(out, agreement.getDiscountAmountCents());
+        out.put(FIELD_BYTES[11]);
+        AsciiFormat.putCents(out, agreement.getFinalChargeCents());
+        out.put(FIELD_BYTES[12]);
+        return out;
+    }
+
+    static ByteBuffer writeError(ByteBuffer out, String message) {
+        out.put(ERROR_START);
+        String text = message == null ? "" : message;
+        for (int i = 0; i < Math.min(text.length(), MAX_MESSAGE_LENGTH); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.put((byte) '\\').put((byte) c);
+            } else if (c < 0x20 || c > 0x7e) {
+                out.put((byte) '?');
+            } else {
+                out.put((byte) c);
+            }
+        }
+        out.put(ERROR_END);
+        return out;
+    }
+}
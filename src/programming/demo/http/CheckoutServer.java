@@ -0,0 +1,274 @@
+package programming.demo.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import programming.demo.exception.InvalidDateException;
+import programming.demo.exception.InvalidDiscountException;
+import programming.demo.exception.InvalidRentalDayCountException;
+import programming.demo.exception.ToolNotAvailableException;
+import programming.demo.exception.ToolNotFoundException;
+import programming.demo.inventory.Inventory;
+import programming.demo.model.CheckoutRequest;
+import programming.demo.model.CheckoutResult;
+import programming.demo.model.enumeration.ToolCode;
+import programming.demo.service.IdempotentCheckout;
+import programming.demo.service.QuoteCache;
+import programming.demo.service.RentalService;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * HTTP front end on the JDK's built-in server. {@code GET /quote} prices a rental through a {@link QuoteCache};
+ * {@code POST /checkout} prices it and, when a {@code storeId} is given, reserves a unit from the {@link Inventory}.
+ * Both take {@code toolCode}, {@code rentalDays}, {@code discountPercent} and {@code checkoutDate} as query or form
+ * parameters and answer with the agreement as JSON. A checkout may also carry a numeric {@code requestId}; a retry with
+ * the same id gets the original agreement back instead of a second one. Ids are remembered by the
+ * {@link IdempotentCheckout} the server is started with, so share it with every other path reserving from the same
+ * inventory.
+ * <p>
+ * Each exchange runs on its own virtual thread when the JDK provides them, and on a cached platform thread pool
+ * otherwise. Responses go out as a header write and a body write, so launch with
+ * {@code -Dsun.net.httpserver.nodelay=true}; without TCP_NODELAY the body waits on a delayed ACK. The property is
+ * JVM-wide and read when the first server starts, so it is left to the application.
+ */
+public class CheckoutServer implements Closeable {
+
+    private static final int MAX_BODY_LENGTH = 4096;
+    private static final int QUOTE_CACHE_SIZE = 1 << 16;
+    private static final int BACKLOG = 1024;
+    private static final ToolCode[] TOOL_CODES = ToolCode.values();
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final RentalService rentalService;
+    private final QuoteCache quoteCache;
+    private final Inventory inventory;
+    private final IdempotentCheckout idempotentCheckout;
+
+    private CheckoutServer(HttpServer server, RentalService rentalService, Inventory inventory,
+                           IdempotentCheckout idempotentCheckout) {
+        this.server = server;
+        this.executor = newPerRequestExecutor();
+        this.rentalService = rentalService;
+        this.quoteCache = new QuoteCache(rentalService, QUOTE_CACHE_SIZE);
+        this.inventory = inventory;
+        this.idempotentCheckout = idempotentCheckout;
+        server.createContext("/quote", exchange -> handle(exchange, "GET", this::quote));
+        server.createContext("/checkout", exchange -> handle(exchange, "POST", this::checkout));
+        server.setExecutor(executor);
+    }
+
+    public static CheckoutServer start(InetSocketAddress address, RentalService rentalService, Inventory inventory,
+                                       IdempotentCheckout idempotentCheckout) {
+        try {
+            CheckoutServer checkoutServer = new CheckoutServer(HttpServer.create(address, BACKLOG), rentalService, inventory,
+                    idempotentCheckout);
+            checkoutServer.server.start();
+            return checkoutServer;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    private CheckoutResult quote(Map<String, String> parameters) {
+        return quoteCache.tryQuote(parseRequest(parameters));
+    }
+
+    private CheckoutResult checkout(Map<String, String> parameters) {
+        CheckoutRequest request = parseRequest(parameters);
+        String storeId = parameters.get("storeId");
+        if (parameters.containsKey("requestId")) {
+            return idempotentCheckout.checkout(parseLong(parameters, "requestId"), () -> checkout(request, storeId));
+        }
+        return checkout(request, storeId);
+    }
+
+    private CheckoutResult checkout(CheckoutRequest request, String storeId) {
+        if (storeId == null || request.getToolCode() == null) {
+            return build(request);
+        }
+
+        if (!inventory.reserve(storeId, request.getToolCode())) {
+            return CheckoutResult.toolNotAvailable(request.getToolCode());
+        }
+        CheckoutResult result = build(request);
+        if (!result.isSuccess()) {
+            inventory.release(storeId, request.getToolCode());
+        }
+        return result;
+    }
+
+    private CheckoutResult build(CheckoutRequest request) {
+        return rentalService.tryBuildRentalAgreement(request.getToolCode(), request.getRentalDayCount(),
+                request.getDiscountPercent(), request.getCheckoutDate());
+    }
+
+    private static void handle(HttpExchange exchange, String method, Function<Map<String, String>, CheckoutResult> action) throws IOException {
+        ByteBuffer body = ByteBuffer.allocate(AgreementJson.MAX_LENGTH);
+        int status;
+        try {
+            if (!method.equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", method);
+                status = 405;
+                AgreementJson.writeError(body, String.format("Use %s.", method));
+            } else {
+                CheckoutResult result = action.apply(readParameters(exchange));
+                if (result.isSuccess()) {
+                    AgreementJson.write(body, result.getAgreement());
+                    status = 200;
+                } else {
+                    status = statusFor(result);
+                    AgreementJson.writeError(body, result.getErrorMessage());
+                }
+            }
+        } catch (RuntimeException ex) {
+            status = statusFor(ex);
+            body.clear();
+            AgreementJson.writeError(body, ex.getMessage());
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.position());
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body.array(), 0, body.position());
+        }
+    }
+
+    private static int statusFor(CheckoutResult result) {
+        switch (result.getErrorCode()) {
+            case INVALID_DISCOUNT:
+            case INVALID_RENTAL_DAY_COUNT:
+                return 400;
+            case TOOL_NOT_FOUND:
+                return 404;
+            case TOOL_NOT_AVAILABLE:
+                return 409;
+            default:
+                return statusFor(result.getError());
+        }
+    }
+
+    private static int statusFor(RuntimeException ex) {
+        if (ex instanceof ToolNotFoundException) {
+            return 404;
+        } else if (ex instanceof ToolNotAvailableException) {
+            return 409;
+        } else if (ex instanceof InvalidDiscountException || ex instanceof InvalidRentalDayCountException
+                || ex instanceof InvalidDateException || ex instanceof IllegalArgumentException) {
+            return 400;
+        }
+        return 500;
+    }
+
+    /**
+     * Leaves the discount and day count to the service's checks and maps an unknown code to a null tool code, so the
+     * common kinds of bad input are answered without an exception.
+     */
+    private static CheckoutRequest parseRequest(Map<String, String> parameters) {
+        String code = required(parameters, "toolCode");
+        ToolCode toolCode = null;
+        for (ToolCode candidate : TOOL_CODES) {
+            if (candidate.name().equals(code)) {
+                toolCode = candidate;
+                break;
+            }
+        }
+        int rentalDayCount = parseInt(parameters, "rentalDays");
+        int discountPercent = parseInt(parameters, "discountPercent");
+        LocalDate checkoutDate;
+        try {
+            checkoutDate = LocalDate.parse(required(parameters, "checkoutDate"));
+        } catch (DateTimeParseException ex) {
+            throw new InvalidDateException();
+        }
+        return new CheckoutRequest(toolCode, rentalDayCount, discountPercent, checkoutDate);
+    }
+
+    private static int parseInt(Map<String, String> parameters, String name) {
+        try {
+            return Integer.parseInt(required(parameters, name));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(String.format("%s must be a whole number.", name));
+        }
+    }
+
+    private static long parseLong(Map<String, String> parameters, String name) {
+        try {
+            return Long.parseLong(required(parameters, name));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(String.format("%s must be a whole number.", name));
+        }
+    }
+
+    private static String required(Map<String, String> parameters, String name) {
+        String value = parameters.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException(String.format("%s is required.", name));
+        }
+        return value;
+    }
+
+    private static Map<String, String> readParameters(HttpExchange exchange) throws IOException {
+        Map<String, String> parameters = new HashMap<>();
+        addParameters(parameters, exchange.getRequestURI().getRawQuery());
+
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(MAX_BODY_LENGTH + 1);
+            if (body.length > MAX_BODY_LENGTH) {
+                throw new IllegalArgumentException("Request body is too large.");
+            }
+            addParameters(parameters, new String(body, StandardCharsets.US_ASCII));
+        }
+        return parameters;
+    }
+
+    private static void addParameters(Map<String, String> parameters, String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return;
+        }
+        for (String pair : encoded.trim().split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                parameters.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static ExecutorService newPerRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "checkout-server-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package programming.demo.inventory;
+
+import programming.demo.exception.ReservationConflictException;
+import programming.demo.exception.ToolNotAvailableException;
+import programming.demo.model.enumeration.ToolCode;
+
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Bookings of individual units by date, from an origin date up to {@link #MAX_DAYS} days later. Each unit keeps a
+ * day bitmap, so conflicts are found a 64-day word at a time. For each 64-day block the index also counts how many
+ * units have a free run of each length starting there, so the earliest window of a rental's length is found by
+ * skipping blocks no unit can serve and checking only the units that can.
+ * <p>
+ * {@link Inventory} counts interchangeable units; this index is for reservations made ahead of time and questions
+ * such as "when is a unit next free for five days".
+ */
+public class AvailabilityIndex {
+
+    public static final int MAX_DAYS = 1 << 16;
+
+    private static final ToolCode[] TOOL_CODES = ToolCode.values();
+
+    private final long originEpochDay;
+    private final ConcurrentMap<String, StoreUnits> unitsByStore = new ConcurrentHashMap<>();
+
+    public AvailabilityIndex(LocalDate origin) {
+        this.originEpochDay = origin.toEpochDay();
+    }
+
+    public LocalDate getOrigin() {
+        return LocalDate.ofEpochDay(originEpochDay);
+    }
+
+    public void addUnits(String storeId, ToolCode toolCode, int units) {
+        if (units < 0) {
+            throw new IllegalArgumentException("units must be 0 or more.");
+        }
+        unitsByStore.computeIfAbsent(storeId, id -> new StoreUnits()).byCode[toolCode.ordinal()].addUnits(units);
+    }
+
+    public int getUnitCount(String storeId, ToolCode toolCode) {
+        return tools(storeId, toolCode).getUnitCount();
+    }
+
+    public boolean isFree(UnitWindow window) {
+        int from = dayOf(window.getFirstDate());
+        return tools(window).isFree(window.getUnit(), from, end(from, window.getDayCount()));
+    }
+
+    /**
+     * Books the window for its unit.
+     *
+     * @throws ReservationConflictException if any of its days is already booked
+     */
+    public void book(UnitWindow window) {
+        int from = dayOf(window.getFirstDate());
+        if (!tools(window).book(window.getUnit(), from, end(from, window.getDayCount()))) {
+            throw new ReservationConflictException(window);
+        }
+    }
+
+    public void release(UnitWindow window) {
+        int from = dayOf(window.getFirstDate());
+        tools(window).release(window.getUnit(), from, end(from, window.getDayCount()));
+    }
+
+    /**
+     * The earliest window of {@code dayCount} days starting on or after {@code notBefore} in which some unit is free,
+     * or null if the store has no such unit within the index's range. Concurrent bookings may take the window before
+     * it is used; {@link #reserveEarliest} finds and books in one step.
+     */
+    public UnitWindow findEarliestWindow(String storeId, ToolCode toolCode, LocalDate notBefore, int dayCount) {
+        int from = dayOf(notBefore);
+        end(from, dayCount);
+        long found = tools(storeId, toolCode).findEarliest(from, dayCount, MAX_DAYS - dayCount + 1);
+        return found < 0 ? null : new UnitWindow(storeId, toolCode, ToolAvailability.unitOf(found),
+                dateOf(ToolAvailability.dayOf(found)), dayCount);
+    }
+
+    /**
+     * Books the earliest window {@link #findEarliestWindow} would report, searching again if another thread books it
+     * first.
+     *
+     * @throws ToolNotAvailableException if no unit is free for that long within the index's range
+     */
+    public UnitWindow reserveEarliest(String storeId, ToolCode toolCode, LocalDate notBefore, int dayCount) {
+        while (true) {
+            UnitWindow window = findEarliestWindow(storeId, toolCode, notBefore, dayCount);
+            if (window == null) {
+                throw new ToolNotAvailableException(storeId, toolCode);
+            }
+            int from = dayOf(window.getFirstDate());
+            if (tools(storeId, toolCode).book(window.getUnit(), from, from + dayCount)) {
+                return window;
+            }
+        }
+    }
+
+    private ToolAvailability tools(String storeId, ToolCode toolCode) {
+        StoreUnits store = unitsByStore.get(storeId);
+        return store == null ? StoreUnits.NONE : store.byCode[toolCode.ordinal()];
+    }
+
+    private ToolAvailability tools(UnitWindow window) {
+        ToolAvailability tools = tools(window.getStoreId(), window.getToolCode());
+        if (window.getUnit() < 0 || window.getUnit() >= tools.getUnitCount()) {
+            throw new IllegalArgumentException(String.format("Store %s has no unit %d of tool %s.",
+                    window.getStoreId(), window.getUnit(), window.getToolCode().name()));
+        }
+        return tools;
+    }
+
+    private int dayOf(LocalDate date) {
+        long day = date.toEpochDay() - originEpochDay;
+        if (day < 0 || day >= MAX_DAYS) {
+            throw new IllegalArgumentException(String.format("%s is outside the availability index.", date));
+        }
+        return (int) day;
+    }
+
+    private LocalDate dateOf(int day) {
+        return LocalDate.ofEpochDay(originEpochDay + day);
+    }
+
+    private static int end(int from, int dayCount) {
+        if (dayCount < 1) {
+            throw new IllegalArgumentException("dayCount must be 1 or more.");
+        }
+        if (dayCount > MAX_DAYS - from) {
+            throw new IllegalArgumentException("Window ends outside the availability index.");
+        }
+        return from + dayCount;
+    }
+
+    private static class StoreUnits {
+        private static final ToolAvailability NONE = new ToolAvailability();
+
+        private final ToolAvailability[] byCode = new ToolAvailability[TOOL_CODES.length];
+
+        StoreUnits() {
+            for (int code = 0; code < TOOL_CODES.length; code++) {
+                byCode[code] = new ToolAvailability();
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package programming.demo.inventory;
+
+import programming.demo.model.enumeration.ToolCode;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Units per store and {@link ToolCode}. Available units of each code are split over several cache-line padded
+ * stripes; a reservation starts at a random stripe and moves on when one runs dry, so concurrent checkouts of a
+ * popular code mostly CAS different counters instead of queueing on one.
+ */
+public class Inventory {
+
+    private static final int PADDING = 8;
+    private static final int MAX_DEFAULT_STRIPES = 64;
+
+    private final int stripes;
+    private final ConcurrentMap<String, StoreStock> stockByStore = new ConcurrentHashMap<>();
+
+    public Inventory() {
+        this(Math.min(MAX_DEFAULT_STRIPES, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1)));
+    }
+
+    public Inventory(int stripes) {
+        if (stripes < 1 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("stripes must be a power of two.");
+        }
+        this.stripes = stripes;
+    }
+
+    public void addUnits(String storeId, ToolCode toolCode, long units) {
+        if (units < 0) {
+            throw new IllegalArgumentException("units must be 0 or more.");
+        }
+        StoreStock stock = stockByStore.computeIfAbsent(storeId, id -> new StoreStock());
+        stock.totals.addAndGet(toolCode.ordinal(), units);
+        int code = toolCode.ordinal();
+        long perStripe = units / stripes;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            stock.available.addAndGet(slot(code, stripe), perStripe + (stripe < units % stripes ? 1 : 0));
+        }
+    }
+
+    public boolean reserve(String storeId, ToolCode toolCode) {
+        return reserve(storeId, toolCode, 1);
+    }
+
+    /**
+     * Takes {@code units} atomically from the store's stock, or nothing if that many are not available. A pass that
+     * comes up short puts back what it took and starts over while the stripes together still hold enough units.
+     * Multi-unit passes are counted while they hold units, and a reservation only gives up when no such pass
+     * overlapped its sum of the stripes, so units another reservation takes and puts back never make it fail.
+     */
+    public boolean reserve(String storeId, ToolCode toolCode, long units) {
+        if (units < 1) {
+            throw new IllegalArgumentException("units must be 1 or more.");
+        }
+        StoreStock stock = stockByStore.get(storeId);
+        if (stock == null || !take(stock.available, stock.availablePasses, toolCode.ordinal(), units)) {
+            return false;
+        }
+        put(stock.reserved, toolCode.ordinal(), units);
+        return true;
+    }
+
+    public void release(String storeId, ToolCode toolCode) {
+        release(storeId, toolCode, 1);
+    }
+
+    /**
+     * Puts back {@code units} reserved earlier. Reserved units are striped like available ones, so releasing more
+     * than are reserved is rejected without a shared counter.
+     */
+    public void release(String storeId, ToolCode toolCode, long units) {
+        if (units < 1) {
+            throw new IllegalArgumentException("units must be 1 or more.");
+        }
+        StoreStock stock = stockByStore.get(storeId);
+        if (stock == null) {
+            throw new IllegalArgumentException(String.format("Store %s has no inventory.", storeId));
+        }
+        if (!take(stock.reserved, stock.reservedPasses, toolCode.ordinal(), units)) {
+            throw new IllegalArgumentException(String.format("Store %s has fewer than %d units of %s reserved.",
+                    storeId, units, toolCode));
+        }
+        put(stock.available, toolCode.ordinal(), units);
+    }
+
+    public long getAvailableUnits(String storeId, ToolCode toolCode) {
+        StoreStock stock = stockByStore.get(storeId);
+        return stock == null ? 0 : sum(stock.available, toolCode.ordinal());
+    }
+
+    public long getTotalUnits(String storeId, ToolCode toolCode) {
+        StoreStock stock = stockByStore.get(storeId);
+        return stock == null ? 0 : stock.totals.get(toolCode.ordinal());
+    }
+
+    /**
+     * Only a pass for more than one unit can hold units it later puts back, so only those passes are counted in
+     * {@code passes}, from before their first take until their units are kept or put back; single-unit
+     * reservations keep to the stripes.
+     */
+    private boolean take(AtomicLongArray counts, AtomicLongArray passes, int code, long units) {
+        int started = passesSlot(code, 0);
+        int finished = passesSlot(code, 1);
+        boolean counted = units > 1;
+        while (true) {
+            if (counted) {
+                passes.incrementAndGet(started);
+            }
+            long taken;
+            try {
+                taken = takeAllOrNothing(counts, code, units);
+            } finally {
+                if (counted) {
+                    passes.incrementAndGet(finished);
+                }
+            }
+            if (taken == units) {
+                return true;
+            }
+
+            // Give up only if no counted pass was holding units while the stripes were summed: every pass started
+            // by the end of the sum must have finished before it began.
+            long finishedBefore = passes.get(finished);
+            if (sum(counts, code) >= units) {
+                continue;
+            }
+            if (passes.get(started) == finishedBefore) {
+                return false;
+            }
+            Thread.yield();
+        }
+    }
+
+    /**
+     * One pass over the stripes from a random start; returns {@code units}, or 0 after putting back a short take.
+     */
+    private long takeAllOrNothing(AtomicLongArray counts, int code, long units) {
+        int mask = stripes - 1;
+        int start = ThreadLocalRandom.current().nextInt() & mask;
+        long taken = 0;
+        for (int i = 0; i < stripes && taken < units; i++) {
+            int slot = slot(code, (start + i) & mask);
+            long current;
+            long take;
+            do {
+                current = counts.get(slot);
+                take = Math.min(current, units - taken);
+            } while (take > 0 && !counts.compareAndSet(slot, current, current - take));
+            taken += take;
+        }
+        if (taken < units && taken > 0) {
+            counts.addAndGet(slot(code, start), taken);
+            return 0;
+        }
+        return taken;
+    }
+
+    private void put(AtomicLongArray counts, int code, long units) {
+        counts.addAndGet(slot(code, ThreadLocalRandom.current().nextInt() & (stripes - 1)), units);
+    }
+
+    private long sum(AtomicLongArray counts, int code) {
+        long sum = 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            sum += counts.get(slot(code, stripe));
+        }
+        return sum;
+    }
+
+    private int slot(int code, int stripe) {
+        return (code * stripes + stripe) * PADDING;
+    }
+
+    private static int passesSlot(int code, int counter) {
+        return (code * 2 + counter) * PADDING;
+    }
+
+    private class StoreStock {
+        private final AtomicLongArray available = new AtomicLongArray(ToolCode.values().length * stripes * PADDING);
+        private final AtomicLongArray reserved = new AtomicLongArray(ToolCode.values().length * stripes * PADDING);
+        private final AtomicLongArray availablePasses = new AtomicLongArray(ToolCode.values().length * 2 * PADDING);
+        private final AtomicLongArray reservedPasses = new AtomicLongArray(ToolCode.values().length * 2 * PADDING);
+        private final AtomicLongArray totals = new AtomicLongArray(ToolCode.values().length);
+    }
+}
@@ -0,0 +1,173 @@
+package programming.demo.inventory;
+
+import java.util.Arrays;
+
+/**
+ * Units of one tool code at one store. Besides each unit's bitmap it keeps, per 64-day block, every unit's longest
+ * free run starting in that block and how many units reach each run length, so a search for a window of up to
+ * {@link #MAX_INDEXED_WINDOW} days skips blocks where no unit could hold it and then checks only the units that can.
+ * Longer windows fall back to asking every unit.
+ * <p>
+ * Bookings and releases synchronize on this object; searches read without locking and may miss a change that is
+ * being made, so {@link #book} always checks the unit again.
+ */
+final class ToolAvailability {
+
+    static final int MAX_INDEXED_WINDOW = Long.SIZE;
+
+    private static final UnitBookings[] NO_UNITS = new UnitBookings[0];
+
+    private volatile UnitBookings[] units = NO_UNITS;
+    private volatile byte[][] longestRuns = new byte[0][];
+    private volatile int[][] unitsWithRun = new int[0][];
+
+    int getUnitCount() {
+        return units.length;
+    }
+
+    synchronized void addUnits(int added) {
+        UnitBookings[] current = units;
+        UnitBookings[] grown = Arrays.copyOf(current, current.length + added);
+        for (int unit = current.length; unit < grown.length; unit++) {
+            grown[unit] = new UnitBookings();
+        }
+        byte[][] runs = longestRuns;
+        int[][] counts = unitsWithRun;
+        for (int block = 0; block < runs.length; block++) {
+            runs[block] = Arrays.copyOf(runs[block], grown.length);
+            Arrays.fill(runs[block], current.length, grown.length, (byte) MAX_INDEXED_WINDOW);
+            for (int length = 1; length <= MAX_INDEXED_WINDOW; length++) {
+                counts[block][length] += added;
+            }
+        }
+        units = grown;
+    }
+
+    boolean isFree(int unit, int from, int to) {
+        return units[unit].isFree(from, to);
+    }
+
+    synchronized boolean book(int unit, int from, int to) {
+        UnitBookings bookings = units[unit];
+        if (!bookings.isFree(from, to)) {
+            return false;
+        }
+        ensureBlocks(((to - 1) >>> 6) + 1);
+        bookings.book(from, to);
+        refresh(unit, from, to);
+        return true;
+    }
+
+    synchronized void release(int unit, int from, int to) {
+        units[unit].release(from, to);
+        refresh(unit, from, to);
+    }
+
+    /**
+     * The earliest free window of {@code length} days starting in {@code [from, limit)}, packed as
+     * {@code unit << 32 | day}, or -1.
+     */
+    long findEarliest(int from, int length, int limit) {
+        UnitBookings[] snapshot = units;
+        if (snapshot.length == 0) {
+            return -1;
+        }
+        if (length > MAX_INDEXED_WINDOW) {
+            return scanAllUnits(snapshot, from, length, limit);
+        }
+
+        byte[][] runs = longestRuns;
+        int[][] counts = unitsWithRun;
+        int blocks = Math.min(runs.length, counts.length);
+        for (int block = from >>> 6; block < blocks; block++) {
+            int start = Math.max(from, block << 6);
+            if (start >= limit) {
+                return -1;
+            }
+            if (counts[block][length] == 0) {
+                continue;
+            }
+            byte[] blockRuns = runs[block];
+            int end = Math.min(limit, (block + 1) << 6);
+            long best = -1;
+            for (int unit = 0, unitCount = Math.min(snapshot.length, blockRuns.length); unit < unitCount && end > start; unit++) {
+                if (blockRuns[unit] >= length) {
+                    int day = snapshot[unit].findFree(start, length, end);
+                    if (day >= 0) {
+                        best = pack(unit, day);
+                        end = day;
+                    }
+                }
+            }
+            if (best >= 0) {
+                return best;
+            }
+        }
+
+        // Past the last block anything was ever booked in, every unit is free.
+        int start = Math.max(from, blocks << 6);
+        return start < limit ? pack(0, start) : -1;
+    }
+
+    static int unitOf(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    static int dayOf(long packed) {
+        return (int) packed;
+    }
+
+    private static long scanAllUnits(UnitBookings[] snapshot, int from, int length, int limit) {
+        long best = -1;
+        for (int unit = 0; unit < snapshot.length && limit > from; unit++) {
+            int day = snapshot[unit].findFree(from, length, limit);
+            if (day >= 0) {
+                best = pack(unit, day);
+                limit = day;
+            }
+        }
+        return best;
+    }
+
+    private void refresh(int unit, int from, int to) {
+        UnitBookings bookings = units[unit];
+        byte[][] runs = longestRuns;
+        int[][] counts = unitsWithRun;
+        int last = Math.min((to - 1) >>> 6, runs.length - 1);
+        // A run starting in the block before can reach up to 63 days into the first changed block.
+        for (int block = Math.max(0, (from >>> 6) - 1); block <= last; block++) {
+            int previous = runs[block][unit];
+            int current = bookings.longestFreeRunFrom(block);
+            runs[block][unit] = (byte) current;
+            for (int length = current + 1; length <= previous; length++) {
+                counts[block][length]--;
+            }
+            for (int length = previous + 1; length <= current; length++) {
+                counts[block][length]++;
+            }
+        }
+    }
+
+    private void ensureBlocks(int blocks) {
+        byte[][] runs = longestRuns;
+        if (blocks <= runs.length) {
+            return;
+        }
+        int unitCount = units.length;
+        int grownLength = Math.min(Math.max(blocks, runs.length * 2), AvailabilityIndex.MAX_DAYS >>> 6);
+        byte[][] grownRuns = Arrays.copyOf(runs, grownLength);
+        int[][] grownCounts = Arrays.copyOf(unitsWithRun, grownLength);
+        for (int block = runs.length; block < grownLength; block++) {
+            grownRuns[block] = new byte[unitCount];
+            Arrays.fill(grownRuns[block], (byte) MAX_INDEXED_WINDOW);
+            grownCounts[block] = new int[MAX_INDEXED_WINDOW + 1];
+            Arrays.fill(grownCounts[block], unitCount);
+        }
+        unitsWithRun = grownCounts;
+        longestRuns = grownRuns;
+    }
+
+    private static long pack(int unit, int day) {
+        return (long) unit << 32 | day;
+    }
+}
@@ -0,0 +1,127 @@
+package programming.demo.inventory;
+
+import java.util.Arrays;
+
+/**
+ * Booked days of one unit as a bitmap indexed by days since the index origin. Searches read whole 64-day words and
+ * jump between runs with {@link Long#numberOfTrailingZeros(long)}. Writers hold the {@link ToolAvailability} lock;
+ * readers may see a stale bitmap, so a window they find is checked again before it is booked.
+ */
+final class UnitBookings {
+
+    private static final int INITIAL_WORDS = 8;
+
+    private volatile long[] words = new long[INITIAL_WORDS];
+
+    void book(int from, int to) {
+        ensureCapacity(to);
+        long[] bits = words;
+        for (int i = from >>> 6, last = (to - 1) >>> 6; i <= last; i++) {
+            bits[i] |= mask(i, from, to);
+        }
+    }
+
+    void release(int from, int to) {
+        long[] bits = words;
+        for (int i = from >>> 6, last = Math.min((to - 1) >>> 6, bits.length - 1); i <= last; i++) {
+            bits[i] &= ~mask(i, from, to);
+        }
+    }
+
+    boolean isFree(int from, int to) {
+        return nextBooked(words, from, to) == to;
+    }
+
+    /**
+     * Length of the longest run of free days starting in the given 64-day block, capped at 64.
+     */
+    int longestFreeRunFrom(int block) {
+        long[] bits = words;
+        long first = block < bits.length ? bits[block] : 0;
+        long second = block + 1 < bits.length ? bits[block + 1] : 0;
+        if (first == 0) {
+            return Long.SIZE;
+        }
+        int longest = 0;
+        long free = ~first;
+        while (free != 0) {
+            int start = Long.numberOfTrailingZeros(free);
+            long booked = first & (-1L << start);
+            int end = booked != 0 ? Long.numberOfTrailingZeros(booked) : Long.SIZE + Long.numberOfTrailingZeros(second);
+            longest = Math.max(longest, end - start);
+            if (longest >= Long.SIZE || end >= Long.SIZE) {
+                break;
+            }
+            free = ~first & (-1L << end);
+        }
+        return Math.min(longest, Long.SIZE);
+    }
+
+    /**
+     * Earliest day {@code d >= from} and {@code d < limit} with days {@code [d, d + length)} all free, or -1.
+     */
+    int findFree(int from, int length, int limit) {
+        long[] bits = words;
+        int day = from;
+        while (day < limit) {
+            day = nextFree(bits, day);
+            if (day >= limit) {
+                return -1;
+            }
+            int booked = nextBooked(bits, day, day + length);
+            if (booked == day + length) {
+                return day;
+            }
+            day = booked + 1;
+        }
+        return -1;
+    }
+
+    private static int nextFree(long[] bits, int from) {
+        int i = from >>> 6;
+        if (i >= bits.length) {
+            return from;
+        }
+        long word = ~bits[i] & (-1L << from);
+        while (word == 0) {
+            if (++i == bits.length) {
+                return i << 6;
+            }
+            word = ~bits[i];
+        }
+        return (i << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    private static int nextBooked(long[] bits, int from, int to) {
+        int i = from >>> 6;
+        if (i >= bits.length) {
+            return to;
+        }
+        long word = bits[i] & (-1L << from);
+        while (word == 0) {
+            if (++i == bits.length || i << 6 >= to) {
+                return to;
+            }
+            word = bits[i];
+        }
+        return Math.min(to, (i << 6) + Long.numberOfTrailingZeros(word));
+    }
+
+    private static long mask(int word, int from, int to) {
+        long mask = -1L;
+        if (word == from >>> 6) {
+            mask &= -1L << from;
+        }
+        if (word == (to - 1) >>> 6) {
+            mask &= -1L >>> -to;
+        }
+        return mask;
+    }
+
+    private void ensureCapacity(int to) {
+        int needed = ((to - 1) >>> 6) + 1;
+        if (needed > words.length) {
+            words = Arrays.copyOf(words, Math.max(needed, words.length * 2));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package programming.demo.inventory;
+
+import programming.demo.model.enumeration.ToolCode;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * {@code dayCount} consecutive days starting on {@code firstDate} for one unit of a tool code at a store.
+ */
+public class UnitWindow {
+    private final String storeId;
+    private final ToolCode toolCode;
+    private final int unit;
+    private final LocalDate firstDate;
+    private final int dayCount;
+
+    public UnitWindow(String storeId, ToolCode toolCode, int unit, LocalDate firstDate, int dayCount) {
+        this.storeId = storeId;
+        this.toolCode = toolCode;
+        this.unit = unit;
+        this.firstDate = firstDate;
+        this.dayCount = dayCount;
+    }
+
+    public String getStoreId() {
+        return storeId;
+    }
+
+    public ToolCode getToolCode() {
+        return toolCode;
+    }
+
+    public int getUnit() {
+        return unit;
+    }
+
+    public LocalDate getFirstDate() {
+        return firstDate;
+    }
+
+    public LocalDate getLastDate() {
+        return firstDate.plusDays(dayCount - 1);
+    }
+
+    public int getDayCount() {
+        return dayCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof UnitWindow)) return false;
+        UnitWindow that = (UnitWindow) o;
+        return unit == that.unit && dayCount == that.dayCount && Objects.equals(storeId, that.storeId) && toolCode == that.toolCode && Objects.equals(firstDate, that.firstDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(storeId, toolCode, unit, firstDate, dayCount);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s unit %d at %s from %s to %s", toolCode.name(), unit, storeId, firstDate, getLastDate());
+    }
+}
@@ -0,0 +1,278 @@
+package programming.demo.journal;
+
+import programming.demo.catalog.ToolCatalog;
+import programming.demo.codec.RentalAgreementCodec;
+import programming.demo.codec.RentalAgreementFlyweight;
+import programming.demo.model.RentalAgreement;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Append-only file of issued agreements, one fixed 64-byte record each, written through memory-mapped segments.
+ * Appends only copy bytes into the mapping; a background thread forces dirty segments to disk once
+ * {@code groupCommitSize} records are pending or the flush interval passes, so durability costs one sync per group.
+ * The record marker is written last, and appenders then publish their records in sequence order, so commits only
+ * force the contiguous prefix of fully written records. Opening the journal stops at the first record without a
+ * marker and clears any marked records after it, which were written but never committed behind the gap.
+ */
+public class AgreementJournal implements Closeable {
+
+    public static final int RECORD_SIZE = 64;
+
+    private static final int RECORD_MARKER = 0x52414731;
+    private static final int SKIPPED_MARKER = 0x52414730;
+    private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final int RECORDS_PER_SEGMENT = SEGMENT_SIZE / RECORD_SIZE;
+    private static final int MAX_SEGMENTS = 1 << 14;
+    private static final int DEFAULT_GROUP_COMMIT_SIZE = 256;
+    private static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 10;
+
+    private static final int MARKER_OFFSET = 0;
+    private static final int AGREEMENT_OFFSET = 4;
+
+    private final FileChannel channel;
+    private final int groupCommitSize;
+    private final long flushIntervalNanos;
+    private final AtomicReferenceArray<MappedByteBuffer> segments = new AtomicReferenceArray<>(MAX_SEGMENTS);
+    private final AtomicLong nextSequence;
+    private final AtomicLong writtenSequence;
+    private final AtomicLong pendingRecords = new AtomicLong();
+    private final AtomicInteger activeAppends = new AtomicInteger();
+    private final Object mappingLock = new Object();
+    private final Thread flusher;
+    private long forcedSequence;
+    private volatile boolean closed;
+
+    private AgreementJournal(FileChannel channel, int groupCommitSize, long flushIntervalMillis) throws IOException {
+        this.channel = channel;
+        this.groupCommitSize = groupCommitSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.nextSequence = new AtomicLong(recover());
+        this.writtenSequence = new AtomicLong(nextSequence.get());
+        this.forcedSequence = nextSequence.get();
+        this.flusher = new Thread(this::flushLoop, "agreement-journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    public static AgreementJournal open(Path file) {
+        return open(file, DEFAULT_GROUP_COMMIT_SIZE, DEFAULT_FLUSH_INTERVAL_MILLIS);
+    }
+
+    public static AgreementJournal open(Path file, int groupCommitSize, long flushIntervalMillis) {
+        if (groupCommitSize < 1 || flushIntervalMillis < 1) {
+            throw new IllegalArgumentException("groupCommitSize and flushIntervalMillis must be 1 or more.");
+        }
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new AgreementJournal(channel, groupCommitSize, flushIntervalMillis);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Copies the agreement into the journal and returns its sequence number. The record becomes durable with the
+     * next group commit, or when {@link #commit()} returns.
+     */
+    public long append(RentalAgreement agreement) {
+        // Announce the append before checking closed, so close either sees it in flight or this sees closed.
+        activeAppends.incrementAndGet();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Journal is closed.");
+            }
+            return write(agreement);
+        } finally {
+            activeAppends.decrementAndGet();
+        }
+    }
+
+    /**
+     * Forces every record whose append has returned to disk.
+     */
+    public synchronized void commit() {
+        long end = writtenSequence.get();
+        if (end == forcedSequence) {
+            return;
+        }
+        pendingRecords.set(0);
+        long lastSegment = (end - 1) / RECORDS_PER_SEGMENT;
+        for (long index = forcedSequence / RECORDS_PER_SEGMENT; index <= lastSegment; index++) {
+            segment(index).force();
+        }
+        forcedSequence = end;
+    }
+
+    public long size() {
+        return nextSequence.get();
+    }
+
+    /**
+     * Reads every committed record in append order, resolving tools against the default catalog.
+     */
+    public void replay(Consumer<RentalAgreement> consumer) {
+        replay(ToolCatalog.defaultCatalog(), consumer);
+    }
+
+    /**
+     * Reads every committed record in append order, resolving tools against {@code catalog}.
+     */
+    public void replay(ToolCatalog catalog, Consumer<RentalAgreement> consumer) {
+        scan(record -> consumer.accept(record.toRentalAgreement(catalog)));
+    }
+
+    /**
+     * Like {@link #replay(Consumer)}, but hands every record to the consumer through the same flyweight, which is
+     * only valid during the call.
+     */
+    public void scan(Consumer<RentalAgreementFlyweight> consumer) {
+        RentalAgreementFlyweight record = new RentalAgreementFlyweight();
+        long end = writtenSequence.get();
+        for (long sequence = 0; sequence < end; sequence++) {
+            MappedByteBuffer segment = segment(sequence / RECORDS_PER_SEGMENT);
+            int offset = (int) (sequence % RECORDS_PER_SEGMENT) * RECORD_SIZE;
+            int marker = segment.getInt(offset + MARKER_OFFSET);
+            if (marker == SKIPPED_MARKER) {
+                continue;
+            }
+            if (marker != RECORD_MARKER) {
+                return;
+            }
+            consumer.accept(record.wrap(segment, offset + AGREEMENT_OFFSET));
+        }
+    }
+
+    /**
+     * Refuses further appends, waits for the appends in flight to return, commits every record and closes the file.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join();
+            while (activeAppends.get() != 0) {
+                Thread.yield();
+            }
+            commit();
+            channel.close();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private long write(RentalAgreement agreement) {
+        long sequence = nextSequence.getAndIncrement();
+        try {
+            MappedByteBuffer segment = segment(sequence / RECORDS_PER_SEGMENT);
+            int offset = (int) (sequence % RECORDS_PER_SEGMENT) * RECORD_SIZE;
+            try {
+                RentalAgreementCodec.encode(agreement, segment, offset + AGREEMENT_OFFSET);
+                segment.putInt(offset + MARKER_OFFSET, RECORD_MARKER);
+            } catch (RuntimeException ex) {
+                // Keep the record so the records after it still count as contiguous; replay skips it.
+                segment.putInt(offset + MARKER_OFFSET, SKIPPED_MARKER);
+                throw ex;
+            }
+        } finally {
+            publish(sequence);
+        }
+
+        if (pendingRecords.incrementAndGet() >= groupCommitSize) {
+            LockSupport.unpark(flusher);
+        }
+        return sequence;
+    }
+
+    /**
+     * Waits until every earlier record is published, then publishes this one, so {@code writtenSequence} only ever
+     * covers fully written records.
+     */
+    private void publish(long sequence) {
+        for (int spins = 0; writtenSequence.get() != sequence; spins++) {
+            if (spins < 100) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+        writtenSequence.set(sequence + 1);
+    }
+
+    private long recover() throws IOException {
+        long records = channel.size() / RECORD_SIZE;
+        long end = 0;
+        while (end < records && hasMarker(end)) {
+            end++;
+        }
+        long lastCleared = -1;
+        for (long sequence = end + 1; sequence < records; sequence++) {
+            if (hasMarker(sequence)) {
+                segment(sequence / RECORDS_PER_SEGMENT).putInt((int) (sequence % RECORDS_PER_SEGMENT) * RECORD_SIZE + MARKER_OFFSET, 0);
+                lastCleared = sequence;
+            }
+        }
+        if (lastCleared >= 0) {
+            for (long index = end / RECORDS_PER_SEGMENT; index <= lastCleared / RECORDS_PER_SEGMENT; index++) {
+                segment(index).force();
+            }
+        }
+        return end;
+    }
+
+    private boolean hasMarker(long sequence) {
+        MappedByteBuffer segment = segment(sequence / RECORDS_PER_SEGMENT);
+        int marker = segment.getInt((int) (sequence % RECORDS_PER_SEGMENT) * RECORD_SIZE + MARKER_OFFSET);
+        return marker == RECORD_MARKER || marker == SKIPPED_MARKER;
+    }
+
+    private MappedByteBuffer segment(long index) {
+        if (index >= MAX_SEGMENTS) {
+            throw new IllegalStateException("Journal is full.");
+        }
+        MappedByteBuffer segment = segments.get((int) index);
+        return segment != null ? segment : mapSegment((int) index);
+    }
+
+    private MappedByteBuffer mapSegment(int index) {
+        synchronized (mappingLock) {
+            MappedByteBuffer segment = segments.get(index);
+            if (segment == null) {
+                try {
+                    segment = channel.map(FileChannel.MapMode.READ_WRITE, (long) index * SEGMENT_SIZE, SEGMENT_SIZE);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                segments.set(index, segment);
+            }
+            return segment;
+        }
+    }
+
+    private void flushLoop() {
+        while (!closed) {
+            LockSupport.parkNanos(this, flushIntervalNanos);
+            if (pendingRecords.get() > 0) {
+                commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package programming.demo.metrics;
+
+import programming.demo.model.enumeration.ToolCode;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Per-stage checkout latencies and per-{@link ToolCode} checkout counts, published as the
+ * {@value #OBJECT_NAME} MXBean. Recording is compiled out unless the JVM starts with
+ * {@code -Dprogramming.demo.metrics=true}: callers branch on the constant {@link #ENABLED}, and the instance and its
+ * MXBean are only created on first use.
+ */
+public final class CheckoutMetrics implements CheckoutMetricsMXBean {
+
+    public static final boolean ENABLED = Boolean.getBoolean("programming.demo.metrics");
+    public static final String OBJECT_NAME = "programming.demo:type=CheckoutMetrics";
+
+    private static final CheckoutStage[] STAGES = CheckoutStage.values();
+    private static final ToolCode[] TOOL_CODES = ToolCode.values();
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[STAGES.length];
+    private final LongAdder[] checkoutCounts = new LongAdder[TOOL_CODES.length];
+
+    CheckoutMetrics() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < checkoutCounts.length; i++) {
+            checkoutCounts[i] = new LongAdder();
+        }
+    }
+
+    public static CheckoutMetrics get() {
+        return Holder.INSTANCE;
+    }
+
+    public void recordStage(CheckoutStage stage, long nanos) {
+        histograms[stage.ordinal()].record(nanos);
+    }
+
+    public void recordCheckout(ToolCode toolCode) {
+        checkoutCounts[toolCode.ordinal()].increment();
+    }
+
+    public LatencyHistogram getHistogram(CheckoutStage stage) {
+        return histograms[stage.ordinal()];
+    }
+
+    public long getCheckoutCount(ToolCode toolCode) {
+        return checkoutCounts[toolCode.ordinal()].sum();
+    }
+
+    @Override
+    public Map<String, Long> getCheckoutCountByToolCode() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (ToolCode toolCode : TOOL_CODES) {
+            counts.put(toolCode.name(), getCheckoutCount(toolCode));
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getStageCount() {
+        return byStage(LatencyHistogram::getCount);
+    }
+
+    @Override
+    public Map<String, Long> getStageP50Nanos() {
+        return byStage(histogram -> histogram.getPercentile(0.5));
+    }
+
+    @Override
+    public Map<String, Long> getStageP99Nanos() {
+        return byStage(histogram -> histogram.getPercentile(0.99));
+    }
+
+    @Override
+    public Map<String, Long> getStageP999Nanos() {
+        return byStage(histogram -> histogram.getPercentile(0.999));
+    }
+
+    @Override
+    public Map<String, Long> getStageMaxNanos() {
+        return byStage(LatencyHistogram::getMax);
+    }
+
+    @Override
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+        for (LongAdder count : checkoutCounts) {
+            count.reset();
+        }
+    }
+
+    private Map<String, Long> byStage(ToLongFunction<LatencyHistogram> value) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (CheckoutStage stage : STAGES) {
+            values.put(stage.name(), value.applyAsLong(histograms[stage.ordinal()]));
+        }
+        return values;
+    }
+
+    private static class Holder {
+        private static final CheckoutMetrics INSTANCE = register(new CheckoutMetrics());
+
+        private static CheckoutMetrics register(CheckoutMetrics metrics) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+            } catch (JMException ex) {
+                throw new IllegalStateException(String.format("Could not register %s.", OBJECT_NAME), ex);
+            }
+            return metrics;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package programming.demo.metrics;
+
+import java.util.Map;
+
+public interface CheckoutMetricsMXBean {
+
+    Map<String, Long> getCheckoutCountByToolCode();
+
+    Map<String, Long> getStageCount();
+
+    Map<String, Long> getStageP50Nanos();
+
+    Map<String, Long> getStageP99Nanos();
+
+    Map<String, Long> getStageP999Nanos();
+
+    Map<String, Long> getStageMaxNanos();
+
+    void reset();
+}
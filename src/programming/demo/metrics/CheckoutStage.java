@@ -0,0 +1,9 @@
+package programming.demo.metrics;
+
+public enum CheckoutStage {
+    TOOL_LOOKUP,
+    CHARGE_DAYS,
+    PRICING,
+    AGREEMENT,
+    TOTAL
+}
@@ -0,0 +1,49 @@
+package programming.demo.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import programming.demo.model.enumeration.ToolCode;
+
+@Name("programming.demo.SlowCheckout")
+@Label("Slow Checkout")
+@Description("A rental agreement that took longer than the threshold to build")
+@Category("Tool Rental")
+@Threshold("1 ms")
+@StackTrace(false)
+public class SlowCheckoutEvent extends Event {
+
+    @Label("Tool Code")
+    String toolCode;
+
+    @Label("Rental Days")
+    int rentalDayCount;
+
+    @Label("Charge Days")
+    int chargeDays;
+
+    @Label("Charge Days Nanos")
+    long chargeDaysNanos;
+
+    @Label("Pricing Nanos")
+    long pricingNanos;
+
+    /**
+     * Ends the event and commits it if JFR is recording it and it ran past the threshold.
+     */
+    public void finish(ToolCode toolCode, int rentalDayCount, int chargeDays, long chargeDaysNanos, long pricingNanos) {
+        end();
+        if (shouldCommit()) {
+            this.toolCode = toolCode.name();
+            this.rentalDayCount = rentalDayCount;
+            this.chargeDays = chargeDays;
+            this.chargeDaysNanos = chargeDaysNanos;
+            this.pricingNanos = pricingNanos;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package programming.demo.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Several tools rented over the same window, one line per unit in the order they were asked for, with totals over
+ * every line. Lines for the same tool code are the same agreement.
+ */
+public class CartAgreement {
+    private final LocalDate checkoutDate;
+    private final LocalDate dueDate;
+    private final int rentalDayCount;
+    private final List<RentalAgreement> lines;
+    private final long preDiscountChargeCents;
+    private final long discountAmountCents;
+    private final long finalChargeCents;
+
+    public CartAgreement(LocalDate checkoutDate, LocalDate dueDate, int rentalDayCount, List<RentalAgreement> lines) {
+        this.checkoutDate = checkoutDate;
+        this.dueDate = dueDate;
+        this.rentalDayCount = rentalDayCount;
+        this.lines = List.copyOf(lines);
+        long preDiscount = 0;
+        long discount = 0;
+        long total = 0;
+        for (RentalAgreement line : this.lines) {
+            preDiscount += line.getPreDiscountChargeCents();
+            discount += line.getDiscountAmountCents();
+            total += line.getFinalChargeCents();
+        }
+        this.preDiscountChargeCents = preDiscount;
+        this.discountAmountCents = discount;
+        this.finalChargeCents = total;
+    }
+
+    public LocalDate getCheckoutDate() {
+        return checkoutDate;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public int getRentalDayCount() {
+        return rentalDayCount;
+    }
+
+    public List<RentalAgreement> getLines() {
+        return lines;
+    }
+
+    public BigDecimal getPreDiscountCharge() {
+        return Money.toBigDecimal(preDiscountChargeCents);
+    }
+
+    public long getPreDiscountChargeCents() {
+        return preDiscountChargeCents;
+    }
+
+    public BigDecimal getDiscountAmount() {
+        return Money.toBigDecimal(discountAmountCents);
+    }
+
+    public long getDiscountAmountCents() {
+        return discountAmountCents;
+    }
+
+    public BigDecimal getFinalCharge() {
+        return Money.toBigDecimal(finalChargeCents);
+    }
+
+    public long getFinalChargeCents() {
+        return finalChargeCents;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CartAgreement)) return false;
+        CartAgreement that = (CartAgreement) o;
+        return rentalDayCount == that.rentalDayCount && checkoutDate.equals(that.checkoutDate)
+                && dueDate.equals(that.dueDate) && lines.equals(that.lines);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(checkoutDate, dueDate, rentalDayCount, lines);
+    }
+}
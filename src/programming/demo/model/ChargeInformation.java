@@ -1,60 +1,60 @@
 package programming.demo.model;
 
 import programming.demo.model.enumeration.ToolType;
+import programming.demo.pricing.RateTable;
 
 import java.util.Objects;
 
 public class ChargeInformation {
 
-    private final double LADDER_CHARGE = 1.99;
-    private final double CHAINSAW_CHARGE = 1.49;
-    private final double JACKHAMMER_CHARGE = 2.99;
-
     private final ToolType toolType;
+    private final long dailyChargeCents;
+    private final boolean weekdayCharge;
+    private final boolean weekendCharge;
+    private final boolean holidayCharge;
 
-    public ChargeInformation(ToolType toolType) {
+    public ChargeInformation(ToolType toolType, long dailyChargeCents, boolean weekdayCharge, boolean weekendCharge,
+                             boolean holidayCharge) {
         this.toolType = toolType;
+        this.dailyChargeCents = dailyChargeCents;
+        this.weekdayCharge = weekdayCharge;
+        this.weekendCharge = weekendCharge;
+        this.holidayCharge = holidayCharge;
+    }
+
+    /**
+     * Returns the charge information of the default rate table.
+     */
+    public static ChargeInformation of(ToolType toolType) {
+        return RateTable.defaultTable().getChargeInformation(toolType);
     }
 
+    public ToolType getToolType() {
+        return toolType;
+    }
+
+    /**
+     * @deprecated Rates are held as cents; use {@link #getDailyChargeCents()}.
+     */
+    @Deprecated
     public double getDailyCharge() {
-        switch (this.toolType) {
-            case Ladder:
-                return LADDER_CHARGE;
-            case Chainsaw:
-                return CHAINSAW_CHARGE;
-            case Jackhammer:
-                return JACKHAMMER_CHARGE;
-            default:
-                throw new RuntimeException();
-        }
+        return dailyChargeCents / 100.0;
+    }
+
+    public long getDailyChargeCents() {
+        return dailyChargeCents;
     }
 
     public boolean hasWeekdayCharge() {
-        return true;
+        return weekdayCharge;
     }
 
     public boolean hasWeekendCharge() {
-        switch (this.toolType) {
-            case Ladder:
-                return true;
-            case Chainsaw:
-            case Jackhammer:
-                return false;
-            default:
-                throw new RuntimeException();
-        }
+        return weekendCharge;
     }
 
     public boolean hasHolidayCharge() {
-        switch (this.toolType) {
-            case Ladder:
-            case Jackhammer:
-                return false;
-            case Chainsaw:
-                return true;
-            default:
-                throw new RuntimeException();
-        }
+        return holidayCharge;
     }
 
     @Override
@@ -62,11 +62,12 @@ public class ChargeInformation {
         if (this == o) return true;
         if (!(o instanceof ChargeInformation)) return false;
         ChargeInformation that = (ChargeInformation) o;
-        return toolType == that.toolType;
+        return dailyChargeCents == that.dailyChargeCents && weekdayCharge == that.weekdayCharge
+                && weekendCharge == that.weekendCharge && holidayCharge == that.holidayCharge && toolType == that.toolType;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(toolType);
+        return Objects.hash(toolType, dailyChargeCents, weekdayCharge, weekendCharge, holidayCharge);
     }
 }
@@ -0,0 +1,49 @@
+package programming.demo.model;
+
+import programming.demo.model.enumeration.ToolCode;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+public class CheckoutRequest {
+    private final ToolCode toolCode;
+    private final int rentalDayCount;
+    private final int discountPercent;
+    private final LocalDate checkoutDate;
+
+    public CheckoutRequest(ToolCode toolCode, int rentalDayCount, int discountPercent, LocalDate checkoutDate) {
+        this.toolCode = toolCode;
+        this.rentalDayCount = rentalDayCount;
+        this.discountPercent = discountPercent;
+        this.checkoutDate = checkoutDate;
+    }
+
+    public ToolCode getToolCode() {
+        return toolCode;
+    }
+
+    public int getRentalDayCount() {
+        return rentalDayCount;
+    }
+
+    public int getDiscountPercent() {
+        return discountPercent;
+    }
+
+    public LocalDate getCheckoutDate() {
+        return checkoutDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CheckoutRequest)) return false;
+        CheckoutRequest that = (CheckoutRequest) o;
+        return rentalDayCount == that.rentalDayCount && discountPercent == that.discountPercent && toolCode == that.toolCode && Objects.equals(checkoutDate, that.checkoutDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(toolCode, rentalDayCount, discountPercent, checkoutDate);
+    }
+}
@@ -0,0 +1,117 @@
+package programming.demo.model;
+
+import programming.demo.exception.InvalidDiscountException;
+import programming.demo.exception.InvalidRentalDayCountException;
+import programming.demo.exception.ToolNotAvailableException;
+import programming.demo.exception.ToolNotFoundException;
+import programming.demo.model.enumeration.CheckoutError;
+import programming.demo.model.enumeration.ToolCode;
+
+/**
+ * A rental agreement or the reason there is none. Failures for a {@link CheckoutError} are shared, preallocated
+ * instances carrying a fixed message, so refusing a request allocates nothing and captures no stack trace;
+ * {@link #getError()} builds the matching exception only for callers that ask for one.
+ */
+public class CheckoutResult {
+    private static final ToolCode[] TOOL_CODES = ToolCode.values();
+    private static final CheckoutResult[] FAILURES = new CheckoutResult[CheckoutError.values().length];
+    private static final CheckoutResult[] TOOL_NOT_FOUND = new CheckoutResult[TOOL_CODES.length];
+    private static final CheckoutResult[] TOOL_NOT_AVAILABLE = new CheckoutResult[TOOL_CODES.length];
+
+    static {
+        for (CheckoutError errorCode : CheckoutError.values()) {
+            FAILURES[errorCode.ordinal()] = new CheckoutResult(null, errorCode, null, errorCode.getMessage(), null);
+        }
+        for (ToolCode toolCode : TOOL_CODES) {
+            TOOL_NOT_FOUND[toolCode.ordinal()] = new CheckoutResult(null, CheckoutError.TOOL_NOT_FOUND, toolCode,
+                    String.format("Tool %s not found, please try another code.", toolCode.name()), null);
+            TOOL_NOT_AVAILABLE[toolCode.ordinal()] = new CheckoutResult(null, CheckoutError.TOOL_NOT_AVAILABLE, toolCode,
+                    String.format("Tool %s is not available, please try another code.", toolCode.name()), null);
+        }
+    }
+
+    private final RentalAgreement agreement;
+    private final CheckoutError errorCode;
+    private final ToolCode toolCode;
+    private final String errorMessage;
+    private final RuntimeException error;
+
+    private CheckoutResult(RentalAgreement agreement, CheckoutError errorCode, ToolCode toolCode, String errorMessage,
+                           RuntimeException error) {
+        this.agreement = agreement;
+        this.errorCode = errorCode;
+        this.toolCode = toolCode;
+        this.errorMessage = errorMessage;
+        this.error = error;
+    }
+
+    public static CheckoutResult success(RentalAgreement agreement) {
+        return new CheckoutResult(agreement, null, null, null, null);
+    }
+
+    public static CheckoutResult failure(CheckoutError errorCode) {
+        return FAILURES[errorCode.ordinal()];
+    }
+
+    public static CheckoutResult toolNotFound(ToolCode toolCode) {
+        return toolCode == null ? failure(CheckoutError.TOOL_NOT_FOUND) : TOOL_NOT_FOUND[toolCode.ordinal()];
+    }
+
+    public static CheckoutResult toolNotAvailable(ToolCode toolCode) {
+        return TOOL_NOT_AVAILABLE[toolCode.ordinal()];
+    }
+
+    public static CheckoutResult failure(RuntimeException error) {
+        return new CheckoutResult(null, errorCodeOf(error), null, error.getMessage(), error);
+    }
+
+    public boolean isSuccess() {
+        return errorCode == null;
+    }
+
+    public RentalAgreement getAgreement() {
+        return agreement;
+    }
+
+    public CheckoutError getErrorCode() {
+        return errorCode;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * The exception the throwing API reports for this failure, created on each call for preallocated failures.
+     */
+    public RuntimeException getError() {
+        if (error != null || errorCode == null) {
+            return error;
+        }
+        switch (errorCode) {
+            case INVALID_DISCOUNT:
+                return new InvalidDiscountException();
+            case INVALID_RENTAL_DAY_COUNT:
+                return new InvalidRentalDayCountException();
+            case TOOL_NOT_FOUND:
+                return toolCode == null ? new ToolNotFoundException() : new ToolNotFoundException(toolCode);
+            case TOOL_NOT_AVAILABLE:
+                return toolCode == null ? new IllegalStateException(errorMessage) : new ToolNotAvailableException(toolCode);
+            default:
+                return new IllegalStateException(errorMessage);
+        }
+    }
+
+    private static CheckoutError errorCodeOf(RuntimeException error) {
+        if (error instanceof InvalidDiscountException) {
+            return CheckoutError.INVALID_DISCOUNT;
+        } else if (error instanceof InvalidRentalDayCountException) {
+            return CheckoutError.INVALID_RENTAL_DAY_COUNT;
+        } else if (error instanceof ToolNotFoundException) {
+            return CheckoutError.TOOL_NOT_FOUND;
+        } else if (error instanceof ToolNotAvailableException) {
+            return CheckoutError.TOOL_NOT_AVAILABLE;
+        }
+        return CheckoutError.UNEXPECTED;
+    }
+}
@@ -0,0 +1,36 @@
+package programming.demo.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point helpers for amounts held as a {@code long} count of cents. BigDecimal only appears when converting at
+ * the API boundary.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private static final long CENTS_PER_UNIT = 100;
+
+    private Money() {
+    }
+
+    public static long percentOf(long cents, int percent) {
+        long scaled = cents * percent;
+        long half = CENTS_PER_UNIT / 2;
+        return scaled >= 0 ? (scaled + half) / CENTS_PER_UNIT : -((-scaled + half) / CENTS_PER_UNIT);
+    }
+
+    public static long toCents(double amount) {
+        return Math.round(amount * CENTS_PER_UNIT);
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+}
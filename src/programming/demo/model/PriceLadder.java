@@ -0,0 +1,87 @@
+package programming.demo.model;
+
+import programming.demo.model.enumeration.ToolCode;
+
+import java.time.LocalDate;
+
+/**
+ * Prices of one tool, checkout date and discount for every rental length from 1 to {@link #getMaxRentalDayCount()},
+ * held in primitive arrays indexed by length minus one.
+ */
+public class PriceLadder {
+    private final ToolCode toolCode;
+    private final LocalDate checkoutDate;
+    private final int requestedDiscountPercent;
+    private final long dailyRentalCostCents;
+    private final int[] discountPercents;
+    private final int[] chargeDays;
+    private final long[] preDiscountChargeCents;
+    private final long[] finalChargeCents;
+
+    public PriceLadder(ToolCode toolCode, LocalDate checkoutDate, int requestedDiscountPercent, long dailyRentalCostCents,
+                       int[] discountPercents, int[] chargeDays, long[] preDiscountChargeCents, long[] finalChargeCents) {
+        this.toolCode = toolCode;
+        this.checkoutDate = checkoutDate;
+        this.requestedDiscountPercent = requestedDiscountPercent;
+        this.dailyRentalCostCents = dailyRentalCostCents;
+        this.discountPercents = discountPercents;
+        this.chargeDays = chargeDays;
+        this.preDiscountChargeCents = preDiscountChargeCents;
+        this.finalChargeCents = finalChargeCents;
+    }
+
+    public ToolCode getToolCode() {
+        return toolCode;
+    }
+
+    public LocalDate getCheckoutDate() {
+        return checkoutDate;
+    }
+
+    /**
+     * The discount percent the ladder was asked for, before promotions.
+     */
+    public int getRequestedDiscountPercent() {
+        return requestedDiscountPercent;
+    }
+
+    public long getDailyRentalCostCents() {
+        return dailyRentalCostCents;
+    }
+
+    public int getMaxRentalDayCount() {
+        return chargeDays.length;
+    }
+
+    /**
+     * The discount percent applied to {@code rentalDayCount} days: the one asked for or the best promotion's,
+     * whichever is larger, as {@link RentalAgreement#getDiscountPercent()} reports it.
+     */
+    public int getDiscountPercent(int rentalDayCount) {
+        return discountPercents[rentalDayCount - 1];
+    }
+
+    public int getChargeDays(int rentalDayCount) {
+        return chargeDays[rentalDayCount - 1];
+    }
+
+    public long getPreDiscountChargeCents(int rentalDayCount) {
+        return preDiscountChargeCents[rentalDayCount - 1];
+    }
+
+    public long getDiscountAmountCents(int rentalDayCount) {
+        return preDiscountChargeCents[rentalDayCount - 1] - finalChargeCents[rentalDayCount - 1];
+    }
+
+    public long getFinalChargeCents(int rentalDayCount) {
+        return finalChargeCents[rentalDayCount - 1];
+    }
+
+    /**
+     * Final charges of every length; entry {@code i} is the price of {@code i + 1} days. The array is shared, not
+     * copied.
+     */
+    public long[] getFinalChargeCents() {
+        return finalChargeCents;
+    }
+}
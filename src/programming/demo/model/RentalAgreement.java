@@ -1,23 +1,22 @@
 package programming.demo.model;
 
+import programming.demo.receipt.ReceiptRenderer;
+
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.Objects;
 
 public class RentalAgreement {
-    private static final String dateFormat = "MM/dd/yyyy";
-
     private final Tool tool;
     private final int rentalDayCount;
     private final LocalDate checkoutDate;
     private final LocalDate dueDate;
-    private final double dailyRentalCost;
+    private final long dailyRentalCostCents;
     private final int chargeDays;
     private final int discountPercent;
-    private final BigDecimal discountAmount;
-    private final BigDecimal finalCharge;
-    private final BigDecimal preDiscountCharge;
+    private final long discountAmountCents;
+    private final long finalChargeCents;
+    private final long preDiscountChargeCents;
 
     public RentalAgreement(Tool tool,
                            int rentalDayCount,
@@ -34,12 +33,12 @@ public class RentalAgreement {
         this.rentalDayCount = rentalDayCount;
         this.checkoutDate = checkoutDate;
         this.dueDate = dueDate;
-        this.dailyRentalCost = dailyRentalCost;
+        this.dailyRentalCostCents = Money.toCents(dailyRentalCost);
         this.chargeDays = chargeDays;
         this.discountPercent = discountPercent;
-        this.discountAmount = discountAmount;
-        this.finalCharge = finalCharge;
-        this.preDiscountCharge = preDiscountCharge;
+        this.discountAmountCents = Money.toCents(discountAmount);
+        this.finalChargeCents = Money.toCents(finalCharge);
+        this.preDiscountChargeCents = Money.toCents(preDiscountCharge);
     }
 
     public RentalAgreement(RentalAgreementBuilder builder) {
@@ -47,12 +46,68 @@ public class RentalAgreement {
         this.rentalDayCount = builder.rentalDayCount;
         this.checkoutDate = builder.checkoutDate;
         this.dueDate = builder.dueDate;
-        this.dailyRentalCost = builder.dailyRentalCost;
+        this.dailyRentalCostCents = builder.dailyRentalCostCents;
         this.chargeDays = builder.chargeDays;
         this.discountPercent = builder.discountPercent;
-        this.discountAmount = builder.discountAmount;
-        this.finalCharge = builder.finalCharge;
-        this.preDiscountCharge = builder.preDiscountCharge;
+        this.discountAmountCents = builder.discountAmountCents;
+        this.finalChargeCents = builder.finalChargeCents;
+        this.preDiscountChargeCents = builder.preDiscountChargeCents;
+    }
+
+    public Tool getTool() {
+        return tool;
+    }
+
+    public int getRentalDayCount() {
+        return rentalDayCount;
+    }
+
+    public LocalDate getCheckoutDate() {
+        return checkoutDate;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public BigDecimal getDailyRentalCost() {
+        return Money.toBigDecimal(dailyRentalCostCents);
+    }
+
+    public long getDailyRentalCostCents() {
+        return dailyRentalCostCents;
+    }
+
+    public int getChargeDays() {
+        return chargeDays;
+    }
+
+    public int getDiscountPercent() {
+        return discountPercent;
+    }
+
+    public BigDecimal getDiscountAmount() {
+        return Money.toBigDecimal(discountAmountCents);
+    }
+
+    public long getDiscountAmountCents() {
+        return discountAmountCents;
+    }
+
+    public BigDecimal getFinalCharge() {
+        return Money.toBigDecimal(finalChargeCents);
+    }
+
+    public long getFinalChargeCents() {
+        return finalChargeCents;
+    }
+
+    public BigDecimal getPreDiscountCharge() {
+        return Money.toBigDecimal(preDiscountChargeCents);
+    }
+
+    public long getPreDiscountChargeCents() {
+        return preDiscountChargeCents;
     }
 
     public static RentalAgreementBuilder builder() {
@@ -64,12 +119,12 @@ public class RentalAgreement {
         private int rentalDayCount;
         private LocalDate checkoutDate;
         private LocalDate dueDate;
-        private double dailyRentalCost;
-        private BigDecimal preDiscountCharge;
+        private long dailyRentalCostCents;
+        private long preDiscountChargeCents;
         private int chargeDays;
         private int discountPercent;
-        private BigDecimal discountAmount;
-        private BigDecimal finalCharge;
+        private long discountAmountCents;
+        private long finalChargeCents;
 
 
         public RentalAgreementBuilder tool(Tool tool) {
@@ -93,7 +148,12 @@ public class RentalAgreement {
         }
 
         public RentalAgreementBuilder dailyRentalCost(double dailyRentalCost) {
-            this.dailyRentalCost = dailyRentalCost;
+            this.dailyRentalCostCents = Money.toCents(dailyRentalCost);
+            return this;
+        }
+
+        public RentalAgreementBuilder dailyRentalCostCents(long dailyRentalCostCents) {
+            this.dailyRentalCostCents = dailyRentalCostCents;
             return this;
         }
 
@@ -108,17 +168,32 @@ public class RentalAgreement {
         }
 
         public RentalAgreementBuilder discountAmount(BigDecimal discountAmount) {
-            this.discountAmount = discountAmount;
+            this.discountAmountCents = Money.toCents(discountAmount);
+            return this;
+        }
+
+        public RentalAgreementBuilder discountAmountCents(long discountAmountCents) {
+            this.discountAmountCents = discountAmountCents;
             return this;
         }
 
         public RentalAgreementBuilder finalCharge(BigDecimal finalCharge) {
-            this.finalCharge = finalCharge;
+            this.finalChargeCents = Money.toCents(finalCharge);
+            return this;
+        }
+
+        public RentalAgreementBuilder finalChargeCents(long finalChargeCents) {
+            this.finalChargeCents = finalChargeCents;
             return this;
         }
 
         public RentalAgreementBuilder preDiscountCharge(BigDecimal preDiscountCharge) {
-            this.preDiscountCharge = preDiscountCharge;
+            this.preDiscountChargeCents = Money.toCents(preDiscountCharge);
+            return this;
+        }
+
+        public RentalAgreementBuilder preDiscountChargeCents(long preDiscountChargeCents) {
+            this.preDiscountChargeCents = preDiscountChargeCents;
             return this;
         }
 
@@ -129,31 +204,7 @@ public class RentalAgreement {
 
     @Override
     public String toString() {
-        return String.format(
-                "Tool Code: %s\n" +
-                "Tool Type: %s\n" +
-                "Tool Brand: %s\n" +
-                "Rental Days: %d\n" +
-                "Check Out Date: %s\n" +
-                "Due Date: %s\n" +
-                "Daily Rental Charge: $%.2f\n" +
-                "Charge Days: %d\n" +
-                "Pre-Discount Charge: $%s\n" +
-                "Discount Percent: %d%%\n" +
-                "Discount Amount: $%s\n" +
-                "Final Charge: $%s\n",
-                this.tool.getCode().name(),
-                this.tool.getType().name(),
-                this.tool.getBrand().name(),
-                this.rentalDayCount,
-                this.checkoutDate.format(DateTimeFormatter.ofPattern(dateFormat)),
-                this.dueDate.format(DateTimeFormatter.ofPattern(dateFormat)),
-                this.dailyRentalCost,
-                this.chargeDays,
-                this.preDiscountCharge.toString(),
-                this.discountPercent,
-                this.discountAmount.toString(),
-                this.finalCharge.toString());
+        return ReceiptRenderer.render(this, new StringBuilder(ReceiptRenderer.MAX_RECEIPT_LENGTH)).toString();
     }
 
     @Override
@@ -161,11 +212,11 @@ public class RentalAgreement {
         if (this == o) return true;
         if (!(o instanceof RentalAgreement)) return false;
         RentalAgreement that = (RentalAgreement) o;
-        return rentalDayCount == that.rentalDayCount && Double.compare(that.dailyRentalCost, dailyRentalCost) == 0 && chargeDays == that.chargeDays && discountPercent == that.discountPercent && tool.equals(that.tool) && checkoutDate.equals(that.checkoutDate) && dueDate.equals(that.dueDate) && discountAmount.equals(that.discountAmount) && finalCharge.equals(that.finalCharge) && preDiscountCharge.equals(that.preDiscountCharge);
+        return rentalDayCount == that.rentalDayCount && dailyRentalCostCents == that.dailyRentalCostCents && chargeDays == that.chargeDays && discountPercent == that.discountPercent && tool.equals(that.tool) && checkoutDate.equals(that.checkoutDate) && dueDate.equals(that.dueDate) && discountAmountCents == that.discountAmountCents && finalChargeCents == that.finalChargeCents && preDiscountChargeCents == that.preDiscountChargeCents;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(tool, rentalDayCount, checkoutDate, dueDate, dailyRentalCost, chargeDays, discountPercent, discountAmount, finalCharge, preDiscountCharge);
+        return Objects.hash(tool, rentalDayCount, checkoutDate, dueDate, dailyRentalCostCents, chargeDays, discountPercent, discountAmountCents, finalChargeCents, preDiscountChargeCents);
     }
 }
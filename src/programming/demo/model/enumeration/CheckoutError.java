@@ -0,0 +1,23 @@
+package programming.demo.model.enumeration;
+
+/**
+ * Why a checkout was refused, with the same message the matching exception carries.
+ */
+public enum CheckoutError {
+    INVALID_DISCOUNT("The discount percent range must be between 0-100."),
+    INVALID_RENTAL_DAY_COUNT("The rental day count must be 1 or more."),
+    TOOL_NOT_FOUND("Tool not found, please try another code."),
+    TOOL_NOT_AVAILABLE("Tool is not available, please try another code."),
+    STORE_BUSY("The store is too busy to take the checkout, please try again."),
+    UNEXPECTED("Checkout failed.");
+
+    private final String message;
+
+    CheckoutError(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,37 @@
+package programming.demo.pricing;
+
+import programming.demo.calendar.ChargeDayCalendar;
+import programming.demo.model.enumeration.ToolType;
+
+/**
+ * A {@link RateTable} compiled against one {@link ChargeDayCalendar}. Plans are immutable, so a service can replace
+ * its plan with a single volatile write while checkouts keep pricing against the one they read.
+ */
+public class RatePlan {
+
+    private final ChargeDayCalendar chargeDayCalendar;
+    private final RateTable rateTable;
+    private final ToolRates[] ratesByType;
+
+    RatePlan(ChargeDayCalendar chargeDayCalendar, RateTable rateTable) {
+        this.chargeDayCalendar = chargeDayCalendar;
+        this.rateTable = rateTable;
+        ToolType[] toolTypes = ToolType.values();
+        this.ratesByType = new ToolRates[toolTypes.length];
+        for (ToolType toolType : toolTypes) {
+            ratesByType[toolType.ordinal()] = new ToolRates(chargeDayCalendar, rateTable, toolType);
+        }
+    }
+
+    public ChargeDayCalendar getChargeDayCalendar() {
+        return chargeDayCalendar;
+    }
+
+    public RateTable getRateTable() {
+        return rateTable;
+    }
+
+    public ToolRates getRates(ToolType toolType) {
+        return ratesByType[toolType.ordinal()];
+    }
+}
@@ -0,0 +1,179 @@
+package programming.demo.pricing;
+
+import programming.demo.exception.InvalidRateRuleException;
+import programming.demo.model.Money;
+import programming.demo.model.enumeration.ToolType;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.Objects;
+
+public class RateRule {
+
+    enum Kind {
+        DAILY,
+        CHARGE,
+        SEASON,
+        DATES
+    }
+
+    private final ToolType toolType;
+    private final Kind kind;
+    private final long rateCents;
+    private final boolean weekdayCharge;
+    private final boolean weekendCharge;
+    private final boolean holidayCharge;
+    private final MonthDay seasonStart;
+    private final MonthDay seasonEnd;
+    private final LocalDate firstDate;
+    private final LocalDate lastDate;
+
+    private RateRule(ToolType toolType, Kind kind, long rateCents, boolean weekdayCharge, boolean weekendCharge,
+                     boolean holidayCharge, MonthDay seasonStart, MonthDay seasonEnd, LocalDate firstDate, LocalDate lastDate) {
+        if (rateCents < 0) {
+            throw new InvalidRateRuleException(toolType.name(), "rates cannot be negative");
+        }
+        this.toolType = toolType;
+        this.kind = kind;
+        this.rateCents = rateCents;
+        this.weekdayCharge = weekdayCharge;
+        this.weekendCharge = weekendCharge;
+        this.holidayCharge = holidayCharge;
+        this.seasonStart = seasonStart;
+        this.seasonEnd = seasonEnd;
+        this.firstDate = firstDate;
+        this.lastDate = lastDate;
+    }
+
+    public static RateRule daily(ToolType toolType, long rateCents) {
+        return new RateRule(toolType, Kind.DAILY, rateCents, false, false, false, null, null, null, null);
+    }
+
+    public static RateRule charge(ToolType toolType, boolean weekdayCharge, boolean weekendCharge, boolean holidayCharge) {
+        return new RateRule(toolType, Kind.CHARGE, 0, weekdayCharge, weekendCharge, holidayCharge, null, null, null, null);
+    }
+
+    public static RateRule season(ToolType toolType, MonthDay start, MonthDay end, long rateCents) {
+        return new RateRule(toolType, Kind.SEASON, rateCents, false, false, false, start, end, null, null);
+    }
+
+    public static RateRule dates(ToolType toolType, LocalDate first, LocalDate last, long rateCents) {
+        if (last.isBefore(first)) {
+            throw new InvalidRateRuleException(toolType.name(), "the last date is before the first");
+        }
+        return new RateRule(toolType, Kind.DATES, rateCents, false, false, false, null, null, first, last);
+    }
+
+    public static RateRule parse(String line) {
+        int separator = line.indexOf('=');
+        if (separator < 0) {
+            throw new InvalidRateRuleException(line);
+        }
+        String[] tokens = line.substring(separator + 1).trim().split("\\s+");
+
+        try {
+            ToolType toolType = ToolType.valueOf(line.substring(0, separator).trim());
+            switch (tokens[0]) {
+                case "daily":
+                    expectTokens(tokens, 2, line);
+                    return daily(toolType, parseCents(tokens[1]));
+                case "charge":
+                    boolean weekday = false;
+                    boolean weekend = false;
+                    boolean holiday = false;
+                    for (int i = 1; i < tokens.length; i++) {
+                        weekday |= tokens[i].equals("weekday");
+                        weekend |= tokens[i].equals("weekend");
+                        holiday |= tokens[i].equals("holiday");
+                        if (!tokens[i].matches("weekday|weekend|holiday")) {
+                            throw new InvalidRateRuleException(line);
+                        }
+                    }
+                    return charge(toolType, weekday, weekend, holiday);
+                case "season":
+                    expectTokens(tokens, 4, line);
+                    return season(toolType, MonthDay.parse("--" + tokens[1]), MonthDay.parse("--" + tokens[2]),
+                            parseCents(tokens[3]));
+                case "dates":
+                    expectTokens(tokens, 4, line);
+                    return dates(toolType, LocalDate.parse(tokens[1]), LocalDate.parse(tokens[2]), parseCents(tokens[3]));
+                default:
+                    throw new InvalidRateRuleException(line);
+            }
+        } catch (IllegalArgumentException | ArithmeticException | DateTimeException ex) {
+            throw new InvalidRateRuleException(line);
+        }
+    }
+
+    private static void expectTokens(String[] tokens, int count, String line) {
+        if (tokens.length != count) {
+            throw new InvalidRateRuleException(line);
+        }
+    }
+
+    private static long parseCents(String amount) {
+        BigDecimal value = new BigDecimal(amount);
+        if (value.scale() > Money.SCALE) {
+            throw new IllegalArgumentException("Rates are whole cents.");
+        }
+        return Money.toCents(value);
+    }
+
+    public ToolType getToolType() {
+        return toolType;
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    long getRateCents() {
+        return rateCents;
+    }
+
+    boolean hasWeekdayCharge() {
+        return weekdayCharge;
+    }
+
+    boolean hasWeekendCharge() {
+        return weekendCharge;
+    }
+
+    boolean hasHolidayCharge() {
+        return holidayCharge;
+    }
+
+    boolean isInSeason(MonthDay monthDay) {
+        if (seasonStart.isAfter(seasonEnd)) {
+            return !monthDay.isBefore(seasonStart) || !monthDay.isAfter(seasonEnd);
+        }
+        return !monthDay.isBefore(seasonStart) && !monthDay.isAfter(seasonEnd);
+    }
+
+    LocalDate getFirstDate() {
+        return firstDate;
+    }
+
+    LocalDate getLastDate() {
+        return lastDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RateRule)) return false;
+        RateRule that = (RateRule) o;
+        return rateCents == that.rateCents && weekdayCharge == that.weekdayCharge && weekendCharge == that.weekendCharge
+                && holidayCharge == that.holidayCharge && toolType == that.toolType && kind == that.kind
+                && Objects.equals(seasonStart, that.seasonStart) && Objects.equals(seasonEnd, that.seasonEnd)
+                && Objects.equals(firstDate, that.firstDate) && Objects.equals(lastDate, that.lastDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(toolType, kind, rateCents, weekdayCharge, weekendCharge, holidayCharge, seasonStart,
+                seasonEnd, firstDate, lastDate);
+    }
+}
@@ -0,0 +1,168 @@
+package programming.demo.pricing;
+
+import programming.demo.calendar.ChargeDayCalendar;
+import programming.demo.exception.InvalidRateRuleException;
+import programming.demo.model.ChargeInformation;
+import programming.demo.model.enumeration.ToolType;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Daily rates and charged kinds of day per {@link ToolType}: a base rate, yearly seasons and one-off date ranges.
+ * A table is compiled against a {@link ChargeDayCalendar} into a {@link RatePlan}, which callers keep for as long as
+ * they price with that pair; plans are not cached, so swapped-out calendars are not kept alive by the table.
+ */
+public class RateTable {
+
+    private static final String DEFAULT_RESOURCE = "default.rates";
+    private static final ToolType[] TOOL_TYPES = ToolType.values();
+
+    private final List<RateRule> rules;
+    private final ChargeInformation[] chargeInformation = new ChargeInformation[TOOL_TYPES.length];
+    private final List<List<RateRule>> seasonsByType = new ArrayList<>();
+    private final List<List<RateRule>> datesByType = new ArrayList<>();
+
+    private RateTable(List<RateRule> rules) {
+        this.rules = List.copyOf(rules);
+        for (ToolType toolType : TOOL_TYPES) {
+            chargeInformation[toolType.ordinal()] = compileChargeInformation(toolType);
+            seasonsByType.add(rulesOf(toolType, RateRule.Kind.SEASON));
+            datesByType.add(rulesOf(toolType, RateRule.Kind.DATES));
+            checkSeasonsDoNotOverlap(toolType);
+            checkDatesDoNotOverlap(toolType);
+        }
+    }
+
+    public static RateTable defaultTable() {
+        return DefaultTableHolder.DEFAULT_TABLE;
+    }
+
+    public static RateTable of(List<RateRule> rules) {
+        return new RateTable(rules);
+    }
+
+    public static RateTable load(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return load(in);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public static RateTable fromResource(String name) {
+        try (InputStream in = RateTable.class.getResourceAsStream(name)) {
+            if (in == null) {
+                throw new FileNotFoundException(name);
+            }
+            return load(in);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static RateTable load(InputStream in) throws IOException {
+        List<RateRule> rules = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                rules.add(RateRule.parse(line));
+            }
+        }
+        return of(rules);
+    }
+
+    public List<RateRule> getRules() {
+        return rules;
+    }
+
+    public ChargeInformation getChargeInformation(ToolType toolType) {
+        return chargeInformation[toolType.ordinal()];
+    }
+
+    public RatePlan compile(ChargeDayCalendar calendar) {
+        return new RatePlan(calendar, this);
+    }
+
+    List<RateRule> getSeasons(ToolType toolType) {
+        return seasonsByType.get(toolType.ordinal());
+    }
+
+    /**
+     * Returns the date-range rules of the type ordered by first date.
+     */
+    List<RateRule> getDates(ToolType toolType) {
+        return datesByType.get(toolType.ordinal());
+    }
+
+    private ChargeInformation compileChargeInformation(ToolType toolType) {
+        RateRule daily = single(toolType, RateRule.Kind.DAILY);
+        RateRule charge = single(toolType, RateRule.Kind.CHARGE);
+        return new ChargeInformation(toolType, daily.getRateCents(), charge.hasWeekdayCharge(), charge.hasWeekendCharge(),
+                charge.hasHolidayCharge());
+    }
+
+    private RateRule single(ToolType toolType, RateRule.Kind kind) {
+        List<RateRule> matching = rulesOf(toolType, kind);
+        if (matching.size() != 1) {
+            throw new InvalidRateRuleException(toolType.name(),
+                    String.format("expected one %s rule, found %d", kind.name().toLowerCase(), matching.size()));
+        }
+        return matching.get(0);
+    }
+
+    private List<RateRule> rulesOf(ToolType toolType, RateRule.Kind kind) {
+        List<RateRule> matching = new ArrayList<>();
+        for (RateRule rule : rules) {
+            if (rule.getToolType() == toolType && rule.getKind() == kind) {
+                matching.add(rule);
+            }
+        }
+        if (kind == RateRule.Kind.DATES) {
+            matching.sort(Comparator.comparing(RateRule::getFirstDate));
+        }
+        return List.copyOf(matching);
+    }
+
+    private void checkSeasonsDoNotOverlap(ToolType toolType) {
+        // 2000 is a leap year, so every month-day has a slot.
+        for (LocalDate date = LocalDate.of(2000, 1, 1); date.getYear() == 2000; date = date.plusDays(1)) {
+            MonthDay monthDay = MonthDay.from(date);
+            int seasons = 0;
+            for (RateRule season : getSeasons(toolType)) {
+                seasons += season.isInSeason(monthDay) ? 1 : 0;
+            }
+            if (seasons > 1) {
+                throw new InvalidRateRuleException(toolType.name(), String.format("seasons overlap on %s", monthDay));
+            }
+        }
+    }
+
+    private void checkDatesDoNotOverlap(ToolType toolType) {
+        List<RateRule> dates = getDates(toolType);
+        for (int i = 1; i < dates.size(); i++) {
+            if (!dates.get(i).getFirstDate().isAfter(dates.get(i - 1).getLastDate())) {
+                throw new InvalidRateRuleException(toolType.name(),
+                        String.format("date ranges overlap on %s", dates.get(i).getFirstDate()));
+            }
+        }
+    }
+
+    private static class DefaultTableHolder {
+        private static final RateTable DEFAULT_TABLE = fromResource(DEFAULT_RESOURCE);
+    }
+}
@@ -0,0 +1,164 @@
+package programming.demo.pricing;
+
+import programming.demo.calendar.ChargeDayCalendar;
+import programming.demo.model.ChargeInformation;
+import programming.demo.model.enumeration.ToolType;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.List;
+
+/**
+ * Prices charge days of one tool type over any date range. Seasons repeat with the 400-year calendar cycle, so they
+ * are folded into a prefix sum of charged cents per cycle day; one-off date ranges are few and sorted, and each one a
+ * rental overlaps replaces the seasonal cents of the overlap. A rental costs two prefix lookups plus two per date
+ * range it touches, however many days or seasons it spans.
+ */
+public final class ToolRates {
+
+    private static final int CYCLE_DAYS = ChargeDayCalendar.CYCLE_DAYS;
+
+    private final ChargeDayCalendar calendar;
+    private final ChargeInformation chargeInformation;
+    private final int chargeFlags;
+    private final long baseRateCents;
+    private final List<RateRule> seasons;
+    private final long[] seasonalPrefix;
+    private final long[] rangeStarts;
+    private final long[] rangeEnds;
+    private final long[] rangeRates;
+
+    ToolRates(ChargeDayCalendar calendar, RateTable rateTable, ToolType toolType) {
+        this.calendar = calendar;
+        this.chargeInformation = rateTable.getChargeInformation(toolType);
+        this.chargeFlags = ChargeDayCalendar.chargeFlags(chargeInformation);
+        this.baseRateCents = chargeInformation.getDailyChargeCents();
+        this.seasons = rateTable.getSeasons(toolType);
+        calendar.precompute(chargeFlags);
+        this.seasonalPrefix = seasons.isEmpty() ? null : buildSeasonalPrefix();
+
+        List<RateRule> dates = rateTable.getDates(toolType);
+        this.rangeStarts = new long[dates.size()];
+        this.rangeEnds = new long[dates.size()];
+        this.rangeRates = new long[dates.size()];
+        for (int i = 0; i < dates.size(); i++) {
+            rangeStarts[i] = dates.get(i).getFirstDate().toEpochDay();
+            rangeEnds[i] = dates.get(i).getLastDate().toEpochDay() + 1;
+            rangeRates[i] = dates.get(i).getRateCents();
+        }
+    }
+
+    public ChargeInformation getChargeInformation() {
+        return chargeInformation;
+    }
+
+    /**
+     * The {@link ChargeDayCalendar} flags of the charged kinds of day; types with equal flags count the same days.
+     */
+    public int getChargeFlags() {
+        return chargeFlags;
+    }
+
+    public int countChargeDays(long fromEpochDay, long toEpochDayExclusive) {
+        return calendar.countChargeDays(chargeFlags, fromEpochDay, toEpochDayExclusive);
+    }
+
+    /**
+     * Returns the rate in effect on the given day, whether or not that day is charged.
+     */
+    public long getDailyChargeCents(long epochDay) {
+        int range = firstRangeEndingAfter(epochDay);
+        if (range < rangeStarts.length && rangeStarts[range] <= epochDay) {
+            return rangeRates[range];
+        }
+        return seasonalRate(MonthDay.from(LocalDate.ofEpochDay(epochDay)));
+    }
+
+    public long chargeCents(long fromEpochDay, long toEpochDayExclusive) {
+        long cents = seasonalCents(fromEpochDay, toEpochDayExclusive);
+        for (int range = firstRangeEndingAfter(fromEpochDay);
+             range < rangeStarts.length && rangeStarts[range] < toEpochDayExclusive; range++) {
+            long from = Math.max(fromEpochDay, rangeStarts[range]);
+            long to = Math.min(toEpochDayExclusive, rangeEnds[range]);
+            cents += rangeRates[range] * countChargeDays(from, to) - seasonalCents(from, to);
+        }
+        return cents;
+    }
+
+    /**
+     * Fills entry {@code i} of both arrays with the charge days and cents of a rental of {@code i + 1} days starting
+     * on {@code firstEpochDay}, adding one day to the previous length at a time.
+     */
+    public void fillLadder(long firstEpochDay, int[] chargeDays, long[] chargeCents) {
+        boolean[] charged = new boolean[chargeDays.length];
+        calendar.markChargeDays(chargeFlags, firstEpochDay + 1, charged);
+        int days = countChargeDays(firstEpochDay, firstEpochDay + 1);
+        long cents = chargeCents(firstEpochDay, firstEpochDay + 1);
+        int range = firstRangeEndingAfter(firstEpochDay + 1);
+        int cycleDay = Math.floorMod(firstEpochDay + 1, CYCLE_DAYS);
+        for (int i = 0; i < chargeDays.length; i++) {
+            if (charged[i]) {
+                long day = firstEpochDay + i + 1;
+                while (range < rangeEnds.length && rangeEnds[range] <= day) {
+                    range++;
+                }
+                days++;
+                if (range < rangeStarts.length && rangeStarts[range] <= day) {
+                    cents += rangeRates[range];
+                } else {
+                    cents += seasonalPrefix == null ? baseRateCents : seasonalPrefix[cycleDay + 1] - seasonalPrefix[cycleDay];
+                }
+            }
+            chargeDays[i] = days;
+            chargeCents[i] = cents;
+            if (++cycleDay == CYCLE_DAYS) {
+                cycleDay = 0;
+            }
+        }
+    }
+
+    private long seasonalCents(long fromEpochDay, long toEpochDayExclusive) {
+        if (seasonalPrefix == null) {
+            return baseRateCents * countChargeDays(fromEpochDay, toEpochDayExclusive);
+        }
+        return centsBefore(toEpochDayExclusive) - centsBefore(fromEpochDay);
+    }
+
+    private long centsBefore(long epochDay) {
+        return Math.floorDiv(epochDay, CYCLE_DAYS) * seasonalPrefix[CYCLE_DAYS]
+                + seasonalPrefix[Math.floorMod(epochDay, CYCLE_DAYS)];
+    }
+
+    private int firstRangeEndingAfter(long epochDay) {
+        int low = 0;
+        int high = rangeEnds.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (rangeEnds[middle] <= epochDay) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private long seasonalRate(MonthDay monthDay) {
+        for (RateRule season : seasons) {
+            if (season.isInSeason(monthDay)) {
+                return season.getRateCents();
+            }
+        }
+        return baseRateCents;
+    }
+
+    private long[] buildSeasonalPrefix() {
+        long[] prefix = new long[CYCLE_DAYS + 1];
+        LocalDate date = LocalDate.ofEpochDay(0);
+        for (int day = 0; day < CYCLE_DAYS; day++, date = date.plusDays(1)) {
+            long cents = countChargeDays(day, day + 1) == 1 ? seasonalRate(MonthDay.from(date)) : 0;
+            prefix[day + 1] = prefix[day] + cents;
+        }
+        return prefix;
+    }
+}
@@ -0,0 +1,165 @@
+package programming.demo.promotion;
+
+import programming.demo.exception.InvalidPromotionException;
+import programming.demo.model.enumeration.ToolBrand;
+import programming.demo.model.enumeration.ToolType;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * An automatic discount for checkouts between two dates, inclusive, optionally limited to one tool type, one brand
+ * and a range of rental lengths. A missing type or brand matches every tool.
+ */
+public class Promotion {
+    private final String id;
+    private final int discountPercent;
+    private final ToolType toolType;
+    private final ToolBrand toolBrand;
+    private final LocalDate firstDate;
+    private final LocalDate lastDate;
+    private final int minRentalDayCount;
+    private final int maxRentalDayCount;
+    private final long firstEpochDay;
+    private final long lastEpochDay;
+
+    public Promotion(PromotionBuilder builder) {
+        if (builder.id == null || builder.firstDate == null || builder.lastDate == null) {
+            throw new InvalidPromotionException(builder.id, "an id, a first date and a last date are required");
+        }
+        if (builder.discountPercent < 0 || builder.discountPercent > 100) {
+            throw new InvalidPromotionException(builder.id, "the discount percent range must be between 0-100");
+        }
+        if (builder.lastDate.isBefore(builder.firstDate)) {
+            throw new InvalidPromotionException(builder.id, "the last date is before the first");
+        }
+        if (builder.minRentalDayCount < 1 || builder.maxRentalDayCount < builder.minRentalDayCount) {
+            throw new InvalidPromotionException(builder.id, "the rental day range must start at 1 or more and not be empty");
+        }
+        this.id = builder.id;
+        this.discountPercent = builder.discountPercent;
+        this.toolType = builder.toolType;
+        this.toolBrand = builder.toolBrand;
+        this.firstDate = builder.firstDate;
+        this.lastDate = builder.lastDate;
+        this.minRentalDayCount = builder.minRentalDayCount;
+        this.maxRentalDayCount = builder.maxRentalDayCount;
+        this.firstEpochDay = builder.firstDate.toEpochDay();
+        this.lastEpochDay = builder.lastDate.toEpochDay();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getDiscountPercent() {
+        return discountPercent;
+    }
+
+    public ToolType getToolType() {
+        return toolType;
+    }
+
+    public ToolBrand getToolBrand() {
+        return toolBrand;
+    }
+
+    public LocalDate getFirstDate() {
+        return firstDate;
+    }
+
+    public LocalDate getLastDate() {
+        return lastDate;
+    }
+
+    public int getMinRentalDayCount() {
+        return minRentalDayCount;
+    }
+
+    public int getMaxRentalDayCount() {
+        return maxRentalDayCount;
+    }
+
+    public boolean appliesTo(ToolType type, ToolBrand brand, LocalDate checkoutDate, int rentalDayCount) {
+        return (toolType == null || toolType == type) && (toolBrand == null || toolBrand == brand)
+                && appliesTo(checkoutDate.toEpochDay(), rentalDayCount);
+    }
+
+    boolean appliesTo(long checkoutEpochDay, int rentalDayCount) {
+        return checkoutEpochDay >= firstEpochDay && checkoutEpochDay <= lastEpochDay
+                && rentalDayCount >= minRentalDayCount && rentalDayCount <= maxRentalDayCount;
+    }
+
+    long getLastEpochDay() {
+        return lastEpochDay;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Promotion)) return false;
+        Promotion that = (Promotion) o;
+        return discountPercent == that.discountPercent && minRentalDayCount == that.minRentalDayCount
+                && maxRentalDayCount == that.maxRentalDayCount && id.equals(that.id) && toolType == that.toolType
+                && toolBrand == that.toolBrand && firstDate.equals(that.firstDate) && lastDate.equals(that.lastDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, discountPercent, toolType, toolBrand, firstDate, lastDate, minRentalDayCount,
+                maxRentalDayCount);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Promotion{id=%s, discountPercent=%d, toolType=%s, toolBrand=%s, dates=%s..%s, rentalDays=%d..%d}",
+                id, discountPercent, toolType, toolBrand, firstDate, lastDate, minRentalDayCount, maxRentalDayCount);
+    }
+
+    public static class PromotionBuilder {
+        private String id;
+        private int discountPercent;
+        private ToolType toolType;
+        private ToolBrand toolBrand;
+        private LocalDate firstDate;
+        private LocalDate lastDate;
+        private int minRentalDayCount = 1;
+        private int maxRentalDayCount = Integer.MAX_VALUE;
+
+        public PromotionBuilder id(String id) {
+            this.id = id;
+            return this;
+        }
+
+        public PromotionBuilder discountPercent(int discountPercent) {
+            this.discountPercent = discountPercent;
+            return this;
+        }
+
+        public PromotionBuilder toolType(ToolType toolType) {
+            this.toolType = toolType;
+            return this;
+        }
+
+        public PromotionBuilder toolBrand(ToolBrand toolBrand) {
+            this.toolBrand = toolBrand;
+            return this;
+        }
+
+        public PromotionBuilder dates(LocalDate firstDate, LocalDate lastDate) {
+            this.firstDate = firstDate;
+            this.lastDate = lastDate;
+            return this;
+        }
+
+        public PromotionBuilder rentalDayCounts(int minRentalDayCount, int maxRentalDayCount) {
+            this.minRentalDayCount = minRentalDayCount;
+            this.maxRentalDayCount = maxRentalDayCount;
+            return this;
+        }
+
+        public Promotion build() {
+            return new Promotion(this);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package programming.demo.promotion;
+
+import programming.demo.model.enumeration.ToolBrand;
+import programming.demo.model.enumeration.ToolType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Promotions indexed by tool type and brand, then by calendar month of the checkout date. Each month holds the
+ * promotions running during it, best discount first, so a lookup is an array index, a binary search over the
+ * months and a scan that usually stops at the first promotion.
+ * <p>
+ * Every type and brand pair has its own immutable cell. Adding, removing or expiring promotions copies only the
+ * cells and months they touch and publishes the copies, so lookups never lock and see either the old or the new
+ * cell. Writers synchronize on the index.
+ */
+public class PromotionIndex {
+
+    private static final ToolType[] TOOL_TYPES = ToolType.values();
+    private static final ToolBrand[] TOOL_BRANDS = ToolBrand.values();
+    private static final Promotion[] NONE = new Promotion[0];
+    private static final Comparator<Promotion> BEST_FIRST = Comparator.comparingInt(Promotion::getDiscountPercent)
+            .reversed()
+            .thenComparing(Promotion::getId);
+
+    private final Map<String, Promotion> promotionsById = new HashMap<>();
+    private final AtomicReferenceArray<Cell> cells = new AtomicReferenceArray<>(TOOL_TYPES.length * TOOL_BRANDS.length);
+    private volatile int size;
+
+    public PromotionIndex() {
+        for (int i = 0; i < cells.length(); i++) {
+            cells.set(i, Cell.EMPTY);
+        }
+    }
+
+    /**
+     * Adds the promotion, replacing any with the same id. A cell holding both is rebuilt once and published once, so
+     * a lookup sees either the old promotion or the new one, never neither.
+     */
+    public synchronized void add(Promotion promotion) {
+        Promotion replaced = promotionsById.put(promotion.getId(), promotion);
+        if (replaced == null) {
+            forEachCell(promotion, cell -> cells.set(cell, cells.get(cell).with(promotion)));
+        } else {
+            boolean[] added = new boolean[cells.length()];
+            forEachCell(promotion, cell -> added[cell] = true);
+            forEachCell(replaced, cell -> {
+                if (!added[cell]) {
+                    cells.set(cell, cells.get(cell).without(existing -> existing == replaced));
+                }
+            });
+            forEachCell(promotion, cell -> cells.set(cell,
+                    cells.get(cell).without(existing -> existing == replaced).with(promotion)));
+        }
+        size = promotionsById.size();
+    }
+
+    public synchronized boolean remove(String id) {
+        Promotion removed = promotionsById.remove(id);
+        if (removed == null) {
+            return false;
+        }
+        removeFromCells(removed);
+        size = promotionsById.size();
+        return true;
+    }
+
+    /**
+     * Drops every promotion whose last date is before {@code today} and returns how many there were.
+     */
+    public synchronized int expire(LocalDate today) {
+        long todayEpochDay = today.toEpochDay();
+        List<Promotion> expired = new ArrayList<>();
+        for (Promotion promotion : promotionsById.values()) {
+            if (promotion.getLastEpochDay() < todayEpochDay) {
+                expired.add(promotion);
+            }
+        }
+        for (Promotion promotion : expired) {
+            promotionsById.remove(promotion.getId());
+        }
+        if (!expired.isEmpty()) {
+            for (int cell = 0; cell < cells.length(); cell++) {
+                cells.set(cell, cells.get(cell).without(promotion -> promotion.getLastEpochDay() < todayEpochDay));
+            }
+        }
+        size = promotionsById.size();
+        return expired.size();
+    }
+
+    public synchronized List<Promotion> getPromotions() {
+        List<Promotion> promotions = new ArrayList<>(promotionsById.values());
+        promotions.sort(BEST_FIRST);
+        return promotions;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The promotion with the highest discount that applies, ties going to the smallest id, or null.
+     */
+    public Promotion findBest(ToolType toolType, ToolBrand toolBrand, LocalDate checkoutDate, int rentalDayCount) {
+        if (size == 0) {
+            return null;
+        }
+        long checkoutEpochDay = checkoutDate.toEpochDay();
+        for (Promotion promotion : candidates(toolType, toolBrand, checkoutDate)) {
+            if (promotion.appliesTo(checkoutEpochDay, rentalDayCount)) {
+                return promotion;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The larger of {@code discountPercent} and the best applicable promotion's discount.
+     */
+    public int getBestDiscountPercent(ToolType toolType, ToolBrand toolBrand, LocalDate checkoutDate, int rentalDayCount,
+                                      int discountPercent) {
+        Promotion best = findBest(toolType, toolBrand, checkoutDate, rentalDayCount);
+        return best == null ? discountPercent : Math.max(discountPercent, best.getDiscountPercent());
+    }
+
+    /**
+     * Raises entry {@code i} of {@code discountPercents} to the best discount applying to a rental of {@code i + 1}
+     * days, going through the month's promotions once instead of looking up every length.
+     */
+    public void raiseToBestDiscountPercents(ToolType toolType, ToolBrand toolBrand, LocalDate checkoutDate,
+                                            int[] discountPercents) {
+        if (size == 0) {
+            return;
+        }
+        long checkoutEpochDay = checkoutDate.toEpochDay();
+        for (Promotion promotion : candidates(toolType, toolBrand, checkoutDate)) {
+            if (!promotion.appliesTo(checkoutEpochDay, promotion.getMinRentalDayCount())) {
+                continue;
+            }
+            int last = Math.min(discountPercents.length, promotion.getMaxRentalDayCount());
+            for (int i = promotion.getMinRentalDayCount() - 1; i < last; i++) {
+                discountPercents[i] = Math.max(discountPercents[i], promotion.getDiscountPercent());
+            }
+        }
+    }
+
+    private Promotion[] candidates(ToolType toolType, ToolBrand toolBrand, LocalDate checkoutDate) {
+        return cells.get(cellOf(toolType, toolBrand)).promotionsIn(monthOf(checkoutDate));
+    }
+
+    private void removeFromCells(Promotion removed) {
+        forEachCell(removed, cell -> cells.set(cell, cells.get(cell).without(promotion -> promotion == removed)));
+    }
+
+    private static void forEachCell(Promotion promotion, IntConsumer action) {
+        for (ToolType toolType : TOOL_TYPES) {
+            for (ToolBrand toolBrand : TOOL_BRANDS) {
+                if ((promotion.getToolType() == null || promotion.getToolType() == toolType)
+                        && (promotion.getToolBrand() == null || promotion.getToolBrand() == toolBrand)) {
+                    action.accept(cellOf(toolType, toolBrand));
+                }
+            }
+        }
+    }
+
+    private static int cellOf(ToolType toolType, ToolBrand toolBrand) {
+        return toolType.ordinal() * TOOL_BRANDS.length + toolBrand.ordinal();
+    }
+
+    private static int monthOf(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    /**
+     * Months with at least one promotion, ascending, and each month's promotions, best first.
+     */
+    private static final class Cell {
+        static final Cell EMPTY = new Cell(new int[0], new Promotion[0][]);
+
+        private final int[] months;
+        private final Promotion[][] promotions;
+
+        private Cell(int[] months, Promotion[][] promotions) {
+            this.months = months;
+            this.promotions = promotions;
+        }
+
+        Promotion[] promotionsIn(int month) {
+            int index = Arrays.binarySearch(months, month);
+            return index < 0 ? NONE : promotions[index];
+        }
+
+        Cell with(Promotion promotion) {
+            int first = monthOf(promotion.getFirstDate());
+            int last = monthOf(promotion.getLastDate());
+            int[] mergedMonths = new int[months.length + last - first + 1];
+            Promotion[][] mergedPromotions = new Promotion[mergedMonths.length][];
+            int count = 0;
+            int index = 0;
+            int month = first;
+            while (index < months.length || month <= last) {
+                if (month > last || (index < months.length && months[index] < month)) {
+                    mergedMonths[count] = months[index];
+                    mergedPromotions[count++] = promotions[index++];
+                } else {
+                    mergedMonths[count] = month;
+                    mergedPromotions[count++] = index < months.length && months[index] == month
+                            ? insert(promotions[index++], promotion)
+                            : new Promotion[]{promotion};
+                    month++;
+                }
+            }
+            return new Cell(Arrays.copyOf(mergedMonths, count), Arrays.copyOf(mergedPromotions, count));
+        }
+
+        Cell without(Predicate<Promotion> removed) {
+            int[] keptMonths = new int[months.length];
+            Promotion[][] keptPromotions = new Promotion[months.length][];
+            int count = 0;
+            boolean changed = false;
+            for (int index = 0; index < months.length; index++) {
+                Promotion[] kept = promotions[index];
+                for (Promotion promotion : promotions[index]) {
+                    if (removed.test(promotion)) {
+                        kept = Arrays.stream(promotions[index]).filter(removed.negate()).toArray(Promotion[]::new);
+                        changed = true;
+                        break;
+                    }
+                }
+                if (kept.length > 0) {
+                    keptMonths[count] = months[index];
+                    keptPromotions[count++] = kept;
+                }
+            }
+            return changed ? new Cell(Arrays.copyOf(keptMonths, count), Arrays.copyOf(keptPromotions, count)) : this;
+        }
+
+        private static Promotion[] insert(Promotion[] sorted, Promotion promotion) {
+            int position = Arrays.binarySearch(sorted, promotion, BEST_FIRST);
+            position = position < 0 ? -position - 1 : position;
+            Promotion[] inserted = new Promotion[sorted.length + 1];
+            System.arraycopy(sorted, 0, inserted, 0, position);
+            inserted[position] = promotion;
+            System.arraycopy(sorted, position, inserted, position + 1, sorted.length - position);
+            return inserted;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package programming.demo.receipt;
+
+import programming.demo.format.AsciiFormat;
+import programming.demo.model.RentalAgreement;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Writes the {@link RentalAgreement} receipt straight into a caller-supplied buffer. Labels are encoded once, dates
+ * and amounts are formatted digit by digit, so rendering allocates nothing.
+ */
+public final class ReceiptRenderer {
+
+    public static final int MAX_RECEIPT_LENGTH = 512;
+
+    private static final String[] LABELS = {
+            "Tool Code: ",
+            "\nTool Type: ",
+            "\nTool Brand: ",
+            "\nRental Days: ",
+            "\nCheck Out Date: ",
+            "\nDue Date: ",
+            "\nDaily Rental Charge: $",
+            "\nCharge Days: ",
+            "\nPre-Discount Charge: $",
+            "\nDiscount Percent: ",
+            "%\nDiscount Amount: $",
+            "\nFinal Charge: $",
+            "\n"
+    };
+    private static final byte[][] LABEL_BYTES = new byte[LABELS.length][];
+
+    static {
+        for (int i = 0; i < LABELS.length; i++) {
+            LABEL_BYTES[i] = LABELS[i].getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private ReceiptRenderer() {
+    }
+
+    public static StringBuilder render(RentalAgreement agreement, StringBuilder out) {
+        try {
+            render(agreement, new CharWriter(out));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out;
+    }
+
+    public static void render(RentalAgreement agreement, Appendable out) throws IOException {
+        render(agreement, new CharWriter(out));
+    }
+
+    public static ByteBuffer render(RentalAgreement agreement, ByteBuffer out) {
+        try {
+            render(agreement, new ByteWriter(out));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out;
+    }
+
+    public static StringBuilder renderAll(Iterable<RentalAgreement> agreements, StringBuilder out) {
+        CharWriter writer = new CharWriter(out);
+        try {
+            for (RentalAgreement agreement : agreements) {
+                render(agreement, writer);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out;
+    }
+
+    /**
+     * Renders every agreement into {@code buffer}, draining it to {@code channel} whenever it cannot hold another
+     * receipt. The buffer is left flushed and cleared.
+     */
+    public static void renderAll(Iterable<RentalAgreement> agreements, ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        ByteWriter writer = new ByteWriter(buffer);
+        for (RentalAgreement agreement : agreements) {
+            if (buffer.remaining() < MAX_RECEIPT_LENGTH) {
+                drain(buffer, channel);
+            }
+            render(agreement, writer);
+        }
+        drain(buffer, channel);
+    }
+
+    private static void drain(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void render(RentalAgreement agreement, ReceiptWriter writer) throws IOException {
+        writer.label(0);
+        writer.text(agreement.getTool().getCode().name());
+        writer.label(1);
+        writer.text(agreement.getTool().getType().name());
+        writer.label(2);
+        writer.text(agreement.getTool().getBrand().name());
+        writer.label(3);
+        writer.number(agreement.getRentalDayCount(), 1);
+        writer.label(4);
+        writeDate(writer, agreement.getCheckoutDate());
+        writer.label(5);
+        writeDate(writer, agreement.getDueDate());
+        writer.label(6);
+        writer.cents(agreement.getDailyRentalCostCents());
+        writer.label(7);
+        writer.number(agreement.getChargeDays(), 1);
+        writer.label(8);
+        writer.cents(agreement.getPreDiscountChargeCents());
+        writer.label(9);
+        writer.number(agreement.getDiscountPercent(), 1);
+        writer.label(10);
+        writer.cents(agreement.getDiscountAmountCents());
+        writer.label(11);
+        writer.cents(agreement.getFinalChargeCents());
+        writer.label(12);
+    }
+
+    private static void writeDate(ReceiptWriter writer, LocalDate date) throws IOException {
+        writer.number(date.getMonthValue(), 2);
+        writer.character('/');
+        writer.number(date.getDayOfMonth(), 2);
+        writer.character('/');
+        int year = date.getYear();
+        // Matches the "yyyy" pattern: year of era, with a sign once it needs more than four digits.
+        if (year > 9999) {
+            writer.character('+');
+        }
+        writer.number(year > 0 ? year : 1 - year, 4);
+    }
+
+    private interface ReceiptWriter {
+        void label(int index) throws IOException;
+
+        void text(String text) throws IOException;
+
+        void character(char c) throws IOException;
+
+        void number(long value, int minDigits) throws IOException;
+
+        void cents(long cents) throws IOException;
+    }
+
+    private static final class CharWriter implements ReceiptWriter {
+        private final Appendable out;
+
+        CharWriter(Appendable out) {
+            this.out = out;
+        }
+
+        @Override
+        public void label(int index) throws IOException {
+            out.append(LABELS[index]);
+        }
+
+        @Override
+        public void text(String text) throws IOException {
+            out.append(text);
+        }
+
+        @Override
+        public void character(char c) throws IOException {
+            out.append(c);
+        }
+
+        @Override
+        public void number(long value, int minDigits) throws IOException {
+            AsciiFormat.appendNumber(out, value, minDigits);
+        }
+
+        @Override
+        public void cents(long cents) throws IOException {
+            AsciiFormat.appendCents(out, cents);
+        }
+    }
+
+    private static final class ByteWriter implements ReceiptWriter {
+        private final ByteBuffer out;
+
+        ByteWriter(ByteBuffer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void label(int index) {
+            out.put(LABEL_BYTES[index]);
+        }
+
+        @Override
+        public void text(String text) {
+            AsciiFormat.putAscii(out, text);
+        }
+
+        @Override
+        public void character(char c) {
+            out.put((byte) c);
+        }
+
+        @Override
+        public void number(long value, int minDigits) {
+            AsciiFormat.putNumber(out, value, minDigits);
+        }
+
+        @Override
+        public void cents(long cents) {
+            AsciiFormat.putCents(out, cents);
+        }
+    }
+}
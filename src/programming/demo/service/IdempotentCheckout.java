@@ -0,0 +1,68 @@
+package programming.demo.service;
+
+import programming.demo.model.CheckoutResult;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Runs each checkout once per client request id. The first submission of an id runs the checkout; a retry of it
+ * within the retention period gets the original result, waiting for it if the first is still running, without the
+ * request being compared or the checkout run again. Only agreements are remembered: a failed attempt leaves nothing
+ * behind, so a retry after a refusal runs the checkout again.
+ */
+public class IdempotentCheckout {
+
+    private final RequestIdIndex index = new RequestIdIndex();
+    private final long retentionNanos;
+    private final LongSupplier nanoClock;
+    private final LongAdder replayCount = new LongAdder();
+
+    public IdempotentCheckout(Duration retention) {
+        this(retention, System::nanoTime);
+    }
+
+    IdempotentCheckout(Duration retention, LongSupplier nanoClock) {
+        if (retention.isNegative() || retention.isZero()) {
+            throw new IllegalArgumentException("retention must be positive.");
+        }
+        this.retentionNanos = retention.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public CheckoutResult checkout(long requestId, Supplier<CheckoutResult> checkout) {
+        CompletableFuture<CheckoutResult> placeholder = new CompletableFuture<>();
+        long now = nanoClock.getAsLong();
+        CompletableFuture<CheckoutResult> original = index.putIfAbsent(requestId, placeholder, now, now + retentionNanos);
+        if (original != null) {
+            replayCount.increment();
+            return original.join();
+        }
+
+        CheckoutResult result;
+        try {
+            result = checkout.get();
+        } catch (RuntimeException ex) {
+            result = CheckoutResult.failure(ex);
+        }
+        if (!result.isSuccess()) {
+            index.remove(requestId, placeholder, nanoClock.getAsLong());
+        }
+        placeholder.complete(result);
+        return result;
+    }
+
+    /**
+     * Submissions answered with an earlier result instead of running the checkout.
+     */
+    public long getReplayCount() {
+        return replayCount.sum();
+    }
+
+    public int size() {
+        return index.size(nanoClock.getAsLong());
+    }
+}
@@ -0,0 +1,157 @@
+package programming.demo.service;
+
+import programming.demo.model.CheckoutRequest;
+import programming.demo.model.CheckoutResult;
+import programming.demo.model.RentalAgreement;
+import programming.demo.model.enumeration.ToolCode;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in, size-bounded cache of agreements in front of {@link RentalService#buildRentalAgreement}. Keys are spread
+ * over independently locked LRU segments. Entries remember the service configuration version they were priced
+ * under, so swapping the tool catalog or holiday calendar turns every older entry into a miss.
+ */
+public class QuoteCache {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final RentalService rentalService;
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public QuoteCache(RentalService rentalService, int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be 1 or more.");
+        }
+        this.rentalService = rentalService;
+        int segmentCapacity = Math.max(1, (maximumSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    public RentalAgreement quote(ToolCode toolCode, int rentalDayCount, int discountPercent, LocalDate checkoutDate) {
+        return quote(new CheckoutRequest(toolCode, rentalDayCount, discountPercent, checkoutDate));
+    }
+
+    public RentalAgreement quote(CheckoutRequest request) {
+        CheckoutResult result = tryQuote(request);
+        if (!result.isSuccess()) {
+            throw result.getError();
+        }
+        return result.getAgreement();
+    }
+
+    /**
+     * Quotes through {@link RentalService#tryBuildRentalAgreement}; failures are returned and never cached.
+     */
+    public CheckoutResult tryQuote(CheckoutRequest request) {
+        long version = rentalService.getConfigurationVersion();
+        Segment segment = segmentFor(request);
+
+        RentalAgreement cached = segment.get(request, version);
+        if (cached != null) {
+            hitCount.increment();
+            return CheckoutResult.success(cached);
+        }
+
+        missCount.increment();
+        CheckoutResult result = rentalService.tryBuildRentalAgreement(request.getToolCode(), request.getRentalDayCount(),
+                request.getDiscountPercent(), request.getCheckoutDate());
+        if (result.isSuccess()) {
+            segment.put(request, new CachedQuote(result.getAgreement(), version));
+        }
+        return result;
+    }
+
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment segmentFor(CheckoutRequest request) {
+        int hash = request.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    private static class CachedQuote {
+        private final RentalAgreement agreement;
+        private final long version;
+
+        CachedQuote(RentalAgreement agreement, long version) {
+            this.agreement = agreement;
+            this.version = version;
+        }
+    }
+
+    private class Segment {
+        private final Map<CheckoutRequest, CachedQuote> entries;
+
+        Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(capacity * 2, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<CheckoutRequest, CachedQuote> eldest) {
+                    if (size() > capacity) {
+                        evictionCount.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized RentalAgreement get(CheckoutRequest request, long version) {
+            CachedQuote quote = entries.get(request);
+            if (quote == null) {
+                return null;
+            }
+            if (quote.version < version) {
+                entries.remove(request);
+                return null;
+            }
+            return quote.agreement;
+        }
+
+        synchronized void put(CheckoutRequest request, CachedQuote quote) {
+            CachedQuote existing = entries.get(request);
+            if (existing == null || existing.version <= quote.version) {
+                entries.put(request, quote);
+            }
+        }
+
+        synchronized void clear() {
+            entries.clear();
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
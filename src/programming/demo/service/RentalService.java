@@ -1,125 +1,419 @@
 package programming.demo.service;
 
-import programming.demo.exception.InvalidDateException;
-import programming.demo.exception.ToolNotFoundException;
+import programming.demo.calendar.ChargeDayCalendar;
+import programming.demo.calendar.HolidayCalendar;
+import programming.demo.catalog.ToolCatalog;
+import programming.demo.exception.InvalidDiscountException;
+import programming.demo.exception.InvalidRentalDayCountException;
+import programming.demo.metrics.CheckoutMetrics;
+import programming.demo.metrics.CheckoutStage;
+import programming.demo.metrics.SlowCheckoutEvent;
+import programming.demo.model.CartAgreement;
 import programming.demo.model.ChargeInformation;
+import programming.demo.model.CheckoutRequest;
+import programming.demo.model.CheckoutResult;
+import programming.demo.model.Money;
+import programming.demo.model.PriceLadder;
 import programming.demo.model.RentalAgreement;
 import programming.demo.model.Tool;
-import programming.demo.model.enumeration.ToolBrand;
+import programming.demo.model.enumeration.CheckoutError;
 import programming.demo.model.enumeration.ToolCode;
 import programming.demo.model.enumeration.ToolType;
+import programming.demo.pricing.RatePlan;
+import programming.demo.pricing.RateTable;
+import programming.demo.pricing.ToolRates;
+import programming.demo.promotion.Promotion;
+import programming.demo.promotion.PromotionIndex;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class RentalService {
 
+    /**
+     * The longest ladder {@link #buildPriceLadder} prices, ten years of days.
+     */
+    public static final int MAX_PRICE_LADDER_DAY_COUNT = 3653;
+
+    private static final int TOOL_CODE_COUNT = ToolCode.values().length;
+    private static final int TOOL_TYPE_COUNT = ToolType.values().length;
+
+    private volatile RatePlan ratePlan;
+    private final AtomicReference<ToolCatalog> toolCatalog;
+    private final AtomicLong configurationVersion = new AtomicLong();
+    private final PromotionIndex promotions = new PromotionIndex();
+
+    public RentalService() {
+        this(HolidayCalendar.defaultCalendar(), ToolCatalog.defaultCatalog());
+    }
+
+    public RentalService(HolidayCalendar holidayCalendar) {
+        this(holidayCalendar, ToolCatalog.defaultCatalog());
+    }
+
+    public RentalService(HolidayCalendar holidayCalendar, ToolCatalog toolCatalog) {
+        this(holidayCalendar, toolCatalog, RateTable.defaultTable());
+    }
+
+    public RentalService(HolidayCalendar holidayCalendar, ToolCatalog toolCatalog, RateTable rateTable) {
+        this.ratePlan = rateTable.compile(ChargeDayCalendar.forHolidays(holidayCalendar));
+        this.toolCatalog = new AtomicReference<>(toolCatalog);
+    }
+
+    public ToolCatalog getToolCatalog() {
+        return toolCatalog.get();
+    }
+
+    public ToolCatalog swapToolCatalog(ToolCatalog replacement) {
+        ToolCatalog previous = toolCatalog.getAndSet(replacement);
+        configurationVersion.incrementAndGet();
+        return previous;
+    }
+
+    public HolidayCalendar getHolidayCalendar() {
+        return ratePlan.getChargeDayCalendar().getHolidayCalendar();
+    }
+
+    public synchronized HolidayCalendar swapHolidayCalendar(HolidayCalendar replacement) {
+        HolidayCalendar previous = getHolidayCalendar();
+        ratePlan = ratePlan.getRateTable().compile(ChargeDayCalendar.forHolidays(replacement));
+        configurationVersion.incrementAndGet();
+        return previous;
+    }
+
+    public RateTable getRateTable() {
+        return ratePlan.getRateTable();
+    }
+
+    /**
+     * The daily rate and charged kinds of day of the tool type under the current rate table.
+     */
+    public ChargeInformation getChargeInformation(ToolType toolType) {
+        return ratePlan.getRates(toolType).getChargeInformation();
+    }
+
+    /**
+     * Compiles the replacement against the current holiday calendar and then publishes it. Checkouts keep pricing
+     * against the previous plan until the swap and never wait for the compilation.
+     */
+    public synchronized RateTable swapRateTable(RateTable replacement) {
+        RateTable previous = getRateTable();
+        ratePlan = replacement.compile(ratePlan.getChargeDayCalendar());
+        configurationVersion.incrementAndGet();
+        return previous;
+    }
+
+    /**
+     * Adds or replaces an automatic promotion. An agreement gets the larger of the discount asked for and the best
+     * promotion applying to its tool, checkout date and length.
+     */
+    public void addPromotion(Promotion promotion) {
+        promotions.add(promotion);
+        configurationVersion.incrementAndGet();
+    }
+
+    public boolean removePromotion(String id) {
+        boolean removed = promotions.remove(id);
+        if (removed) {
+            configurationVersion.incrementAndGet();
+        }
+        return removed;
+    }
+
+    /**
+     * Drops promotions that ended before {@code today}; they no longer apply even to earlier checkout dates.
+     */
+    public int expirePromotions(LocalDate today) {
+        int expired = promotions.expire(today);
+        if (expired > 0) {
+            configurationVersion.incrementAndGet();
+        }
+        return expired;
+    }
+
+    public List<Promotion> getPromotions() {
+        return promotions.getPromotions();
+    }
+
+    public long getConfigurationVersion() {
+        return configurationVersion.get();
+    }
+
     public RentalAgreement buildRentalAgreement(ToolCode toolCode, int rentalDayCount, int discountPercent, LocalDate checkoutDate) {
-        RentalAgreement.RentalAgreementBuilder builder = new RentalAgreement.RentalAgreementBuilder();
-        Tool tool = getToolByToolCode(toolCode);
-        int chargeDays = calculateChargeDays(tool, checkoutDate, rentalDayCount);
-        BigDecimal preDiscountCharge = calculatePreDiscountCharge(chargeDays, tool.getChargeInformation().getDailyCharge());
-        BigDecimal discountAmount = calculateDiscountAmount(discountPercent, preDiscountCharge);
+        return buildRentalAgreement(toolCatalog.get(), ratePlan, toolCode, rentalDayCount, discountPercent, checkoutDate);
+    }
 
-        return builder
-                .tool(tool)
-                .rentalDayCount(rentalDayCount)
-                .discountPercent(discountPercent)
-                .checkoutDate(checkoutDate)
-                .dueDate(calculateDueDate(checkoutDate, rentalDayCount))
-                .dailyRentalCost(tool.getChargeInformation().getDailyCharge())
-                .chargeDays(chargeDays)
-                .preDiscountCharge(preDiscountCharge)
-                .discountAmount(discountAmount)
-                .finalCharge(calculateFinalCharge(preDiscountCharge, discountAmount))
-                .build();
+    /**
+     * Like {@link #buildRentalAgreement}, but also validates the discount and day count and reports invalid input as
+     * a preallocated failure instead of throwing.
+     */
+    public CheckoutResult tryBuildRentalAgreement(ToolCode toolCode, int rentalDayCount, int discountPercent, LocalDate checkoutDate) {
+        return buildCheckoutResult(toolCatalog.get(), ratePlan, toolCode, rentalDayCount, discountPercent, checkoutDate);
     }
 
-    private Tool getToolByToolCode(ToolCode toolCode) {
-        switch (toolCode) {
-            case JAKR:
-                return new Tool(ToolType.Jackhammer, ToolBrand.Ridgid, toolCode);
-            case CHNS:
-                return new Tool(ToolType.Chainsaw, ToolBrand.Stihl, toolCode);
-            case JAKD:
-                return new Tool(ToolType.Jackhammer, ToolBrand.DeWalt, toolCode);
-            case LADW:
-                return new Tool(ToolType.Ladder, ToolBrand.Werner, toolCode);
-            default:
-                throw new ToolNotFoundException(toolCode);
+    /**
+     * Prices every rental length from 1 to {@code maxRentalDayCount} in one pass over the calendar, each length
+     * adding one day to the previous one. Entry {@code n} equals the agreement {@link #buildRentalAgreement} builds
+     * for {@code n} days, promotions included, so each length carries the discount percent applied to it. Ladders
+     * are capped at {@link #MAX_PRICE_LADDER_DAY_COUNT} days.
+     */
+    public PriceLadder buildPriceLadder(ToolCode toolCode, int maxRentalDayCount, int discountPercent, LocalDate checkoutDate) {
+        if (discountPercent < 0 || discountPercent > 100) {
+            throw new InvalidDiscountException();
         }
+        if (maxRentalDayCount < 1 || maxRentalDayCount > MAX_PRICE_LADDER_DAY_COUNT) {
+            throw new InvalidRentalDayCountException(MAX_PRICE_LADDER_DAY_COUNT);
+        }
+        Tool tool = toolCatalog.get().getTool(toolCode);
+        ToolRates rates = ratePlan.getRates(tool.getType());
+        long firstDay = checkoutDate.toEpochDay();
+        int[] chargeDays = new int[maxRentalDayCount];
+        long[] preDiscountChargeCents = new long[maxRentalDayCount];
+        long[] finalChargeCents = new long[maxRentalDayCount];
+        rates.fillLadder(firstDay, chargeDays, preDiscountChargeCents);
+        int[] discountPercents = new int[maxRentalDayCount];
+        Arrays.fill(discountPercents, discountPercent);
+        promotions.raiseToBestDiscountPercents(tool.getType(), tool.getBrand(), checkoutDate, discountPercents);
+        for (int i = 0; i < maxRentalDayCount; i++) {
+            finalChargeCents[i] = calculateFinalCharge(preDiscountChargeCents[i],
+                    calculateDiscountAmount(discountPercents[i], preDiscountChargeCents[i]));
+        }
+        return new PriceLadder(toolCode, checkoutDate, discountPercent, rates.getDailyChargeCents(firstDay),
+                discountPercents, chargeDays, preDiscountChargeCents, finalChargeCents);
     }
 
-    private LocalDate calculateDueDate(LocalDate checkoutDate, int rentalDayCount) {
-        return checkoutDate.plusDays(rentalDayCount);
+    /**
+     * Prices every tool of a cart over the same window, one line per entry of {@code toolCodes}, so a code listed
+     * twice rents two units. Charge days are counted once per combination of charged kinds of day, cents once per
+     * tool type and each distinct code is priced once; every line equals the agreement
+     * {@link #buildRentalAgreement} builds for its code.
+     */
+    public CartAgreement buildCartAgreement(List<ToolCode> toolCodes, int rentalDayCount, int discountPercent,
+                                            LocalDate checkoutDate) {
+        if (discountPercent < 0 || discountPercent > 100) {
+            throw new InvalidDiscountException();
+        }
+        if (rentalDayCount < 1) {
+            throw new InvalidRentalDayCountException();
+        }
+        if (toolCodes.isEmpty()) {
+            throw new IllegalArgumentException("A cart needs at least one tool.");
+        }
+        ToolCatalog catalog = toolCatalog.get();
+        RatePlan plan = ratePlan;
+        long firstDay = checkoutDate.toEpochDay();
+        long endDay = firstDay + rentalDayCount + 1;
+        LocalDate dueDate = calculateDueDate(checkoutDate, rentalDayCount);
+        int[] chargeDaysByFlags = new int[ChargeDayCalendar.FLAG_COMBINATIONS];
+        Arrays.fill(chargeDaysByFlags, -1);
+        long[] chargeCentsByType = new long[TOOL_TYPE_COUNT];
+        Arrays.fill(chargeCentsByType, -1);
+        RentalAgreement[] lineByCode = new RentalAgreement[TOOL_CODE_COUNT];
+
+        List<RentalAgreement> lines = new ArrayList<>(toolCodes.size());
+        for (ToolCode toolCode : toolCodes) {
+            RentalAgreement line = lineByCode[toolCode.ordinal()];
+            if (line == null) {
+                Tool tool = catalog.getTool(toolCode);
+                ToolRates rates = plan.getRates(tool.getType());
+                int flags = rates.getChargeFlags();
+                if (chargeDaysByFlags[flags] < 0) {
+                    chargeDaysByFlags[flags] = rates.countChargeDays(firstDay, endDay);
+                }
+                int type = tool.getType().ordinal();
+                if (chargeCentsByType[type] < 0) {
+                    chargeCentsByType[type] = rates.chargeCents(firstDay, endDay);
+                }
+                int appliedDiscountPercent = promotions.getBestDiscountPercent(tool.getType(), tool.getBrand(),
+                        checkoutDate, rentalDayCount, discountPercent);
+                line = newRentalAgreement(tool, rentalDayCount, appliedDiscountPercent, checkoutDate,
+                        chargeDaysByFlags[flags], rates.getDailyChargeCents(firstDay), chargeCentsByType[type],
+                        calculateDiscountAmount(appliedDiscountPercent, chargeCentsByType[type]));
+                lineByCode[toolCode.ordinal()] = line;
+            }
+            lines.add(line);
+        }
+        return new CartAgreement(checkoutDate, dueDate, rentalDayCount, lines);
+    }
+
+    public List<CheckoutResult> buildRentalAgreements(List<CheckoutRequest> requests) {
+        return Arrays.asList(buildRentalAgreements(requests.toArray(new CheckoutRequest[0])));
     }
 
-    private int calculateChargeDays(Tool tool, LocalDate checkoutDate, int rentalDayCount) {
-        ChargeInformation chargeInformation = tool.getChargeInformation();
-        int chargeDays = rentalDayCount + 1;
+    public CheckoutResult[] buildRentalAgreements(CheckoutRequest[] requests) {
+        ToolCatalog catalog = toolCatalog.get();
+        RatePlan plan = ratePlan;
+        CheckoutResult[] results = new CheckoutResult[requests.length];
+        ForkJoinPool.commonPool().invoke(new BatchCheckoutTask(catalog, plan, requests, results, 0, requests.length));
+        return results;
+    }
+
+    private CheckoutResult buildCheckoutResult(ToolCatalog catalog, RatePlan plan, ToolCode toolCode, int rentalDayCount,
+                                               int discountPercent, LocalDate checkoutDate) {
+        if (discountPercent < 0 || discountPercent > 100) {
+            return CheckoutResult.failure(CheckoutError.INVALID_DISCOUNT);
+        }
+        if (rentalDayCount < 1) {
+            return CheckoutResult.failure(CheckoutError.INVALID_RENTAL_DAY_COUNT);
+        }
+        if (toolCode == null || !catalog.contains(toolCode)) {
+            return CheckoutResult.toolNotFound(toolCode);
+        }
+        try {
+            return CheckoutResult.success(buildRentalAgreement(catalog, plan, toolCode, rentalDayCount, discountPercent,
+                    checkoutDate));
+        } catch (RuntimeException ex) {
+            return CheckoutResult.failure(ex);
+        }
+    }
 
-        if (!chargeInformation.hasWeekendCharge()) {
-            chargeDays -= getWeekendDayCount(checkoutDate, rentalDayCount);
+    /**
+     * The one pricing path, with and without metrics. When {@link CheckoutMetrics#ENABLED} is off the timestamps are
+     * constant zeros and the recording is dead code, so the JIT drops both.
+     */
+    private RentalAgreement buildRentalAgreement(ToolCatalog catalog, RatePlan plan, ToolCode toolCode,
+                                                 int rentalDayCount, int discountPercent, LocalDate checkoutDate) {
+        SlowCheckoutEvent event = null;
+        if (CheckoutMetrics.ENABLED) {
+            event = new SlowCheckoutEvent();
+            event.begin();
         }
+        long start = timestamp();
+        Tool tool = catalog.getTool(toolCode);
+        long lookedUp = timestamp();
+        ToolRates rates = plan.getRates(tool.getType());
+        long firstDay = checkoutDate.toEpochDay();
+        long endDay = firstDay + rentalDayCount + 1;
+        int chargeDays = rates.countChargeDays(firstDay, endDay);
+        long counted = timestamp();
+        long dailyChargeCents = rates.getDailyChargeCents(firstDay);
+        long preDiscountChargeCents = rates.chargeCents(firstDay, endDay);
+        int appliedDiscountPercent = promotions.getBestDiscountPercent(tool.getType(), tool.getBrand(), checkoutDate,
+                rentalDayCount, discountPercent);
+        long discountAmountCents = calculateDiscountAmount(appliedDiscountPercent, preDiscountChargeCents);
+        long priced = timestamp();
+        RentalAgreement agreement = newRentalAgreement(tool, rentalDayCount, appliedDiscountPercent, checkoutDate, chargeDays,
+                dailyChargeCents, preDiscountChargeCents, discountAmountCents);
+
+        if (CheckoutMetrics.ENABLED) {
+            long built = timestamp();
+            event.finish(toolCode, rentalDayCount, chargeDays, counted - lookedUp, priced - counted);
 
-        if (!chargeInformation.hasHolidayCharge()) {
-            chargeDays -= getHolidayDayCount(checkoutDate, rentalDayCount);
+            CheckoutMetrics metrics = CheckoutMetrics.get();
+            metrics.recordStage(CheckoutStage.TOOL_LOOKUP, lookedUp - start);
+            metrics.recordStage(CheckoutStage.CHARGE_DAYS, counted - lookedUp);
+            metrics.recordStage(CheckoutStage.PRICING, priced - counted);
+            metrics.recordStage(CheckoutStage.AGREEMENT, built - priced);
+            metrics.recordStage(CheckoutStage.TOTAL, built - start);
+            metrics.recordCheckout(toolCode);
         }
+        return agreement;
+    }
+
+    private static long timestamp() {
+        return CheckoutMetrics.ENABLED ? System.nanoTime() : 0;
+    }
 
-        return chargeDays;
+    private RentalAgreement newRentalAgreement(Tool tool, int rentalDayCount, int discountPercent, LocalDate checkoutDate,
+                                               int chargeDays, long dailyChargeCents, long preDiscountChargeCents,
+                                               long discountAmountCents) {
+        return new RentalAgreement.RentalAgreementBuilder()
+                .tool(tool)
+                .rentalDayCount(rentalDayCount)
+                .discountPercent(discountPercent)
+                .checkoutDate(checkoutDate)
+                .dueDate(calculateDueDate(checkoutDate, rentalDayCount))
+                .dailyRentalCostCents(dailyChargeCents)
+                .chargeDays(chargeDays)
+                .preDiscountChargeCents(preDiscountChargeCents)
+                .discountAmountCents(discountAmountCents)
+                .finalChargeCents(calculateFinalCharge(preDiscountChargeCents, discountAmountCents))
+                .build();
     }
 
-    private BigDecimal calculatePreDiscountCharge(int chargeDays, double dailyCharge) {
-        return new BigDecimal(chargeDays * dailyCharge)
-                .setScale(2, RoundingMode.HALF_UP);
+    /**
+     * Charge days from the day after the agreement's due date through the return date. The due date itself was already
+     * charged by the agreement.
+     */
+    public int calculateLateChargeDays(RentalAgreement agreement, LocalDate returnDate) {
+        long dueDay = agreement.getDueDate().toEpochDay();
+        long returnDay = returnDate.toEpochDay();
+        return returnDay <= dueDay ? 0 : ratePlan.getRates(agreement.getTool().getType()).countChargeDays(dueDay + 1, returnDay + 1);
     }
 
-    private BigDecimal calculateDiscountAmount(int discountPercent, BigDecimal preDiscountCharge) {
-        return preDiscountCharge.multiply(new BigDecimal(discountPercent / 100.00))
-                .setScale(2, RoundingMode.HALF_UP);
+    /**
+     * Undiscounted charge for the days counted by {@link #calculateLateChargeDays}, at the rates in effect on each.
+     */
+    public long calculateLateChargeCents(RentalAgreement agreement, LocalDate returnDate) {
+        long dueDay = agreement.getDueDate().toEpochDay();
+        long returnDay = returnDate.toEpochDay();
+        return returnDay <= dueDay ? 0 : ratePlan.getRates(agreement.getTool().getType()).chargeCents(dueDay + 1, returnDay + 1);
     }
 
-    private BigDecimal calculateFinalCharge(BigDecimal preDiscountCharge, BigDecimal discountAmount) {
-        return preDiscountCharge.subtract(discountAmount)
-                .setScale(2, RoundingMode.HALF_UP);
+    Tool getToolByToolCode(ToolCode toolCode) {
+        return toolCatalog.get().getTool(toolCode);
     }
 
-    private int getWeekendDayCount(LocalDate checkoutDate, int rentalDayCount) {
-        return (int) checkoutDate.datesUntil(checkoutDate.plusDays(rentalDayCount + 1))
-                .filter(date -> date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY)
-                .count();
+    LocalDate calculateDueDate(LocalDate checkoutDate, int rentalDayCount) {
+        return checkoutDate.plusDays(rentalDayCount);
     }
 
-    private int getHolidayDayCount(LocalDate checkoutDate, int rentalDayCount) {
-        LocalDate laborDay = getLaborDay(checkoutDate.getYear());
-        LocalDate independenceDay = getIndependenceDay(checkoutDate.getYear());
+    int calculateChargeDays(Tool tool, LocalDate checkoutDate, int rentalDayCount) {
+        long firstDay = checkoutDate.toEpochDay();
+        return ratePlan.getRates(tool.getType()).countChargeDays(firstDay, firstDay + rentalDayCount + 1);
+    }
 
-        return (int) checkoutDate.datesUntil(checkoutDate.plusDays(rentalDayCount + 1))
-                .filter(date -> date.equals(laborDay) || date.equals(independenceDay))
-                .count();
+    long calculatePreDiscountCharge(Tool tool, LocalDate checkoutDate, int rentalDayCount) {
+        long firstDay = checkoutDate.toEpochDay();
+        return ratePlan.getRates(tool.getType()).chargeCents(firstDay, firstDay + rentalDayCount + 1);
     }
 
-    private LocalDate getLaborDay(int year) {
-        LocalDate septemberFirst = LocalDate.of(year, 9, 1);
-        LocalDate septemberEighth = LocalDate.of(year, 9, 8);
+    long calculateDiscountAmount(int discountPercent, long preDiscountChargeCents) {
+        return Money.percentOf(preDiscountChargeCents, discountPercent);
+    }
 
-        return septemberFirst.datesUntil(septemberEighth)
-                .filter(date -> date.getDayOfWeek() == DayOfWeek.MONDAY).findFirst()
-                .orElseThrow(InvalidDateException::new);
+    long calculateFinalCharge(long preDiscountChargeCents, long discountAmountCents) {
+        return preDiscountChargeCents - discountAmountCents;
     }
 
-    private LocalDate getIndependenceDay(int year) {
-        LocalDate julyFourth = LocalDate.of(year, 7, 4);
+    private class BatchCheckoutTask extends RecursiveAction {
+        private static final int SEQUENTIAL_THRESHOLD = 512;
+
+        private final ToolCatalog catalog;
+        private final RatePlan plan;
+        private final CheckoutRequest[] requests;
+        private final CheckoutResult[] results;
+        private final int from;
+        private final int to;
 
-        if (julyFourth.getDayOfWeek() == DayOfWeek.SATURDAY) {
-            return julyFourth.minusDays(1);
-        } else if (julyFourth.getDayOfWeek() == DayOfWeek.SUNDAY) {
-            return julyFourth.plusDays(1);
-        } else {
-            return julyFourth;
+        BatchCheckoutTask(ToolCatalog catalog, RatePlan plan, CheckoutRequest[] requests, CheckoutResult[] results, int from, int to) {
+            this.catalog = catalog;
+            this.plan = plan;
+            this.requests = requests;
+            this.results = results;
+            this.from = from;
+            this.to = to;
         }
-    }
 
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    CheckoutRequest request = requests[i];
+                    results[i] = buildCheckoutResult(catalog, plan, request.getToolCode(), request.getRentalDayCount(),
+                            request.getDiscountPercent(), request.getCheckoutDate());
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new BatchCheckoutTask(catalog, plan, requests, results, from, middle),
+                    new BatchCheckoutTask(catalog, plan, requests, results, middle, to));
+        }
+    }
 }
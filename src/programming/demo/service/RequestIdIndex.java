@@ -0,0 +1,156 @@
+package programming.demo.service;
+
+import programming.demo.model.CheckoutResult;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Checkout results by client request id, in independently locked segments of open-addressing tables keyed by the
+ * raw {@code long}, so nothing is boxed or compared through {@code equals}. Each entry expires a fixed time after it
+ * was added; expired slots stay in the probe chain as tombstones, are reused by later inserts and are dropped when the
+ * segment rehashes, which happens once live entries and tombstones fill three quarters of it.
+ */
+final class RequestIdIndex {
+
+    private static final int SEGMENT_COUNT = 16;
+    private static final int MIN_CAPACITY = 16;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    RequestIdIndex() {
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(MIN_CAPACITY);
+        }
+    }
+
+    /**
+     * Adds {@code placeholder} under the id unless a live entry is there, and returns that entry, or null if the
+     * placeholder was added.
+     */
+    CompletableFuture<CheckoutResult> putIfAbsent(long requestId, CompletableFuture<CheckoutResult> placeholder,
+                                                  long nowNanos, long expiresAtNanos) {
+        long hash = hash(requestId);
+        return segments[(int) (hash >>> 60)].putIfAbsent(requestId, (int) hash, placeholder, nowNanos, expiresAtNanos);
+    }
+
+    /**
+     * Expires the entry for the id at once if it still holds {@code expected}.
+     */
+    void remove(long requestId, CompletableFuture<CheckoutResult> expected, long nowNanos) {
+        long hash = hash(requestId);
+        segments[(int) (hash >>> 60)].remove(requestId, (int) hash, expected, nowNanos);
+    }
+
+    /**
+     * Live entries. Walks every slot, so it is meant for monitoring and tests.
+     */
+    int size(long nowNanos) {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size(nowNanos);
+        }
+        return size;
+    }
+
+    private static long hash(long requestId) {
+        long hash = requestId * 0x9E3779B97F4A7C15L;
+        // The top four bits pick the segment and the low bits the slot.
+        return hash ^ (hash >>> 32);
+    }
+
+    private static final class Segment {
+        private long[] keys;
+        private long[] expiresAt;
+        private CompletableFuture<?>[] results;
+        private int used;
+
+        Segment(int capacity) {
+            allocate(capacity);
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized CompletableFuture<CheckoutResult> putIfAbsent(long key, int hash, CompletableFuture<CheckoutResult> placeholder,
+                                                                   long now, long expires) {
+            int mask = results.length - 1;
+            int reusable = -1;
+            int slot = hash & mask;
+            while (results[slot] != null) {
+                boolean expired = expiresAt[slot] - now <= 0;
+                if (keys[slot] == key) {
+                    if (!expired) {
+                        return (CompletableFuture<CheckoutResult>) results[slot];
+                    }
+                    reusable = slot;
+                    break;
+                }
+                if (expired && reusable < 0) {
+                    reusable = slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            if (reusable >= 0) {
+                slot = reusable;
+            } else if (++used > results.length - (results.length >>> 2)) {
+                rehash(now);
+                putIfAbsent(key, hash, placeholder, now, expires);
+                return null;
+            }
+            keys[slot] = key;
+            expiresAt[slot] = expires;
+            results[slot] = placeholder;
+            return null;
+        }
+
+        synchronized void remove(long key, int hash, CompletableFuture<CheckoutResult> expected, long now) {
+            int mask = results.length - 1;
+            for (int slot = hash & mask; results[slot] != null; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    if (results[slot] == expected) {
+                        expiresAt[slot] = now;
+                    }
+                    return;
+                }
+            }
+        }
+
+        synchronized int size(long now) {
+            int size = 0;
+            for (int slot = 0; slot < results.length; slot++) {
+                if (results[slot] != null && expiresAt[slot] - now > 0) {
+                    size++;
+                }
+            }
+            return size;
+        }
+
+        private void rehash(long now) {
+            long[] oldKeys = keys;
+            long[] oldExpiresAt = expiresAt;
+            CompletableFuture<?>[] oldResults = results;
+            int live = size(now);
+            // At most half full afterwards, so at least a quarter of the table is inserted before the next rehash.
+            allocate(Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, live) * 4 - 1)));
+            int mask = results.length - 1;
+            for (int i = 0; i < oldResults.length; i++) {
+                if (oldResults[i] != null && oldExpiresAt[i] - now > 0) {
+                    int slot = (int) hash(oldKeys[i]) & mask;
+                    while (results[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    expiresAt[slot] = oldExpiresAt[i];
+                    results[slot] = oldResults[i];
+                    used++;
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            expiresAt = new long[capacity];
+            results = new CompletableFuture<?>[capacity];
+            used = 0;
+        }
+    }
+}
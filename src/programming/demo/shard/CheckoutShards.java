@@ -0,0 +1,144 @@
+package programming.demo.shard;
+
+import programming.demo.journal.AgreementJournal;
+import programming.demo.model.CheckoutResult;
+import programming.demo.model.enumeration.ToolCode;
+import programming.demo.service.RentalService;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs store checkouts on a fixed set of shards. Each store hashes to one shard, whose single thread owns the
+ * store's stock and, when a journal directory is given, its own journal file; checkouts of different shards never
+ * share a lock, so throughput grows with the number of shards up to the number of cores. Each shard has a bounded
+ * queue, and a checkout arriving at a full queue is refused at once rather than left to wait.
+ * <p>
+ * Stock can be read from any thread without locking and reflects every change its shard has finished.
+ */
+public class CheckoutShards implements Closeable {
+
+    private final Shard[] shards;
+    private final Thread[] threads;
+    private final AgreementJournal[] journals;
+
+    private CheckoutShards(CheckoutShardsBuilder builder) {
+        this.shards = new Shard[builder.shardCount];
+        this.threads = new Thread[builder.shardCount];
+        this.journals = new AgreementJournal[builder.shardCount];
+        for (int i = 0; i < shards.length; i++) {
+            if (builder.journalDirectory != null) {
+                journals[i] = AgreementJournal.open(builder.journalDirectory.resolve(String.format("shard-%d.journal", i)));
+            }
+            shards[i] = new Shard(i, builder.rentalService, journals[i], builder.queueCapacity);
+            threads[i] = new Thread(shards[i], String.format("checkout-shard-%d", i));
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+    }
+
+    public static CheckoutShardsBuilder builder(RentalService rentalService) {
+        return new CheckoutShardsBuilder(rentalService);
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    public int shardOf(String storeId) {
+        int hash = storeId.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), shards.length);
+    }
+
+    public CompletableFuture<CheckoutResult> checkout(String storeId, ToolCode toolCode, int rentalDayCount,
+                                                      int discountPercent, LocalDate checkoutDate) {
+        return shardFor(storeId).submit(new Shard.Task(Shard.Task.Kind.CHECKOUT, storeId, toolCode, rentalDayCount,
+                discountPercent, checkoutDate, 0));
+    }
+
+    public CompletableFuture<CheckoutResult> addUnits(String storeId, ToolCode toolCode, long units) {
+        if (units < 0) {
+            throw new IllegalArgumentException("units must be 0 or more.");
+        }
+        return shardFor(storeId).submit(new Shard.Task(Shard.Task.Kind.ADD_UNITS, storeId, toolCode, 0, 0, null, units));
+    }
+
+    public CompletableFuture<CheckoutResult> returnUnit(String storeId, ToolCode toolCode) {
+        return shardFor(storeId).submit(new Shard.Task(Shard.Task.Kind.RETURN_UNIT, storeId, toolCode, 0, 0, null, 1));
+    }
+
+    public long getAvailableUnits(String storeId, ToolCode toolCode) {
+        return shardFor(storeId).getAvailableUnits(storeId, toolCode);
+    }
+
+    public List<ShardStats> getShardStats() {
+        List<ShardStats> stats = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            stats.add(shard.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * Lets every shard finish the work already queued, then closes the journals.
+     */
+    @Override
+    public void close() {
+        try {
+            for (Shard shard : shards) {
+                shard.stop();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        for (AgreementJournal journal : journals) {
+            if (journal != null) {
+                journal.close();
+            }
+        }
+    }
+
+    private Shard shardFor(String storeId) {
+        return shards[shardOf(storeId)];
+    }
+
+    public static class CheckoutShardsBuilder {
+        private final RentalService rentalService;
+        private int shardCount = Runtime.getRuntime().availableProcessors();
+        private int queueCapacity = 4096;
+        private Path journalDirectory;
+
+        private CheckoutShardsBuilder(RentalService rentalService) {
+            this.rentalService = rentalService;
+        }
+
+        public CheckoutShardsBuilder shardCount(int shardCount) {
+            this.shardCount = shardCount;
+            return this;
+        }
+
+        public CheckoutShardsBuilder queueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        public CheckoutShardsBuilder journalDirectory(Path journalDirectory) {
+            this.journalDirectory = journalDirectory;
+            return this;
+        }
+
+        public CheckoutShards start() {
+            if (shardCount < 1 || queueCapacity < 1) {
+                throw new IllegalArgumentException("shardCount and queueCapacity must be 1 or more.");
+            }
+            return new CheckoutShards(this);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package programming.demo.shard;
+
+import programming.demo.journal.AgreementJournal;
+import programming.demo.metrics.LatencyHistogram;
+import programming.demo.model.CheckoutResult;
+import programming.demo.model.enumeration.CheckoutError;
+import programming.demo.model.enumeration.ToolCode;
+import programming.demo.service.RentalService;
+
+import java.time.LocalDate;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One partition of the stores, owned by a single thread. Only that thread changes the stock of its stores, so
+ * counts are updated with ordered stores instead of CAS loops, and other threads read them without locking.
+ */
+final class Shard implements Runnable {
+
+    private static final int TOOL_CODE_COUNT = ToolCode.values().length;
+
+    private final int index;
+    private final RentalService rentalService;
+    private final AgreementJournal journal;
+    private final BlockingQueue<Task> queue;
+    private final ConcurrentMap<String, AtomicLongArray> stockByStore = new ConcurrentHashMap<>();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder rejected = new LongAdder();
+    private volatile long completed;
+    private volatile boolean closed;
+    private volatile boolean stopped;
+
+    Shard(int index, RentalService rentalService, AgreementJournal journal, int queueCapacity) {
+        this.index = index;
+        this.rentalService = rentalService;
+        this.journal = journal;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Queues a checkout, or completes it at once with {@link CheckoutError#STORE_BUSY} if the queue is full. Stock
+     * changes wait for room instead, since dropping one would lose units. Once the shard is closed, tasks fail with
+     * an {@link IllegalStateException}.
+     */
+    CompletableFuture<CheckoutResult> submit(Task task) {
+        if (closed) {
+            task.future.completeExceptionally(new IllegalStateException("Shard is closed."));
+        } else if (task.kind != Task.Kind.CHECKOUT) {
+            try {
+                queue.put(task);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                task.future.completeExceptionally(ex);
+            }
+        } else if (!queue.offer(task)) {
+            rejected.increment();
+            task.future.complete(CheckoutResult.failure(CheckoutError.STORE_BUSY));
+        }
+        if (stopped) {
+            // Queued after the shard thread drained the queue; nothing will take it.
+            failQueued();
+        }
+        return task.future;
+    }
+
+    /**
+     * Rejects new tasks and lets the shard finish the ones already queued; tasks that still slip in behind the stop
+     * fail.
+     */
+    void stop() throws InterruptedException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.put(Task.STOP);
+    }
+
+    long getAvailableUnits(String storeId, ToolCode toolCode) {
+        AtomicLongArray stock = stockByStore.get(storeId);
+        return stock == null ? 0 : stock.get(toolCode.ordinal());
+    }
+
+    ShardStats getStats() {
+        return new ShardStats(index, stockByStore.size(), queue.size(), completed, rejected.sum(),
+                latency.getPercentile(0.5), latency.getPercentile(0.99), latency.getMax());
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            Task task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (task == Task.STOP) {
+                stopped = true;
+                failQueued();
+                return;
+            }
+
+            CheckoutResult result;
+            try {
+                result = execute(task);
+            } catch (RuntimeException ex) {
+                result = CheckoutResult.failure(ex);
+            }
+            latency.record(System.nanoTime() - task.submittedNanos);
+            completed++;
+            task.future.complete(result);
+        }
+    }
+
+    private void failQueued() {
+        Task task;
+        while ((task = queue.poll()) != null) {
+            task.future.completeExceptionally(new IllegalStateException("Shard is closed."));
+        }
+    }
+
+    private CheckoutResult execute(Task task) {
+        switch (task.kind) {
+            case CHECKOUT:
+                return checkout(task);
+            case ADD_UNITS:
+                adjust(task.storeId, task.toolCode, task.units);
+                return null;
+            case RETURN_UNIT:
+                adjust(task.storeId, task.toolCode, 1);
+                return null;
+            default:
+                throw new IllegalStateException("Unknown task.");
+        }
+    }
+
+    private CheckoutResult checkout(Task task) {
+        AtomicLongArray stock = stockByStore.get(task.storeId);
+        int code = task.toolCode.ordinal();
+        if (stock == null || stock.get(code) == 0) {
+            return CheckoutResult.toolNotAvailable(task.toolCode);
+        }
+        CheckoutResult result = rentalService.tryBuildRentalAgreement(task.toolCode, task.rentalDayCount,
+                task.discountPercent, task.checkoutDate);
+        if (result.isSuccess()) {
+            // Journal first: if the append throws, the checkout fails without consuming the unit.
+            if (journal != null) {
+                journal.append(result.getAgreement());
+            }
+            stock.lazySet(code, stock.get(code) - 1);
+        }
+        return result;
+    }
+
+    private void adjust(String storeId, ToolCode toolCode, long units) {
+        AtomicLongArray stock = stockByStore.computeIfAbsent(storeId, id -> new AtomicLongArray(TOOL_CODE_COUNT));
+        stock.lazySet(toolCode.ordinal(), stock.get(toolCode.ordinal()) + units);
+    }
+
+    static final class Task {
+        private static final Task STOP = new Task(null, null, null, 0, 0, null, 0);
+
+        enum Kind { CHECKOUT, ADD_UNITS, RETURN_UNIT }
+
+        private final Kind kind;
+        private final String storeId;
+        private final ToolCode toolCode;
+        private final int rentalDayCount;
+        private final int discountPercent;
+        private final LocalDate checkoutDate;
+        private final long units;
+        private final long submittedNanos = System.nanoTime();
+        private final CompletableFuture<CheckoutResult> future = new CompletableFuture<>();
+
+        Task(Kind kind, String storeId, ToolCode toolCode, int rentalDayCount, int discountPercent,
+             LocalDate checkoutDate, long units) {
+            this.kind = kind;
+            this.storeId = storeId;
+            this.toolCode = toolCode;
+            this.rentalDayCount = rentalDayCount;
+            this.discountPercent = discountPercent;
+            this.checkoutDate = checkoutDate;
+            this.units = units;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package programming.demo.shard;
+
+/**
+ * Point-in-time view of one shard. Latencies run from submission to completion, so they include queueing.
+ */
+public class ShardStats {
+    private final int shard;
+    private final int storeCount;
+    private final int queueDepth;
+    private final long completedCount;
+    private final long rejectedCount;
+    private final long latencyP50Nanos;
+    private final long latencyP99Nanos;
+    private final long latencyMaxNanos;
+
+    ShardStats(int shard, int storeCount, int queueDepth, long completedCount, long rejectedCount,
+               long latencyP50Nanos, long latencyP99Nanos, long latencyMaxNanos) {
+        this.shard = shard;
+        this.storeCount = storeCount;
+        this.queueDepth = queueDepth;
+        this.completedCount = completedCount;
+        this.rejectedCount = rejectedCount;
+        this.latencyP50Nanos = latencyP50Nanos;
+        this.latencyP99Nanos = latencyP99Nanos;
+        this.latencyMaxNanos = latencyMaxNanos;
+    }
+
+    public int getShard() {
+        return shard;
+    }
+
+    public int getStoreCount() {
+        return storeCount;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public long getLatencyP50Nanos() {
+        return latencyP50Nanos;
+    }
+
+    public long getLatencyP99Nanos() {
+        return latencyP99Nanos;
+    }
+
+    public long getLatencyMaxNanos() {
+        return latencyMaxNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("shard=%d stores=%d queue=%d completed=%d rejected=%d p50=%dns p99=%dns max=%dns", shard,
+                storeCount, queueDepth, completedCount, rejectedCount, latencyP50Nanos, latencyP99Nanos, latencyMaxNanos);
+    }
+}
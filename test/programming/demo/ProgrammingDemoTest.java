@@ -4,14 +4,20 @@ import org.junit.Test;
 import programming.demo.exception.InvalidDateException;
 import programming.demo.exception.InvalidDiscountException;
 import programming.demo.exception.InvalidRentalDayCountException;
+import programming.demo.exception.ToolNotAvailableException;
+import programming.demo.model.CheckoutRequest;
+import programming.demo.model.CheckoutResult;
 import programming.demo.model.RentalAgreement;
 import programming.demo.model.Tool;
+import programming.demo.model.enumeration.CheckoutError;
 import programming.demo.model.enumeration.ToolBrand;
 import programming.demo.model.enumeration.ToolType;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.Assert.*;
 import static programming.demo.model.enumeration.ToolCode.*;
@@ -184,4 +190,71 @@ public class ProgrammingDemoTest {
                 "Final Charge: $37.67\n", agreement.toString());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void checkout_shouldReturnResultsInInputOrder_andReportInvalidItems_whenCheckingOutBatch() {
+        List<CheckoutRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            requests.add(new CheckoutRequest(JAKR, 1 + i % 30, i == 1234 ? 101 : i % 50, LocalDate.of(2020, 7, 2)));
+        }
+
+        List<CheckoutResult> results = ProgrammingDemo.checkout(requests);
+
+        assertEquals(requests.size(), results.size());
+        for (int i = 0; i < requests.size(); i++) {
+            CheckoutRequest request = requests.get(i);
+            if (i == 1234) {
+                assertFalse(results.get(i).isSuccess());
+                assertEquals(InvalidDiscountException.class, results.get(i).getError().getClass());
+            } else {
+                assertEquals(ProgrammingDemo.checkout(request.getToolCode(), request.getRentalDayCount(),
+                        request.getDiscountPercent(), request.getCheckoutDate()), results.get(i).getAgreement());
+            }
+        }
+    }
+
+    @Test
+    public void checkout_shouldReserveUnit_andThrowToolNotAvailableException_whenStoreRunsOut() {
+        ProgrammingDemo.getInventory().addUnits("store-inventory-test", LADW, 1);
+
+        ProgrammingDemo.checkout("store-inventory-test", LADW, 3, 10, LocalDate.of(2020, 7, 2));
+        Exception actual = new Exception();
+        try {
+            ProgrammingDemo.checkout("store-inventory-test", LADW, 3, 10, LocalDate.of(2020, 7, 2));
+        } catch (Exception ex) {
+            actual = ex;
+        }
+        assertEquals(actual.getClass(), ToolNotAvailableException.class);
+        assertEquals(0, ProgrammingDemo.getInventory().getAvailableUnits("store-inventory-test", LADW));
+    }
+
+    @Test
+    public void tryCheckout_shouldReturnSharedFailures_insteadOfThrowing() {
+        CheckoutResult discount = ProgrammingDemo.tryCheckout(JAKR, 5, 101, LocalDate.of(2015, 9, 3));
+        CheckoutResult days = ProgrammingDemo.tryCheckout(JAKR, 0, 10, LocalDate.of(2015, 9, 3));
+
+        assertFalse(discount.isSuccess());
+        assertEquals(CheckoutError.INVALID_DISCOUNT, discount.getErrorCode());
+        assertEquals("The discount percent range must be between 0-100.", discount.getErrorMessage());
+        assertSame(discount, ProgrammingDemo.tryCheckout(LADW, 3, -1, LocalDate.of(2020, 7, 2)));
+        assertEquals(CheckoutError.INVALID_RENTAL_DAY_COUNT, days.getErrorCode());
+        assertEquals(InvalidRentalDayCountException.class, days.getError().getClass());
+
+        CheckoutResult success = ProgrammingDemo.tryCheckout(LADW, 3, 10, LocalDate.of(2020, 7, 2));
+        assertTrue(success.isSuccess());
+        assertNull(success.getErrorCode());
+        assertEquals(ProgrammingDemo.checkout(LADW, 3, 10, LocalDate.of(2020, 7, 2)), success.getAgreement());
+    }
+
+    @Test
+    public void tryCheckout_shouldReportToolNotAvailable_andKeepStock_whenStoreRunsOut() {
+        ProgrammingDemo.getInventory().addUnits("store-try-checkout-test", CHNS, 1);
+
+        assertFalse(ProgrammingDemo.tryCheckout("store-try-checkout-test", CHNS, 3, 101, LocalDate.of(2020, 7, 2)).isSuccess());
+        assertEquals(1, ProgrammingDemo.getInventory().getAvailableUnits("store-try-checkout-test", CHNS));
+        assertTrue(ProgrammingDemo.tryCheckout("store-try-checkout-test", CHNS, 3, 10, LocalDate.of(2020, 7, 2)).isSuccess());
+
+        CheckoutResult result = ProgrammingDemo.tryCheckout("store-try-checkout-test", CHNS, 3, 10, LocalDate.of(2020, 7, 2));
+        assertEquals(CheckoutError.TOOL_NOT_AVAILABLE, result.getErrorCode());
+        assertEquals("Tool CHNS is not available, please try another code.", result.getErrorMessage());
+    }
+}
@@ -0,0 +1,64 @@
+package programming.demo.analytics;
+
+import org.junit.Test;
+import programming.demo.ProgrammingDemo;
+import programming.demo.model.RentalAgreement;
+import programming.demo.model.enumeration.ToolCode;
+import programming.demo.model.enumeration.ToolType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class RevenueStoreTest {
+
+    private static final int ROWS = 150_000;
+
+    @Test
+    public void sumBy_shouldMatchTotalsOfTheAgreements_whenRowsSpanSeveralChunks() {
+        List<RentalAgreement> agreements = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            agreements.add(ProgrammingDemo.checkout(ToolCode.values()[i % 4], 1 + i % 20, i % 101,
+                    LocalDate.of(2015, 1, 1).plusDays(i % 730)));
+        }
+
+        for (RevenueStore store : new RevenueStore[]{RevenueStore.onHeap(), RevenueStore.offHeap()}) {
+            store.addAll(agreements);
+            assertEquals(ROWS, store.size());
+
+            RevenueSummary byType = store.sumBy(RevenueDimension.TOOL_TYPE, RevenueFilter.all());
+            for (ToolType toolType : ToolType.values()) {
+                long expected = agreements.stream().filter(agreement -> agreement.getTool().getType() == toolType)
+                        .mapToLong(RentalAgreement::getFinalChargeCents).sum();
+                assertEquals(toolType.name(), byType.getGroupLabel(toolType.ordinal()));
+                assertEquals(expected, byType.getFinalChargeCents(toolType.ordinal()));
+            }
+
+            RevenueFilter ladders2016 = RevenueFilter.builder()
+                    .checkoutBetween(LocalDate.of(2016, 1, 1), LocalDate.of(2017, 1, 1))
+                    .toolTypes(ToolType.Ladder)
+                    .discountPercentBetween(10, 50)
+                    .build();
+            RevenueSummary byMonth = store.sumBy(RevenueDimension.MONTH, ladders2016);
+            assertEquals(24, byMonth.getGroupCount());
+            assertEquals("2015-01", byMonth.getGroupLabel(0));
+            assertEquals(0, byMonth.getCount(11));
+            long expected = agreements.stream()
+                    .filter(agreement -> agreement.getTool().getType() == ToolType.Ladder
+                            && agreement.getCheckoutDate().getYear() == 2016
+                            && agreement.getDiscountPercent() >= 10 && agreement.getDiscountPercent() <= 50)
+                    .mapToLong(RentalAgreement::getPreDiscountChargeCents).sum();
+            long actual = 0;
+            for (int group = 0; group < byMonth.getGroupCount(); group++) {
+                actual += byMonth.getPreDiscountChargeCents(group);
+            }
+            assertEquals(expected, actual);
+
+            RevenueSummary byBand = store.sumBy(RevenueDimension.DISCOUNT_BAND, RevenueFilter.all());
+            assertEquals("100", byBand.getGroupLabel(10));
+            assertEquals(ROWS, byBand.getTotalCount());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package programming.demo.bulk;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import programming.demo.service.RentalService;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class BulkCheckoutPipelineTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void run_shouldWriteOneRowPerLine_whenFileHasHeaderAndInvalidLines() throws IOException {
+        Path input = folder.newFile("checkouts.csv").toPath();
+        Path output = folder.getRoot().toPath().resolve("agreements.csv");
+        Files.write(input, ("toolCode,rentalDays,discountPercent,checkoutDate\r\n"
+                + "LADW,3,10,2020-07-02\r\n"
+                + "\r\n"
+                + "JAKR,not a number,0,2015-09-03\n"
+                + "JAKR,4,101,2015-09-03\n"
+                + "CHNS,5,25,2015-07-02").getBytes(StandardCharsets.US_ASCII));
+
+        BulkCheckoutReport report = new BulkCheckoutPipeline(new RentalService()).run(input, output);
+
+        assertEquals(6, report.getLines());
+        assertEquals(2, report.getAgreements());
+        assertEquals(3, report.getErrors());
+        List<String> rows = Files.readAllLines(output, StandardCharsets.US_ASCII);
+        assertEquals(6, rows.size());
+        assertEquals("2,LADW,Ladder,Werner,3,2020-07-02,2020-07-05,1.99,3,5.97,10,0.60,5.37,", rows.get(1));
+        assertEquals("3,,,,,,,,,,,,,\"Line is not a valid checkout request.\"", rows.get(2));
+        assertEquals("4,,,,,,,,,,,,,\"Line is not a valid checkout request.\"", rows.get(3));
+        assertEquals("5,,,,,,,,,,,,,\"The discount percent range must be between 0-100.\"", rows.get(4));
+        assertEquals("6,CHNS,Chainsaw,Stihl,5,2015-07-02,2015-07-07,1.49,4,5.96,25,1.49,4.47,", rows.get(5));
+    }
+
+    @Test
+    public void run_shouldKeepInputOrder_whenFileSpansManyBatches() throws IOException {
+        Path input = folder.newFile("checkouts.csv").toPath();
+        Path output = folder.getRoot().toPath().resolve("agreements.csv");
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            lines.add(String.format("JAKD,%d,%d,2015-09-03", 1 + i % 30, i % 101));
+        }
+        Files.write(input, lines, StandardCharsets.US_ASCII);
+
+        BulkCheckoutReport report = new BulkCheckoutPipeline(new RentalService()).run(input, output);
+
+        assertEquals(20000, report.getAgreements());
+        List<String> rows = Files.readAllLines(output, StandardCharsets.US_ASCII);
+        assertEquals(20001, rows.size());
+        for (int i = 1; i < rows.size(); i++) {
+            assertEquals(i + ",JAKD,Jackhammer,DeWalt," + (1 + (i - 1) % 30) + ",", rows.get(i).substring(0, rows.get(i).indexOf(",2015")) + ",");
+        }
+    }
+
+    @Test
+    public void run_shouldReportLongLine_whenItFillsTheBatch() throws IOException {
+        Path input = folder.newFile("checkouts.csv").toPath();
+        Path output = folder.getRoot().toPath().resolve("agreements.csv");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 4095; i++) {
+            content.append("JAKD,3,0,2015-09-03\n");
+        }
+        char[] longLine = new char[(1 << 20) + 10];
+        Arrays.fill(longLine, 'x');
+        content.append(longLine).append('\n');
+        content.append("LADW,3,10,2020-07-02\n");
+        Files.write(input, content.toString().getBytes(StandardCharsets.US_ASCII));
+
+        BulkCheckoutReport report = new BulkCheckoutPipeline(new RentalService()).run(input, output);
+
+        assertEquals(4097, report.getLines());
+        assertEquals(4096, report.getAgreements());
+        assertEquals(1, report.getErrors());
+        List<String> rows = Files.readAllLines(output, StandardCharsets.US_ASCII);
+        assertEquals(4098, rows.size());
+        assertEquals("4096,,,,,,,,,,,,,\"Line is not a valid checkout request.\"", rows.get(4096));
+        assertEquals("4097,LADW,", rows.get(4097).substring(0, 10));
+    }
+
+    @Test
+    public void writeError_shouldWriteEmptyMessage_whenMessageIsNull() {
+        ByteBuffer buffer = ByteBuffer.allocate(AgreementCsvWriter.MAX_ROW_LENGTH);
+
+        AgreementCsvWriter.writeError(buffer, 7, null);
+
+        assertEquals("7,,,,,,,,,,,,,\"\"\n", new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,81 @@
+package programming.demo.calendar;
+
+import org.junit.Test;
+import programming.demo.model.ChargeInformation;
+import programming.demo.model.enumeration.ToolType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class ChargeDayCalendarTest {
+
+    private final ChargeDayCalendar calendar = ChargeDayCalendar.forHolidays(HolidayCalendar.defaultCalendar());
+
+    @Test
+    public void forHolidays_shouldReturnCachedCalendar_whileItIsReferenced() {
+        assertSame(calendar, ChargeDayCalendar.forHolidays(HolidayCalendar.defaultCalendar()));
+        assertSame(HolidayCalendar.defaultCalendar(), calendar.getHolidayCalendar());
+    }
+
+    @Test
+    public void countChargeDays_shouldMatchDayByDayCount_forEveryToolType() {
+        LocalDate start = LocalDate.of(2014, 12, 20);
+        for (ToolType toolType : ToolType.values()) {
+            ChargeInformation chargeInformation = ChargeInformation.of(toolType);
+            for (int offset = 0; offset < 800; offset += 7) {
+                for (int rentalDayCount = 1; rentalDayCount <= 400; rentalDayCount += 13) {
+                    LocalDate checkoutDate = start.plusDays(offset);
+                    assertEquals(countDayByDay(chargeInformation, checkoutDate, rentalDayCount),
+                            calendar.countChargeDays(chargeInformation, checkoutDate, rentalDayCount));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void countChargeDays_shouldUseHolidaysOfEveryYear_whenRentalCrossesYearBoundary() {
+        ChargeInformation jackhammer = ChargeInformation.of(ToolType.Jackhammer);
+        LocalDate checkoutDate = LocalDate.of(2015, 12, 28);
+        int rentalDayCount = 200;
+
+        assertEquals(countDayByDay(jackhammer, checkoutDate, rentalDayCount),
+                calendar.countChargeDays(jackhammer, checkoutDate, rentalDayCount));
+    }
+
+    @Test
+    public void countChargeDays_shouldStayExact_forRentalsSpanningSeveralCycles() {
+        ChargeInformation chainsaw = ChargeInformation.of(ToolType.Chainsaw);
+        LocalDate checkoutDate = LocalDate.of(1601, 3, 1);
+        int rentalDayCount = 146097 * 3 + 1000;
+
+        assertEquals(countDayByDay(chainsaw, checkoutDate, rentalDayCount),
+                calendar.countChargeDays(chainsaw, checkoutDate, rentalDayCount));
+    }
+
+    private static int countDayByDay(ChargeInformation chargeInformation, LocalDate checkoutDate, int rentalDayCount) {
+        int chargeDays = 0;
+        for (LocalDate date = checkoutDate; !date.isAfter(checkoutDate.plusDays(rentalDayCount)); date = date.plusDays(1)) {
+            boolean weekend = date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+            if (weekend ? !chargeInformation.hasWeekendCharge() : !chargeInformation.hasWeekdayCharge()) {
+                continue;
+            }
+            if (isHoliday(date) && !chargeInformation.hasHolidayCharge()) {
+                continue;
+            }
+            chargeDays++;
+        }
+        return chargeDays;
+    }
+
+    private static boolean isHoliday(LocalDate date) {
+        LocalDate julyFourth = LocalDate.of(date.getYear(), 7, 4);
+        LocalDate independenceDay = julyFourth.getDayOfWeek() == DayOfWeek.SATURDAY ? julyFourth.minusDays(1)
+                : julyFourth.getDayOfWeek() == DayOfWeek.SUNDAY ? julyFourth.plusDays(1) : julyFourth;
+        LocalDate laborDay = LocalDate.of(date.getYear(), 9, 1).with(TemporalAdjusters.firstInMonth(DayOfWeek.MONDAY));
+        return date.equals(independenceDay) || date.equals(laborDay);
+    }
+}
@@ -0,0 +1,70 @@
+package programming.demo.calendar;
+
+import org.junit.Test;
+import programming.demo.exception.InvalidHolidayRuleException;
+
+import java.lang.ref.WeakReference;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class HolidayCalendarTest {
+
+    @Test
+    public void defaultCalendar_shouldObserveIndependenceDay_andLaborDay() {
+        HolidayCalendar calendar = HolidayCalendar.defaultCalendar();
+
+        assertTrue(calendar.isHoliday(LocalDate.of(2020, 7, 3)));
+        assertFalse(calendar.isHoliday(LocalDate.of(2020, 7, 4)));
+        assertTrue(calendar.isHoliday(LocalDate.of(2021, 7, 5)));
+        assertTrue(calendar.isHoliday(LocalDate.of(2015, 9, 7)));
+        assertFalse(calendar.isHoliday(LocalDate.of(2015, 9, 1)));
+    }
+
+    @Test
+    public void isHoliday_shouldShiftObservedDate_intoPreviousYear() {
+        HolidayCalendar calendar = HolidayCalendar.of(List.of(HolidayRule.parse("New Year = fixed 01-01 observed")));
+
+        assertTrue(calendar.isHoliday(LocalDate.of(2021, 12, 31)));
+        assertFalse(calendar.isHoliday(LocalDate.of(2022, 1, 1)));
+    }
+
+    @Test
+    public void parse_shouldSupportLastWeekdayOfMonth() {
+        HolidayRule memorialDay = HolidayRule.parse("Memorial Day = nth -1 MONDAY 05");
+
+        assertEquals(LocalDate.of(2020, 5, 25), memorialDay.dateIn(2020));
+    }
+
+    @Test
+    public void of_shouldShareCalendar_whenRulesAreTheSame() {
+        HolidayCalendar first = HolidayCalendar.of(List.of(HolidayRule.parse("Labor Day = nth 1 MONDAY 09")));
+        HolidayCalendar second = HolidayCalendar.of(List.of(HolidayRule.parse("Labour Day = nth 1 MONDAY 09")));
+
+        assertSame(first, second);
+    }
+
+    @Test
+    public void of_shouldLetCalendarBeCollected_whenNothingUsesIt() throws InterruptedException {
+        HolidayCalendar calendar = HolidayCalendar.of(List.of(HolidayRule.parse("Founders Day = fixed 03-17")));
+        calendar.isHoliday(LocalDate.of(2020, 3, 17));
+        WeakReference<HolidayCalendar> holidays = new WeakReference<>(calendar);
+        WeakReference<ChargeDayCalendar> chargeDays = new WeakReference<>(ChargeDayCalendar.forHolidays(calendar));
+        calendar = null;
+
+        for (int attempt = 0; attempt < 50 && (holidays.get() != null || chargeDays.get() != null); attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(holidays.get());
+        assertNull(chargeDays.get());
+        assertNotNull(HolidayCalendar.of(List.of(HolidayRule.parse("Founders Day = fixed 03-17"))));
+    }
+
+    @Test(expected = InvalidHolidayRuleException.class)
+    public void parse_shouldThrowInvalidHolidayRuleException_whenRuleIsMalformed() {
+        HolidayRule.parse("Broken = nth 1 FUNDAY 09");
+    }
+}
@@ -0,0 +1,81 @@
+package programming.demo.catalog;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import programming.demo.exception.InvalidCatalogEntryException;
+import programming.demo.exception.ToolNotFoundException;
+import programming.demo.model.Tool;
+import programming.demo.model.enumeration.ToolBrand;
+import programming.demo.model.enumeration.ToolCode;
+import programming.demo.model.enumeration.ToolType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ToolCatalogTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void defaultCatalog_shouldHoldEveryToolOfDefaultTools() {
+        ToolCatalog catalog = ToolCatalog.defaultCatalog();
+
+        assertEquals(4, catalog.getTools().size());
+        assertEquals(new Tool(ToolType.Jackhammer, ToolBrand.Ridgid, ToolCode.JAKR), catalog.getTool(ToolCode.JAKR));
+        assertEquals(new Tool(ToolType.Chainsaw, ToolBrand.Stihl, ToolCode.CHNS), catalog.getTool(ToolCode.CHNS));
+        assertEquals(new Tool(ToolType.Jackhammer, ToolBrand.DeWalt, ToolCode.JAKD), catalog.getTool(ToolCode.JAKD));
+        assertEquals(new Tool(ToolType.Ladder, ToolBrand.Werner, ToolCode.LADW), catalog.getTool(ToolCode.LADW));
+        assertSame(catalog, ToolCatalog.defaultCatalog());
+    }
+
+    @Test
+    public void load_shouldSkipCommentsAndBlankLines_andTrimFields() throws IOException {
+        Path file = write("# <code>,<type>,<brand>\n\n  LADW , Ladder , Werner  \r\nCHNS,Chainsaw,Stihl\n");
+
+        ToolCatalog catalog = ToolCatalog.load(file);
+
+        assertEquals(List.of(new Tool(ToolType.Ladder, ToolBrand.Werner, ToolCode.LADW),
+                new Tool(ToolType.Chainsaw, ToolBrand.Stihl, ToolCode.CHNS)), catalog.getTools());
+        assertTrue(catalog.contains(ToolCode.LADW));
+        assertFalse(catalog.contains(ToolCode.JAKR));
+    }
+
+    @Test(expected = ToolNotFoundException.class)
+    public void getTool_shouldThrowToolNotFoundException_whenCodeIsNotInCatalog() throws IOException {
+        ToolCatalog.load(write("LADW,Ladder,Werner\n")).getTool(ToolCode.JAKD);
+    }
+
+    @Test(expected = InvalidCatalogEntryException.class)
+    public void load_shouldThrowInvalidCatalogEntryException_whenCodeRepeats() throws IOException {
+        ToolCatalog.load(write("LADW,Ladder,Werner\nLADW,Ladder,Werner\n"));
+    }
+
+    @Test(expected = InvalidCatalogEntryException.class)
+    public void load_shouldThrowInvalidCatalogEntryException_whenFieldIsMissing() throws IOException {
+        ToolCatalog.load(write("LADW,Ladder\n"));
+    }
+
+    @Test(expected = InvalidCatalogEntryException.class)
+    public void load_shouldThrowInvalidCatalogEntryException_whenBrandIsUnknown() throws IOException {
+        ToolCatalog.load(write("LADW,Ladder,Acme\n"));
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void load_shouldThrowUncheckedIOException_whenFileDoesNotExist() {
+        ToolCatalog.load(folder.getRoot().toPath().resolve("missing.tools"));
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
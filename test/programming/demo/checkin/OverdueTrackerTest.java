@@ -0,0 +1,110 @@
+package programming.demo.checkin;
+
+import org.junit.Test;
+import programming.demo.model.RentalAgreement;
+import programming.demo.service.RentalService;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static programming.demo.model.enumeration.ToolCode.JAKR;
+import static programming.demo.model.enumeration.ToolCode.LADW;
+
+public class OverdueTrackerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2020, 7, 1);
+
+    private final RentalService rentalService = new RentalService();
+
+    @Test
+    public void advanceTo_shouldReportRental_onTheDayAfterItsDueDate() {
+        for (int days : new int[]{1, 10, 63, 64, 100, 4095, 4096, 5000}) {
+            OverdueTracker tracker = new OverdueTracker(rentalService, TODAY);
+            OpenRental rental = tracker.register(rentalService.buildRentalAgreement(LADW, days, 0, TODAY));
+            LocalDate dueDate = rental.getAgreement().getDueDate();
+
+            assertEquals(Collections.emptyList(), tracker.advanceTo(dueDate));
+            assertFalse(rental.isOverdue());
+            assertEquals(Collections.singletonList(rental), tracker.advanceTo(dueDate.plusDays(1)));
+            assertTrue(rental.isOverdue());
+            assertEquals(Collections.emptyList(), tracker.advanceTo(dueDate.plusDays(10000)));
+            assertEquals(1, tracker.getOpenCount());
+        }
+    }
+
+    @Test
+    public void advanceTo_shouldReportRentalsInDueDateOrder_whenSkippingDays() {
+        OverdueTracker tracker = new OverdueTracker(rentalService, TODAY);
+        OpenRental late = tracker.register(rentalService.buildRentalAgreement(LADW, 200, 0, TODAY));
+        OpenRental early = tracker.register(rentalService.buildRentalAgreement(JAKR, 5, 0, TODAY));
+        OpenRental middle = tracker.register(rentalService.buildRentalAgreement(LADW, 70, 0, TODAY));
+
+        assertEquals(Arrays.asList(early, middle, late), tracker.advanceTo(TODAY.plusDays(365)));
+    }
+
+    @Test
+    public void advanceTo_shouldSkipRental_whenCheckedInBeforeDue() {
+        OverdueTracker tracker = new OverdueTracker(rentalService, TODAY);
+        OpenRental returned = tracker.register(rentalService.buildRentalAgreement(LADW, 100, 0, TODAY));
+        OpenRental kept = tracker.register(rentalService.buildRentalAgreement(LADW, 100, 0, TODAY));
+
+        CheckIn checkIn = tracker.checkIn(returned, TODAY.plusDays(50));
+
+        assertEquals(0, checkIn.getLateDayCount());
+        assertEquals(0, checkIn.getLateChargeCents());
+        assertTrue(returned.isCheckedIn());
+        assertEquals(Collections.singletonList(kept), tracker.advanceTo(TODAY.plusDays(200)));
+        assertEquals(1, tracker.getOpenCount());
+    }
+
+    @Test
+    public void register_shouldReportRental_whenAlreadyOverdue() {
+        OverdueTracker tracker = new OverdueTracker(rentalService, TODAY);
+        OpenRental rental = tracker.register(rentalService.buildRentalAgreement(LADW, 3, 0, TODAY.minusDays(10)));
+
+        assertEquals(Collections.singletonList(rental), tracker.advanceTo(TODAY));
+    }
+
+    @Test
+    public void checkIn_shouldChargeLateDays_fromTheDayAfterTheDueDate() {
+        OverdueTracker tracker = new OverdueTracker(rentalService, TODAY);
+        OpenRental rental = tracker.register(rentalService.buildRentalAgreement(JAKR, 1, 10, TODAY));
+        LocalDate dueDate = rental.getAgreement().getDueDate();
+        List<OpenRental> overdue = tracker.advanceTo(LocalDate.of(2020, 7, 9));
+
+        CheckIn checkIn = tracker.checkIn(rental, LocalDate.of(2020, 7, 9));
+
+        assertEquals(LocalDate.of(2020, 7, 2), dueDate);
+        assertEquals(Collections.singletonList(rental), overdue);
+        assertEquals(7, checkIn.getLateDayCount());
+        assertEquals(4, checkIn.getLateChargeDays());
+        assertEquals(4 * 299, checkIn.getLateChargeCents());
+        assertEquals(0, tracker.getOpenCount());
+    }
+
+    @Test
+    public void calculateLateChargeDays_shouldSkipHolidayAndWeekend_byToolCharges() {
+        RentalAgreement jackhammer = rentalService.buildRentalAgreement(JAKR, 1, 0, TODAY);
+        RentalAgreement ladder = rentalService.buildRentalAgreement(LADW, 1, 0, TODAY);
+
+        assertEquals(0, rentalService.calculateLateChargeDays(jackhammer, LocalDate.of(2020, 7, 2)));
+        assertEquals(0, rentalService.calculateLateChargeDays(jackhammer, LocalDate.of(2020, 7, 3)));
+        assertEquals(0, rentalService.calculateLateChargeDays(jackhammer, LocalDate.of(2020, 7, 5)));
+        assertEquals(1, rentalService.calculateLateChargeDays(jackhammer, LocalDate.of(2020, 7, 6)));
+        assertEquals(0, rentalService.calculateLateChargeDays(ladder, LocalDate.of(2020, 7, 3)));
+        assertEquals(2, rentalService.calculateLateChargeDays(ladder, LocalDate.of(2020, 7, 5)));
+        assertEquals(3, rentalService.calculateLateChargeDays(ladder, LocalDate.of(2020, 7, 6)));
+        assertEquals(3 * 199, rentalService.calculateLateChargeCents(ladder, LocalDate.of(2020, 7, 6)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void checkIn_shouldThrow_whenAlreadyCheckedIn() {
+        OverdueTracker tracker = new OverdueTracker(rentalService, TODAY);
+        OpenRental rental = tracker.register(rentalService.buildRentalAgreement(LADW, 3, 0, TODAY));
+        tracker.checkIn(rental, TODAY.plusDays(3));
+        tracker.checkIn(rental, TODAY.plusDays(3));
+    }
+}
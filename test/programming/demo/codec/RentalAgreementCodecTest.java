@@ -0,0 +1,114 @@
+package programming.demo.codec;
+
+import org.junit.Test;
+import programming.demo.ProgrammingDemo;
+import programming.demo.catalog.ToolCatalog;
+import programming.demo.exception.InvalidAgreementEncodingException;
+import programming.demo.model.RentalAgreement;
+import programming.demo.model.Tool;
+import programming.demo.model.enumeration.ToolBrand;
+import programming.demo.model.enumeration.ToolCode;
+import programming.demo.model.enumeration.ToolType;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class RentalAgreementCodecTest {
+
+    @Test
+    public void decode_shouldReturnEqualAgreements_whenSeveralAreEncodedBackToBack() {
+        RentalAgreement[] agreements = {
+                ProgrammingDemo.checkout(ToolCode.LADW, 3, 10, LocalDate.of(2020, 7, 2)),
+                ProgrammingDemo.checkout(ToolCode.CHNS, 5, 25, LocalDate.of(2015, 7, 2)),
+                ProgrammingDemo.checkout(ToolCode.JAKR, 9, 0, LocalDate.of(2015, 7, 2))
+        };
+        ByteBuffer buffer = ByteBuffer.allocate(agreements.length * RentalAgreementCodec.ENCODED_LENGTH);
+        for (RentalAgreement agreement : agreements) {
+            RentalAgreementCodec.encode(agreement, buffer);
+        }
+        assertEquals(buffer.capacity(), buffer.position());
+
+        buffer.flip();
+        for (RentalAgreement agreement : agreements) {
+            RentalAgreement decoded = RentalAgreementCodec.decode(buffer);
+            assertEquals(agreement, decoded);
+            assertEquals(agreement.toString(), decoded.toString());
+            assertSame(agreement.getTool(), decoded.getTool());
+        }
+    }
+
+    @Test
+    public void flyweight_shouldReadFieldsInPlace_whenWrappedAtAnOffset() {
+        RentalAgreement agreement = ProgrammingDemo.checkout(ToolCode.JAKD, 6, 100, LocalDate.of(2015, 9, 3));
+        ByteBuffer buffer = ByteBuffer.allocateDirect(8 + RentalAgreementCodec.ENCODED_LENGTH);
+        RentalAgreementCodec.encode(agreement, buffer, 8);
+
+        RentalAgreementFlyweight flyweight = new RentalAgreementFlyweight().wrap(buffer, 8);
+
+        assertEquals(ToolCode.JAKD, flyweight.getToolCode());
+        assertEquals(agreement.getTool().getType(), flyweight.getToolType());
+        assertEquals(agreement.getTool().getBrand(), flyweight.getToolBrand());
+        assertEquals(100, flyweight.getDiscountPercent());
+        assertEquals(6, flyweight.getRentalDayCount());
+        assertEquals(agreement.getChargeDays(), flyweight.getChargeDays());
+        assertEquals(agreement.getDueDate(), flyweight.getDueDate());
+        assertEquals(agreement.getPreDiscountChargeCents(), flyweight.getPreDiscountChargeCents());
+        assertEquals(0, flyweight.getFinalChargeCents());
+        assertEquals(agreement, flyweight.toRentalAgreement());
+    }
+
+    @Test(expected = InvalidAgreementEncodingException.class)
+    public void decode_shouldThrow_whenToolCodeOrdinalIsOutOfRange() {
+        ByteBuffer buffer = encoded(ProgrammingDemo.checkout(ToolCode.LADW, 3, 10, LocalDate.of(2020, 7, 2)));
+        buffer.put(RentalAgreementCodec.TOOL_CODE_OFFSET, (byte) 99);
+
+        RentalAgreementCodec.decode(buffer, 0);
+    }
+
+    @Test(expected = InvalidAgreementEncodingException.class)
+    public void wrap_shouldThrow_whenVersionIsUnknown() {
+        ByteBuffer buffer = encoded(ProgrammingDemo.checkout(ToolCode.LADW, 3, 10, LocalDate.of(2020, 7, 2)));
+        buffer.put(RentalAgreementCodec.VERSION_OFFSET, (byte) (RentalAgreementCodec.VERSION + 1));
+
+        new RentalAgreementFlyweight().wrap(buffer, 0);
+    }
+
+    @Test
+    public void decode_shouldResolveToolsAgainstTheGivenCatalog() {
+        RentalAgreement agreement = ProgrammingDemo.checkout(ToolCode.CHNS, 5, 25, LocalDate.of(2015, 7, 2));
+        List<Tool> tools = new ArrayList<>();
+        for (Tool tool : ToolCatalog.defaultCatalog().getTools()) {
+            tools.add(new Tool(tool.getType(), tool.getBrand(), tool.getCode()));
+        }
+        ToolCatalog catalog = ToolCatalog.of(tools);
+
+        RentalAgreement decoded = RentalAgreementCodec.decode(encoded(agreement), 0, catalog);
+
+        assertEquals(agreement, decoded);
+        assertSame(catalog.getTool(ToolCode.CHNS), decoded.getTool());
+        assertNotSame(agreement.getTool(), decoded.getTool());
+    }
+
+    @Test
+    public void decode_shouldKeepEncodedTool_whenCatalogDescribesTheCodeDifferently() {
+        RentalAgreement agreement = ProgrammingDemo.checkout(ToolCode.CHNS, 5, 25, LocalDate.of(2015, 7, 2));
+        ToolCatalog catalog = ToolCatalog.of(List.of(new Tool(ToolType.Chainsaw, ToolBrand.DeWalt, ToolCode.CHNS)));
+
+        RentalAgreement decoded = RentalAgreementCodec.decode(encoded(agreement), 0, catalog);
+
+        assertEquals(agreement.getTool(), decoded.getTool());
+        assertNotSame(catalog.getTool(ToolCode.CHNS), decoded.getTool());
+    }
+
+    private static ByteBuffer encoded(RentalAgreement agreement) {
+        ByteBuffer buffer = ByteBuffer.allocate(RentalAgreementCodec.ENCODED_LENGTH);
+        RentalAgreementCodec.encode(agreement, buffer, 0);
+        return buffer;
+    }
+}
@@ -0,0 +1,61 @@
+package programming.demo.format;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+
+public class AsciiFormatTest {
+
+    @Test
+    public void putNumber_shouldMatchStringFormat_forPaddedAndNegativeValues() throws IOException {
+        long[] values = {0, 7, 9, 10, 99, 100, 12345, -5, -120, Long.MAX_VALUE};
+        for (long value : values) {
+            for (int minDigits = 1; minDigits <= 4; minDigits++) {
+                String expected = value < 0
+                        ? "-" + String.format("%0" + minDigits + "d", -value)
+                        : String.format("%0" + minDigits + "d", value);
+
+                ByteBuffer buffer = ByteBuffer.allocate(32);
+                AsciiFormat.putNumber(buffer, value, minDigits);
+                assertEquals(expected, ascii(buffer));
+
+                StringBuilder builder = new StringBuilder();
+                AsciiFormat.appendNumber(builder, value, minDigits);
+                assertEquals(expected, builder.toString());
+            }
+        }
+    }
+
+    @Test
+    public void putCents_shouldWriteTwoFractionDigits() throws IOException {
+        long[] cents = {0, 5, 60, 199, 100000, -7, -1234};
+        String[] expected = {"0.00", "0.05", "0.60", "1.99", "1000.00", "-0.07", "-12.34"};
+        for (int i = 0; i < cents.length; i++) {
+            ByteBuffer buffer = ByteBuffer.allocate(32);
+            AsciiFormat.putCents(buffer, cents[i]);
+            assertEquals(expected[i], ascii(buffer));
+
+            StringBuilder builder = new StringBuilder();
+            AsciiFormat.appendCents(builder, cents[i]);
+            assertEquals(expected[i], builder.toString());
+        }
+    }
+
+    @Test
+    public void putIsoDate_shouldMatchLocalDateToString() {
+        for (LocalDate date : new LocalDate[]{LocalDate.of(2020, 7, 2), LocalDate.of(999, 12, 31), LocalDate.of(2015, 10, 10)}) {
+            ByteBuffer buffer = ByteBuffer.allocate(32);
+            AsciiFormat.putIsoDate(buffer, date);
+            assertEquals(date.toString(), ascii(buffer));
+        }
+    }
+
+    private static String ascii(ByteBuffer buffer) {
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,111 @@
+package programming.demo.http;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import programming.demo.inventory.Inventory;
+import programming.demo.model.CheckoutResult;
+import programming.demo.model.enumeration.ToolCode;
+import programming.demo.service.IdempotentCheckout;
+import programming.demo.service.RentalService;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CheckoutServerTest {
+
+    private final Inventory inventory = new Inventory(1);
+    private final IdempotentCheckout idempotentCheckout = new IdempotentCheckout(Duration.ofDays(1));
+    private final HttpClient client = HttpClient.newHttpClient();
+    private CheckoutServer server;
+
+    @Before
+    public void start() {
+        server = CheckoutServer.start(new InetSocketAddress("127.0.0.1", 0), new RentalService(), inventory,
+                idempotentCheckout);
+    }
+
+    @After
+    public void stop() {
+        server.close();
+    }
+
+    @Test
+    public void quote_shouldReturnAgreementJson_whenParametersAreValid() throws Exception {
+        HttpResponse<String> response = send("GET", "/quote?toolCode=LADW&rentalDays=3&discountPercent=10&checkoutDate=2020-07-02", "");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"toolCode\":\"LADW\",\"toolType\":\"Ladder\",\"toolBrand\":\"Werner\",\"rentalDays\":3,"
+                + "\"checkoutDate\":\"2020-07-02\",\"dueDate\":\"2020-07-05\",\"dailyRentalCharge\":1.99,\"chargeDays\":3,"
+                + "\"preDiscountCharge\":5.97,\"discountPercent\":10,\"discountAmount\":0.60,\"finalCharge\":5.37}", response.body());
+    }
+
+    @Test
+    public void quote_shouldReturnBadRequest_whenDiscountIsOutOfRange() throws Exception {
+        HttpResponse<String> response = send("GET", "/quote?toolCode=JAKR&rentalDays=5&discountPercent=101&checkoutDate=2015-09-03", "");
+
+        assertEquals(400, response.statusCode());
+        assertEquals("{\"error\":\"The discount percent range must be between 0-100.\"}", response.body());
+    }
+
+    @Test
+    public void checkout_shouldReserveUnit_whenStoreIdIsGiven() throws Exception {
+        inventory.addUnits("store-1", ToolCode.CHNS, 1);
+        String form = "storeId=store-1&toolCode=CHNS&rentalDays=5&discountPercent=25&checkoutDate=2015-07-02";
+
+        assertEquals(200, send("POST", "/checkout", form).statusCode());
+        assertEquals(0, inventory.getAvailableUnits("store-1", ToolCode.CHNS));
+        assertEquals(409, send("POST", "/checkout", form).statusCode());
+        assertEquals(405, send("GET", "/checkout?" + form, "").statusCode());
+        assertEquals(404, send("POST", "/checkout", "toolCode=NOPE&rentalDays=5&discountPercent=25&checkoutDate=2015-07-02").statusCode());
+    }
+
+    @Test
+    public void checkout_shouldReturnOriginalAgreement_whenRequestIdRepeats() throws Exception {
+        inventory.addUnits("store-2", ToolCode.JAKD, 2);
+        String form = "requestId=1001&storeId=store-2&toolCode=JAKD&rentalDays=4&discountPercent=0&checkoutDate=2020-07-02";
+
+        HttpResponse<String> first = send("POST", "/checkout", form);
+        HttpResponse<String> retry = send("POST", "/checkout", form);
+
+        assertEquals(200, first.statusCode());
+        assertEquals(200, retry.statusCode());
+        assertEquals(first.body(), retry.body());
+        assertEquals(1, inventory.getAvailableUnits("store-2", ToolCode.JAKD));
+        assertEquals(400, send("POST", "/checkout", form.replace("1001", "abc")).statusCode());
+    }
+
+    @Test
+    public void checkout_shouldReturnOriginalAgreement_whenRequestIdWasUsedOutsideTheServer() throws Exception {
+        inventory.addUnits("store-3", ToolCode.LADW, 2);
+        CheckoutResult original = idempotentCheckout.checkout(2002, () -> {
+            inventory.reserve("store-3", ToolCode.LADW);
+            return new RentalService().tryBuildRentalAgreement(ToolCode.LADW, 3, 10, LocalDate.of(2020, 7, 2));
+        });
+
+        HttpResponse<String> retry = send("POST", "/checkout",
+                "requestId=2002&storeId=store-3&toolCode=LADW&rentalDays=3&discountPercent=10&checkoutDate=2020-07-02");
+
+        assertEquals(200, retry.statusCode());
+        assertEquals(1, inventory.getAvailableUnits("store-3", ToolCode.LADW));
+        assertEquals(1, idempotentCheckout.getReplayCount());
+        assertTrue(original.isSuccess());
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,127 @@
+package programming.demo.inventory;
+
+import org.junit.Test;
+import programming.demo.exception.ReservationConflictException;
+import programming.demo.exception.ToolNotAvailableException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.Assert.*;
+import static programming.demo.model.enumeration.ToolCode.*;
+
+public class AvailabilityIndexTest {
+
+    private static final LocalDate ORIGIN = LocalDate.of(2020, 1, 1);
+
+    @Test
+    public void findEarliestWindow_shouldSkipBookedDays_acrossWordBoundaries() {
+        AvailabilityIndex index = new AvailabilityIndex(ORIGIN);
+        index.addUnits("store-1", JAKD, 1);
+        index.book(new UnitWindow("store-1", JAKD, 0, ORIGIN.plusDays(3), 60));
+        index.book(new UnitWindow("store-1", JAKD, 0, ORIGIN.plusDays(66), 10));
+
+        assertEquals(ORIGIN, index.findEarliestWindow("store-1", JAKD, ORIGIN, 3).getFirstDate());
+        assertEquals(ORIGIN.plusDays(63), index.findEarliestWindow("store-1", JAKD, ORIGIN.plusDays(1), 3).getFirstDate());
+        assertEquals(ORIGIN.plusDays(76), index.findEarliestWindow("store-1", JAKD, ORIGIN, 4).getFirstDate());
+        assertNull(index.findEarliestWindow("store-2", JAKD, ORIGIN, 4));
+    }
+
+    @Test
+    public void findEarliestWindow_shouldMatchDayByDaySearch_forRandomBookings() {
+        AvailabilityIndex index = new AvailabilityIndex(ORIGIN);
+        index.addUnits("store-1", LADW, 3);
+        boolean[][] booked = new boolean[3][2000];
+        Random random = new Random(17);
+        for (int i = 0; i < 300; i++) {
+            int unit = random.nextInt(3);
+            int first = random.nextInt(1900);
+            int days = 1 + random.nextInt(20);
+            try {
+                index.book(new UnitWindow("store-1", LADW, unit, ORIGIN.plusDays(first), days));
+                for (int day = first; day < first + days; day++) {
+                    assertFalse(booked[unit][day]);
+                    booked[unit][day] = true;
+                }
+            } catch (ReservationConflictException ex) {
+                boolean conflict = false;
+                for (int day = first; day < first + days; day++) {
+                    conflict |= booked[unit][day];
+                }
+                assertTrue(conflict);
+            }
+        }
+
+        for (int from = 0; from < 1800; from += 7) {
+            for (int days : new int[]{1, 4, 9, 16, 25, 40, 63, 64, 65, 100}) {
+                assertEquals(ORIGIN.plusDays(earliestDayByDay(booked, from, days)),
+                        index.findEarliestWindow("store-1", LADW, ORIGIN.plusDays(from), days).getFirstDate());
+            }
+        }
+    }
+
+    @Test
+    public void release_shouldFreeTheWindowAgain() {
+        AvailabilityIndex index = new AvailabilityIndex(ORIGIN);
+        index.addUnits("store-1", CHNS, 1);
+        UnitWindow window = index.reserveEarliest("store-1", CHNS, ORIGIN.plusDays(10), 5);
+
+        assertFalse(index.isFree(window));
+        assertEquals(ORIGIN.plusDays(15), index.findEarliestWindow("store-1", CHNS, ORIGIN.plusDays(10), 5).getFirstDate());
+
+        index.release(window);
+        assertTrue(index.isFree(window));
+    }
+
+    @Test
+    public void reserveEarliest_shouldNeverDoubleBook_whenManyThreadsReserve() throws InterruptedException {
+        AvailabilityIndex index = new AvailabilityIndex(ORIGIN);
+        index.addUnits("store-1", JAKR, 4);
+        ConcurrentLinkedQueue<UnitWindow> reserved = new ConcurrentLinkedQueue<>();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 200; j++) {
+                    reserved.add(index.reserveEarliest("store-1", JAKR, ORIGIN, 1 + j % 5));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        int[][] owners = new int[4][AvailabilityIndex.MAX_DAYS];
+        for (UnitWindow window : reserved) {
+            int first = (int) (window.getFirstDate().toEpochDay() - ORIGIN.toEpochDay());
+            for (int day = first; day < first + window.getDayCount(); day++) {
+                assertEquals(0, owners[window.getUnit()][day]++);
+            }
+        }
+        assertEquals(1600, reserved.size());
+    }
+
+    @Test(expected = ToolNotAvailableException.class)
+    public void reserveEarliest_shouldThrow_whenStoreHasNoUnits() {
+        new AvailabilityIndex(ORIGIN).reserveEarliest("store-1", LADW, ORIGIN, 2);
+    }
+
+    private static int earliestDayByDay(boolean[][] booked, int from, int days) {
+        for (int first = from; ; first++) {
+            for (boolean[] unit : booked) {
+                boolean free = true;
+                for (int day = first; day < first + days && free; day++) {
+                    free = day >= unit.length || !unit[day];
+                }
+                if (free) {
+                    return first;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package programming.demo.inventory;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.Assert.*;
+import static programming.demo.model.enumeration.ToolCode.*;
+
+public class InventoryTest {
+
+    @Test
+    public void reserve_shouldNeverOversell_whenManyThreadsCheckoutTheSameCode() throws InterruptedException {
+        Inventory inventory = new Inventory(8);
+        inventory.addUnits("store-1", LADW, 10_000);
+        AtomicLong reserved = new AtomicLong();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                while (inventory.reserve("store-1", LADW)) {
+                    reserved.incrementAndGet();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(10_000, reserved.get());
+        assertEquals(0, inventory.getAvailableUnits("store-1", LADW));
+        assertEquals(10_000, inventory.getTotalUnits("store-1", LADW));
+    }
+
+    @Test
+    public void reserve_shouldTakeNothing_whenNotEnoughUnitsAreAvailable() {
+        Inventory inventory = new Inventory(4);
+        inventory.addUnits("store-1", JAKR, 3);
+
+        assertFalse(inventory.reserve("store-1", JAKR, 4));
+        assertEquals(3, inventory.getAvailableUnits("store-1", JAKR));
+        assertTrue(inventory.reserve("store-1", JAKR, 3));
+        assertFalse(inventory.reserve("store-1", JAKR));
+
+        inventory.release("store-1", JAKR);
+        assertEquals(1, inventory.getAvailableUnits("store-1", JAKR));
+        assertFalse(inventory.reserve("store-2", JAKR));
+    }
+
+    @Test
+    public void reserve_shouldAlwaysSucceed_whenEnoughUnitsAreHeldOutsideTheThread() throws InterruptedException {
+        Inventory inventory = new Inventory(8);
+        int threadCount = 4;
+        inventory.addUnits("store-1", CHNS, 2 * threadCount);
+        AtomicLongArray failures = new AtomicLongArray(threadCount);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            int index = i;
+            Thread thread = new Thread(() -> {
+                for (int round = 0; round < 20_000; round++) {
+                    long units = 1 + round % 2;
+                    if (inventory.reserve("store-1", CHNS, units)) {
+                        inventory.release("store-1", CHNS, units);
+                    } else {
+                        failures.incrementAndGet(index);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int i = 0; i < threadCount; i++) {
+            assertEquals(0, failures.get(i));
+        }
+        assertEquals(2 * threadCount, inventory.getAvailableUnits("store-1", CHNS));
+    }
+
+    @Test
+    public void reserve_shouldLetOneReservationSucceed_whenMultiUnitReservationsRaceForTheLastUnits()
+            throws InterruptedException {
+        int threadCount = 4;
+        for (int round = 0; round < 2_000; round++) {
+            Inventory inventory = new Inventory(8);
+            inventory.addUnits("store-1", LADW, 3);
+            AtomicLong successes = new AtomicLong();
+            CountDownLatch ready = new CountDownLatch(threadCount);
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                Thread thread = new Thread(() -> {
+                    ready.countDown();
+                    try {
+                        ready.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    if (inventory.reserve("store-1", LADW, 2)) {
+                        successes.incrementAndGet();
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertEquals(1, successes.get());
+            assertEquals(1, inventory.getAvailableUnits("store-1", LADW));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void release_shouldThrow_whenUnitsAreNotPositive() {
+        Inventory inventory = new Inventory(4);
+        inventory.addUnits("store-1", JAKR, 3);
+        assertTrue(inventory.reserve("store-1", JAKR));
+        inventory.release("store-1", JAKR, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void release_shouldThrow_whenMoreUnitsAreReleasedThanReserved() {
+        Inventory inventory = new Inventory(4);
+        inventory.addUnits("store-1", JAKR, 3);
+        assertTrue(inventory.reserve("store-1", JAKR, 2));
+        inventory.release("store-1", JAKR, 3);
+    }
+}
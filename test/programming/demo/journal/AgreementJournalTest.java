@@ -0,0 +1,165 @@
+package programming.demo.journal;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import programming.demo.ProgrammingDemo;
+import programming.demo.model.RentalAgreement;
+import programming.demo.model.enumeration.ToolCode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AgreementJournalTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void replay_shouldReturnAppendedAgreementsInOrder_afterReopening() throws IOException {
+        Path file = folder.newFile("agreements.journal").toPath();
+        List<RentalAgreement> appended = new ArrayList<>();
+
+        try (AgreementJournal journal = AgreementJournal.open(file, 16, 5)) {
+            for (int i = 0; i < 1000; i++) {
+                RentalAgreement agreement = ProgrammingDemo.checkout(ToolCode.values()[i % 4], 1 + i % 40, i % 101,
+                        LocalDate.of(2015, 7, 2).plusDays(i));
+                assertEquals(i, journal.append(agreement));
+                appended.add(agreement);
+            }
+        }
+
+        List<RentalAgreement> replayed = new ArrayList<>();
+        try (AgreementJournal journal = AgreementJournal.open(file)) {
+            assertEquals(1000, journal.size());
+            journal.replay(replayed::add);
+            assertEquals(1000, journal.append(appended.get(0)));
+        }
+        assertEquals(appended, replayed);
+    }
+
+    @Test
+    public void replay_shouldReturnEveryRecord_afterConcurrentAppendsAndReopening() throws Exception {
+        Path file = folder.newFile("concurrent.journal").toPath();
+        int threads = 4;
+        int appendsPerThread = 2500;
+        AtomicReferenceArray<RentalAgreement> bySequence = new AtomicReferenceArray<>(threads * appendsPerThread);
+
+        try (AgreementJournal journal = AgreementJournal.open(file, 8, 1)) {
+            Thread[] appenders = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                appenders[t] = new Thread(() -> {
+                    for (int i = 0; i < appendsPerThread; i++) {
+                        RentalAgreement agreement = agreement(thread * appendsPerThread + i);
+                        bySequence.set((int) journal.append(agreement), agreement);
+                    }
+                });
+                appenders[t].start();
+            }
+            for (Thread appender : appenders) {
+                appender.join();
+            }
+        }
+
+        List<RentalAgreement> expected = new ArrayList<>();
+        for (int sequence = 0; sequence < bySequence.length(); sequence++) {
+            expected.add(bySequence.get(sequence));
+        }
+        List<RentalAgreement> replayed = new ArrayList<>();
+        try (AgreementJournal journal = AgreementJournal.open(file)) {
+            assertEquals(expected.size(), journal.size());
+            journal.replay(replayed::add);
+        }
+        assertEquals(expected, replayed);
+    }
+
+    @Test
+    public void replay_shouldReturnEveryAcceptedAppend_whenCloseRacesWithAppenders() throws Exception {
+        Path file = folder.newFile("closing.journal").toPath();
+        int threads = 4;
+        List<List<RentalAgreement>> acceptedByThread = new ArrayList<>();
+        AgreementJournal journal = AgreementJournal.open(file, 8, 1);
+        Thread[] appenders = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            List<RentalAgreement> accepted = new ArrayList<>();
+            acceptedByThread.add(accepted);
+            int thread = t;
+            appenders[t] = new Thread(() -> {
+                for (int i = 0; ; i++) {
+                    RentalAgreement agreement = agreement(thread * 100000 + i);
+                    try {
+                        journal.append(agreement);
+                    } catch (IllegalStateException ex) {
+                        return;
+                    }
+                    accepted.add(agreement);
+                }
+            });
+            appenders[t].start();
+        }
+        Thread.sleep(50);
+        journal.close();
+        for (Thread appender : appenders) {
+            appender.join();
+        }
+
+        int accepted = 0;
+        for (List<RentalAgreement> agreements : acceptedByThread) {
+            accepted += agreements.size();
+        }
+        List<RentalAgreement> replayed = new ArrayList<>();
+        try (AgreementJournal reopened = AgreementJournal.open(file)) {
+            assertEquals(accepted, reopened.size());
+            reopened.replay(replayed::add);
+        }
+        assertEquals(accepted, replayed.size());
+        for (List<RentalAgreement> agreements : acceptedByThread) {
+            assertTrue(replayed.containsAll(agreements));
+        }
+    }
+
+    @Test
+    public void open_shouldDropRecordsAfterAGap_soTheyAreNeverReplayed() throws IOException {
+        Path file = folder.newFile("gap.journal").toPath();
+        List<RentalAgreement> appended = new ArrayList<>();
+        try (AgreementJournal journal = AgreementJournal.open(file)) {
+            for (int i = 0; i < 10; i++) {
+                appended.add(agreement(i));
+                journal.append(appended.get(i));
+            }
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4), 4L * AgreementJournal.RECORD_SIZE);
+        }
+
+        RentalAgreement appendedAfterGap = agreement(100);
+        try (AgreementJournal journal = AgreementJournal.open(file)) {
+            assertEquals(4, journal.size());
+            assertEquals(4, journal.append(appendedAfterGap));
+        }
+
+        List<RentalAgreement> replayed = new ArrayList<>();
+        try (AgreementJournal journal = AgreementJournal.open(file)) {
+            assertEquals(5, journal.size());
+            journal.replay(replayed::add);
+        }
+        assertEquals(Arrays.asList(appended.get(0), appended.get(1), appended.get(2), appended.get(3), appendedAfterGap),
+                replayed);
+    }
+
+    private static RentalAgreement agreement(int i) {
+        return ProgrammingDemo.checkout(ToolCode.values()[i % 4], 1 + i % 40, i % 101, LocalDate.of(2015, 7, 2).plusDays(i));
+    }
+}
@@ -0,0 +1,59 @@
+package programming.demo.metrics;
+
+import org.junit.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void upperBoundOf_shouldCoverEveryValueInItsBucket_whenValuesSpanAllMagnitudes() {
+        for (int i = 0; i < 100_000; i++) {
+            long value = ThreadLocalRandom.current().nextLong() >>> ThreadLocalRandom.current().nextInt(1, 64);
+            long upperBound = LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(value));
+            assertTrue(value <= upperBound);
+            assertTrue(upperBound - value <= value / 8);
+        }
+    }
+
+    @Test
+    public void getPercentile_shouldBeWithinBucketPrecision_whenValuesAreUniform() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(10_000, histogram.getMax());
+        assertTrue(Math.abs(histogram.getPercentile(0.5) - 5_000) <= 5_000 / 8);
+        assertTrue(Math.abs(histogram.getPercentile(0.99) - 9_900) <= 9_900 / 8);
+        assertEquals(10_000, histogram.getPercentile(1));
+
+        histogram.reset();
+        assertEquals(0, histogram.getPercentile(0.5));
+    }
+
+    @Test
+    public void add_shouldMatchOneHistogram_whenValuesAreSplitAcrossTwo() {
+        LatencyHistogram all = new LatencyHistogram();
+        LatencyHistogram odd = new LatencyHistogram();
+        LatencyHistogram even = new LatencyHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            all.record(value * 37);
+            (value % 2 == 0 ? even : odd).record(value * 37);
+        }
+
+        LatencyHistogram merged = new LatencyHistogram();
+        merged.add(odd);
+        merged.add(even);
+
+        assertEquals(all.getCount(), merged.getCount());
+        assertEquals(all.getMax(), merged.getMax());
+        for (double quantile : new double[]{0, 0.5, 0.99, 0.999, 1}) {
+            assertEquals(all.getPercentile(quantile), merged.getPercentile(quantile));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package programming.demo.model;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.Assert.assertEquals;
+
+public class MoneyTest {
+
+    @Test
+    public void percentOf_shouldRoundHalfUp_atHalfCentBoundaries() {
+        assertEquals(1, Money.percentOf(5, 10));
+        assertEquals(0, Money.percentOf(4, 10));
+        assertEquals(1, Money.percentOf(50, 1));
+        assertEquals(0, Money.percentOf(49, 1));
+        assertEquals(60, Money.percentOf(597, 10));
+        assertEquals(150, Money.percentOf(599, 25));
+        assertEquals(149, Money.percentOf(596, 25));
+    }
+
+    @Test
+    public void percentOf_shouldRoundHalfAwayFromZero_whenCentsAreNegative() {
+        assertEquals(-1, Money.percentOf(-5, 10));
+        assertEquals(0, Money.percentOf(-4, 10));
+        assertEquals(-150, Money.percentOf(-599, 25));
+    }
+
+    @Test
+    public void percentOf_shouldReturnZeroAndWholeAmount_atZeroAndHundredPercent() {
+        for (long cents : new long[]{0, 1, 99, 597, 1_000_000_007}) {
+            assertEquals(0, Money.percentOf(cents, 0));
+            assertEquals(cents, Money.percentOf(cents, 100));
+        }
+    }
+
+    @Test
+    public void percentOf_shouldMatchBigDecimalHalfUp_forEveryPercent() {
+        for (long cents = -1000; cents <= 1000; cents += 7) {
+            for (int percent = 0; percent <= 100; percent++) {
+                long expected = BigDecimal.valueOf(cents).multiply(BigDecimal.valueOf(percent))
+                        .divide(BigDecimal.valueOf(100), 0, RoundingMode.HALF_UP).longValueExact();
+                assertEquals(expected, Money.percentOf(cents, percent));
+            }
+        }
+    }
+
+    @Test
+    public void toCents_shouldRoundHalfUp_andConvertBack() {
+        assertEquals(199, Money.toCents(new BigDecimal("1.985")));
+        assertEquals(198, Money.toCents(new BigDecimal("1.984")));
+        assertEquals(new BigDecimal("5.97"), Money.toBigDecimal(597));
+    }
+}
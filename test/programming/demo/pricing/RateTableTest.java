@@ -0,0 +1,108 @@
+package programming.demo.pricing;
+
+import org.junit.Test;
+import programming.demo.calendar.ChargeDayCalendar;
+import programming.demo.calendar.HolidayCalendar;
+import programming.demo.exception.InvalidRateRuleException;
+import programming.demo.model.RentalAgreement;
+import programming.demo.model.enumeration.ToolCode;
+import programming.demo.model.enumeration.ToolType;
+import programming.demo.service.RentalService;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RateTableTest {
+
+    private final ChargeDayCalendar calendar = ChargeDayCalendar.forHolidays(HolidayCalendar.defaultCalendar());
+
+    @Test
+    public void defaultTable_shouldKeepPublishedPrices() {
+        RentalAgreement agreement = new RentalService().buildRentalAgreement(ToolCode.CHNS, 5, 25, LocalDate.of(2015, 7, 2));
+
+        assertEquals(149, agreement.getDailyRentalCostCents());
+        assertEquals(4, agreement.getChargeDays());
+        assertEquals(596, agreement.getPreDiscountChargeCents());
+        assertEquals(447, agreement.getFinalChargeCents());
+    }
+
+    @Test
+    public void chargeCents_shouldMatchDayByDaySum_whenRentalCrossesSeasonsAndDates() {
+        RateTable table = RateTable.of(withDefaults(
+                RateRule.season(ToolType.Ladder, MonthDay.of(12, 15), MonthDay.of(1, 10), 299),
+                RateRule.season(ToolType.Ladder, MonthDay.of(6, 1), MonthDay.of(8, 31), 249),
+                RateRule.dates(ToolType.Ladder, LocalDate.of(2020, 7, 3), LocalDate.of(2020, 7, 5), 99)));
+        ToolRates rates = table.compile(calendar).getRates(ToolType.Ladder);
+
+        long start = LocalDate.of(2019, 5, 20).toEpochDay();
+        for (int offset = 0; offset < 800; offset += 11) {
+            for (int rentalDayCount = 1; rentalDayCount <= 400; rentalDayCount += 17) {
+                long from = start + offset;
+                long to = from + rentalDayCount + 1;
+                long expected = 0;
+                for (long day = from; day < to; day++) {
+                    if (rates.countChargeDays(day, day + 1) == 1) {
+                        expected += rates.getDailyChargeCents(day);
+                    }
+                }
+                assertEquals(expected, rates.chargeCents(from, to));
+            }
+        }
+    }
+
+    @Test
+    public void getDailyChargeCents_shouldPreferDatesOverSeasonOverBase() {
+        RateTable table = RateTable.of(withDefaults(
+                RateRule.season(ToolType.Ladder, MonthDay.of(12, 15), MonthDay.of(1, 10), 299),
+                RateRule.dates(ToolType.Ladder, LocalDate.of(2020, 12, 31), LocalDate.of(2020, 12, 31), 99)));
+        ToolRates rates = table.compile(calendar).getRates(ToolType.Ladder);
+
+        assertEquals(199, rates.getDailyChargeCents(LocalDate.of(2020, 12, 14).toEpochDay()));
+        assertEquals(299, rates.getDailyChargeCents(LocalDate.of(2020, 12, 30).toEpochDay()));
+        assertEquals(99, rates.getDailyChargeCents(LocalDate.of(2020, 12, 31).toEpochDay()));
+        assertEquals(299, rates.getDailyChargeCents(LocalDate.of(2021, 1, 10).toEpochDay()));
+        assertEquals(199, rates.getDailyChargeCents(LocalDate.of(2021, 1, 11).toEpochDay()));
+    }
+
+    @Test(expected = InvalidRateRuleException.class)
+    public void of_shouldRejectOverlappingSeasons() {
+        RateTable.of(withDefaults(
+                RateRule.season(ToolType.Chainsaw, MonthDay.of(12, 15), MonthDay.of(1, 10), 299),
+                RateRule.season(ToolType.Chainsaw, MonthDay.of(1, 5), MonthDay.of(2, 1), 249)));
+    }
+
+    @Test(expected = InvalidRateRuleException.class)
+    public void parse_shouldRejectUnknownRuleKind() {
+        RateRule.parse("Ladder = weekly 9.99");
+    }
+
+    @Test
+    public void swapRateTable_shouldRepriceAndBumpConfigurationVersion() {
+        RentalService rentalService = new RentalService();
+        LocalDate checkoutDate = LocalDate.of(2020, 7, 2);
+        long version = rentalService.getConfigurationVersion();
+
+        RateTable previous = rentalService.swapRateTable(RateTable.of(withDefaults(
+                RateRule.dates(ToolType.Ladder, LocalDate.of(2020, 7, 1), LocalDate.of(2020, 7, 31), 299))));
+        RentalAgreement agreement = rentalService.buildRentalAgreement(ToolCode.LADW, 3, 10, checkoutDate);
+
+        assertSame(RateTable.defaultTable(), previous);
+        assertTrue(rentalService.getConfigurationVersion() > version);
+        assertEquals(299, agreement.getDailyRentalCostCents());
+        assertEquals(897, agreement.getPreDiscountChargeCents());
+    }
+
+    private static List<RateRule> withDefaults(RateRule... extra) {
+        List<RateRule> rules = new ArrayList<>(RateTable.defaultTable().getRules());
+        for (RateRule rule : extra) {
+            rules.add(rule);
+        }
+        return rules;
+    }
+}
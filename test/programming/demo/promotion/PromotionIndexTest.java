@@ -0,0 +1,157 @@
+package programming.demo.promotion;
+
+import org.junit.Test;
+import programming.demo.exception.InvalidPromotionException;
+import programming.demo.model.PriceLadder;
+import programming.demo.model.RentalAgreement;
+import programming.demo.model.enumeration.ToolBrand;
+import programming.demo.model.enumeration.ToolType;
+import programming.demo.service.RentalService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+import static programming.demo.model.enumeration.ToolCode.*;
+
+public class PromotionIndexTest {
+
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+
+    @Test
+    public void findBest_shouldMatchLinearScan_forRandomPromotions() {
+        Random random = new Random(7);
+        PromotionIndex index = new PromotionIndex();
+        List<Promotion> promotions = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Promotion promotion = randomPromotion(random, "promo-" + i);
+            promotions.add(promotion);
+            index.add(promotion);
+        }
+        for (int i = 0; i < 500; i++) {
+            String id = "promo-" + random.nextInt(2000);
+            promotions.removeIf(promotion -> promotion.getId().equals(id));
+            index.remove(id);
+        }
+        LocalDate today = START.plusDays(200);
+        index.expire(today);
+        promotions.removeIf(promotion -> promotion.getLastDate().isBefore(today));
+
+        assertEquals(promotions.size(), index.size());
+        for (int i = 0; i < 20000; i++) {
+            ToolType toolType = ToolType.values()[random.nextInt(ToolType.values().length)];
+            ToolBrand toolBrand = ToolBrand.values()[random.nextInt(ToolBrand.values().length)];
+            LocalDate checkoutDate = START.plusDays(random.nextInt(800));
+            int rentalDayCount = 1 + random.nextInt(40);
+
+            assertEquals(linearScan(promotions, toolType, toolBrand, checkoutDate, rentalDayCount),
+                    index.findBest(toolType, toolBrand, checkoutDate, rentalDayCount));
+        }
+    }
+
+    @Test
+    public void add_shouldReplacePromotion_whenIdRepeats() {
+        PromotionIndex index = new PromotionIndex();
+        index.add(promotion("summer", 30).toolType(ToolType.Ladder).build());
+        index.add(promotion("summer", 5).toolType(ToolType.Ladder).build());
+
+        assertEquals(1, index.size());
+        assertEquals(5, index.findBest(ToolType.Ladder, ToolBrand.Werner, LocalDate.of(2020, 7, 2), 3).getDiscountPercent());
+        assertTrue(index.remove("summer"));
+        assertNull(index.findBest(ToolType.Ladder, ToolBrand.Werner, LocalDate.of(2020, 7, 2), 3));
+    }
+
+    @Test
+    public void findBest_shouldAlwaysSeePromotion_whileItIsReplaced() throws InterruptedException {
+        PromotionIndex index = new PromotionIndex();
+        index.add(promotion("summer", 10).toolType(ToolType.Ladder).build());
+        AtomicBoolean missed = new AtomicBoolean();
+        AtomicBoolean done = new AtomicBoolean();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                if (index.findBest(ToolType.Ladder, ToolBrand.Werner, LocalDate.of(2020, 7, 2), 3) == null) {
+                    missed.set(true);
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 20000; i++) {
+            Promotion.PromotionBuilder builder = promotion("summer", 10 + i % 20);
+            index.add(i % 2 == 0 ? builder.toolType(ToolType.Ladder).build() : builder.toolBrand(ToolBrand.Werner).build());
+        }
+        done.set(true);
+        reader.join();
+
+        assertFalse(missed.get());
+        assertEquals(1, index.size());
+    }
+
+    @Test(expected = InvalidPromotionException.class)
+    public void build_shouldThrow_whenLastDateIsBeforeFirst() {
+        new Promotion.PromotionBuilder().id("backwards").discountPercent(10)
+                .dates(LocalDate.of(2020, 7, 2), LocalDate.of(2020, 7, 1)).build();
+    }
+
+    @Test
+    public void buildRentalAgreement_shouldApplyBestPromotion_whenBetterThanDiscountAskedFor() {
+        RentalService rentalService = new RentalService();
+        rentalService.addPromotion(promotion("ladders", 20).toolType(ToolType.Ladder).rentalDayCounts(3, 7).build());
+        rentalService.addPromotion(promotion("werner", 35).toolBrand(ToolBrand.Werner).rentalDayCounts(5, 5).build());
+
+        assertEquals(0, rentalService.buildRentalAgreement(LADW, 2, 0, LocalDate.of(2020, 7, 2)).getDiscountPercent());
+        assertEquals(20, rentalService.buildRentalAgreement(LADW, 3, 0, LocalDate.of(2020, 7, 2)).getDiscountPercent());
+        assertEquals(35, rentalService.buildRentalAgreement(LADW, 5, 10, LocalDate.of(2020, 7, 2)).getDiscountPercent());
+        assertEquals(50, rentalService.buildRentalAgreement(LADW, 5, 50, LocalDate.of(2020, 7, 2)).getDiscountPercent());
+        assertEquals(0, rentalService.buildRentalAgreement(JAKR, 5, 0, LocalDate.of(2020, 7, 2)).getDiscountPercent());
+        assertEquals(0, rentalService.buildRentalAgreement(LADW, 3, 0, LocalDate.of(2021, 7, 2)).getDiscountPercent());
+
+        PriceLadder ladder = rentalService.buildPriceLadder(LADW, 10, 0, LocalDate.of(2020, 7, 2));
+        for (int days = 1; days <= 10; days++) {
+            RentalAgreement agreement = rentalService.buildRentalAgreement(LADW, days, 0, LocalDate.of(2020, 7, 2));
+            assertEquals(agreement.getDiscountPercent(), ladder.getDiscountPercent(days));
+            assertEquals(agreement.getDiscountAmountCents(), ladder.getDiscountAmountCents(days));
+            assertEquals(agreement.getFinalChargeCents(), ladder.getFinalChargeCents(days));
+        }
+
+        assertEquals(2, rentalService.expirePromotions(LocalDate.of(2021, 1, 1)));
+        assertEquals(0, rentalService.buildRentalAgreement(LADW, 5, 0, LocalDate.of(2020, 7, 2)).getDiscountPercent());
+    }
+
+    private static Promotion.PromotionBuilder promotion(String id, int discountPercent) {
+        return new Promotion.PromotionBuilder().id(id).discountPercent(discountPercent)
+                .dates(LocalDate.of(2020, 6, 1), LocalDate.of(2020, 12, 31));
+    }
+
+    private static Promotion randomPromotion(Random random, String id) {
+        LocalDate firstDate = START.plusDays(random.nextInt(700));
+        int minRentalDayCount = 1 + random.nextInt(20);
+        Promotion.PromotionBuilder builder = new Promotion.PromotionBuilder()
+                .id(id)
+                .discountPercent(random.nextInt(101))
+                .dates(firstDate, firstDate.plusDays(random.nextInt(120)))
+                .rentalDayCounts(minRentalDayCount, minRentalDayCount + random.nextInt(20));
+        if (random.nextBoolean()) {
+            builder.toolType(ToolType.values()[random.nextInt(ToolType.values().length)]);
+        }
+        if (random.nextBoolean()) {
+            builder.toolBrand(ToolBrand.values()[random.nextInt(ToolBrand.values().length)]);
+        }
+        return builder.build();
+    }
+
+    private static Promotion linearScan(List<Promotion> promotions, ToolType toolType, ToolBrand toolBrand,
+                                        LocalDate checkoutDate, int rentalDayCount) {
+        Promotion best = null;
+        for (Promotion promotion : promotions) {
+            if (promotion.appliesTo(toolType, toolBrand, checkoutDate, rentalDayCount) && (best == null
+                    || promotion.getDiscountPercent() > best.getDiscountPercent()
+                    || promotion.getDiscountPercent() == best.getDiscountPercent() && promotion.getId().compareTo(best.getId()) < 0)) {
+                best = promotion;
+            }
+        }
+        return best;
+    }
+}
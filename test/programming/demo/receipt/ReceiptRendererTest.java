@@ -0,0 +1,86 @@
+package programming.demo.receipt;
+
+import org.junit.Test;
+import programming.demo.ProgrammingDemo;
+import programming.demo.model.RentalAgreement;
+import programming.demo.model.enumeration.ToolCode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class ReceiptRendererTest {
+
+    @Test
+    public void render_shouldMatchFormattedReceipt_forStringBuilderAndByteBuffer() {
+        for (RentalAgreement agreement : sampleAgreements()) {
+            String expected = formatReceipt(agreement);
+
+            assertEquals(expected, ReceiptRenderer.render(agreement, new StringBuilder()).toString());
+
+            ByteBuffer buffer = ReceiptRenderer.render(agreement, ByteBuffer.allocate(ReceiptRenderer.MAX_RECEIPT_LENGTH));
+            assertEquals(expected, new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    public void renderAll_shouldDrainEveryReceiptToChannel_whenBufferFillsUp() throws IOException {
+        List<RentalAgreement> agreements = sampleAgreements();
+        StringBuilder expected = new StringBuilder();
+        for (RentalAgreement agreement : agreements) {
+            expected.append(formatReceipt(agreement));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ReceiptRenderer.renderAll(agreements, ByteBuffer.allocate(ReceiptRenderer.MAX_RECEIPT_LENGTH * 2), Channels.newChannel(out));
+
+        assertEquals(expected.toString(), out.toString(StandardCharsets.US_ASCII));
+    }
+
+    private static List<RentalAgreement> sampleAgreements() {
+        List<RentalAgreement> agreements = new ArrayList<>();
+        for (ToolCode toolCode : ToolCode.values()) {
+            for (int rentalDayCount = 1; rentalDayCount < 4000; rentalDayCount *= 3) {
+                agreements.add(ProgrammingDemo.checkout(toolCode, rentalDayCount, rentalDayCount % 101, LocalDate.of(2015, 7, 2)));
+            }
+        }
+        return agreements;
+    }
+
+    private static String formatReceipt(RentalAgreement agreement) {
+        DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+        return String.format(
+                "Tool Code: %s\n" +
+                "Tool Type: %s\n" +
+                "Tool Brand: %s\n" +
+                "Rental Days: %d\n" +
+                "Check Out Date: %s\n" +
+                "Due Date: %s\n" +
+                "Daily Rental Charge: $%.2f\n" +
+                "Charge Days: %d\n" +
+                "Pre-Discount Charge: $%s\n" +
+                "Discount Percent: %d%%\n" +
+                "Discount Amount: $%s\n" +
+                "Final Charge: $%s\n",
+                agreement.getTool().getCode().name(),
+                agreement.getTool().getType().name(),
+                agreement.getTool().getBrand().name(),
+                agreement.getRentalDayCount(),
+                agreement.getCheckoutDate().format(dateFormat),
+                agreement.getDueDate().format(dateFormat),
+                agreement.getDailyRentalCost(),
+                agreement.getChargeDays(),
+                agreement.getPreDiscountCharge(),
+                agreement.getDiscountPercent(),
+                agreement.getDiscountAmount(),
+                agreement.getFinalCharge());
+    }
+}
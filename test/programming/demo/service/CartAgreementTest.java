@@ -0,0 +1,81 @@
+package programming.demo.service;
+
+import org.junit.Test;
+import programming.demo.calendar.HolidayCalendar;
+import programming.demo.catalog.ToolCatalog;
+import programming.demo.exception.ToolNotFoundException;
+import programming.demo.model.CartAgreement;
+import programming.demo.model.RentalAgreement;
+import programming.demo.model.Tool;
+import programming.demo.model.enumeration.ToolCode;
+import programming.demo.model.enumeration.ToolType;
+import programming.demo.promotion.Promotion;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static programming.demo.model.enumeration.ToolCode.*;
+
+public class CartAgreementTest {
+
+    private final RentalService rentalService = new RentalService();
+
+    @Test
+    public void buildCartAgreement_shouldMatchOneAgreementPerLine_andSumThem() {
+        rentalService.addPromotion(new Promotion.PromotionBuilder().id("ladders").discountPercent(40)
+                .toolType(ToolType.Ladder).dates(LocalDate.of(2020, 6, 1), LocalDate.of(2020, 7, 31)).build());
+        List<ToolCode> toolCodes = Arrays.asList(JAKR, LADW, LADW, CHNS, JAKD);
+
+        for (LocalDate checkoutDate = LocalDate.of(2020, 6, 25); checkoutDate.isBefore(LocalDate.of(2020, 9, 10));
+             checkoutDate = checkoutDate.plusDays(4)) {
+            CartAgreement cart = rentalService.buildCartAgreement(toolCodes, 9, 10, checkoutDate);
+
+            long preDiscount = 0;
+            long discount = 0;
+            long total = 0;
+            assertEquals(toolCodes.size(), cart.getLines().size());
+            for (int i = 0; i < toolCodes.size(); i++) {
+                RentalAgreement expected = rentalService.buildRentalAgreement(toolCodes.get(i), 9, 10, checkoutDate);
+                assertEquals(expected, cart.getLines().get(i));
+                preDiscount += expected.getPreDiscountChargeCents();
+                discount += expected.getDiscountAmountCents();
+                total += expected.getFinalChargeCents();
+            }
+            assertSame(cart.getLines().get(1), cart.getLines().get(2));
+            assertEquals(preDiscount, cart.getPreDiscountChargeCents());
+            assertEquals(discount, cart.getDiscountAmountCents());
+            assertEquals(total, cart.getFinalChargeCents());
+            assertEquals(checkoutDate.plusDays(9), cart.getDueDate());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void buildCartAgreement_shouldThrow_whenCartIsEmpty() {
+        rentalService.buildCartAgreement(Collections.emptyList(), 3, 0, LocalDate.of(2020, 7, 2));
+    }
+
+    @Test(expected = ToolNotFoundException.class)
+    public void buildCartAgreement_shouldThrow_whenCodeIsNotInCatalog() {
+        List<Tool> tools = new ArrayList<>(ToolCatalog.defaultCatalog().getTools());
+        tools.removeIf(tool -> tool.getCode() == JAKR);
+        RentalService withoutJackhammers = new RentalService(HolidayCalendar.defaultCalendar(), ToolCatalog.of(tools));
+        withoutJackhammers.buildCartAgreement(Arrays.asList(LADW, JAKR), 3, 0, LocalDate.of(2020, 7, 2));
+    }
+
+    @Test
+    public void cartAgreement_shouldKeepLinesAndTotals_whenCallerChangesItsList() {
+        LocalDate checkoutDate = LocalDate.of(2020, 7, 2);
+        RentalAgreement jackhammer = rentalService.buildRentalAgreement(JAKR, 5, 0, checkoutDate);
+        List<RentalAgreement> lines = new ArrayList<>(List.of(jackhammer));
+        CartAgreement cart = new CartAgreement(checkoutDate, jackhammer.getDueDate(), 5, lines);
+
+        lines.add(rentalService.buildRentalAgreement(LADW, 5, 0, checkoutDate));
+
+        assertEquals(List.of(jackhammer), cart.getLines());
+        assertEquals(jackhammer.getFinalChargeCents(), cart.getFinalChargeCents());
+    }
+}
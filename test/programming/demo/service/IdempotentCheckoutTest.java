@@ -0,0 +1,107 @@
+package programming.demo.service;
+
+import org.junit.Test;
+import programming.demo.model.CheckoutResult;
+import programming.demo.model.enumeration.CheckoutError;
+import programming.demo.model.enumeration.ToolCode;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+import static programming.demo.model.enumeration.ToolCode.*;
+
+public class IdempotentCheckoutTest {
+
+    private final RentalService rentalService = new RentalService();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger runCount = new AtomicInteger();
+    private final IdempotentCheckout idempotentCheckout = new IdempotentCheckout(Duration.ofMinutes(10), clock::get);
+
+    @Test
+    public void checkout_shouldReturnOriginalResult_whenRequestIdRepeats() {
+        CheckoutResult first = idempotentCheckout.checkout(42, () -> run(LADW, 3));
+        CheckoutResult retry = idempotentCheckout.checkout(42, () -> run(JAKR, 5));
+
+        assertSame(first, retry);
+        assertEquals(LADW, retry.getAgreement().getTool().getCode());
+        assertEquals(1, runCount.get());
+        assertEquals(1, idempotentCheckout.getReplayCount());
+    }
+
+    @Test
+    public void checkout_shouldRunAgain_whenEntryExpired() {
+        CheckoutResult first = idempotentCheckout.checkout(-7, () -> run(LADW, 3));
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+        CheckoutResult later = idempotentCheckout.checkout(-7, () -> run(LADW, 3));
+
+        assertNotSame(first, later);
+        assertEquals(2, runCount.get());
+        assertEquals(1, idempotentCheckout.size());
+    }
+
+    @Test
+    public void checkout_shouldRunAgain_whenFirstAttemptFailed() {
+        CheckoutResult refused = idempotentCheckout.checkout(1, () -> CheckoutResult.failure(CheckoutError.STORE_BUSY));
+        CheckoutResult retry = idempotentCheckout.checkout(1, () -> run(CHNS, 2));
+
+        assertFalse(refused.isSuccess());
+        assertTrue(retry.isSuccess());
+        assertEquals(0, idempotentCheckout.getReplayCount());
+    }
+
+    @Test
+    public void checkout_shouldKeepEveryLiveId_andDropExpiredOnes_asTheTableGrows() {
+        for (long requestId = 0; requestId < 10000; requestId++) {
+            idempotentCheckout.checkout(requestId * 1_000_003, () -> run(LADW, 1));
+        }
+        assertEquals(10000, idempotentCheckout.size());
+        for (long requestId = 0; requestId < 10000; requestId++) {
+            assertTrue(idempotentCheckout.checkout(requestId * 1_000_003, () -> run(JAKR, 1)).isSuccess());
+        }
+        assertEquals(10000, runCount.get());
+
+        clock.addAndGet(Duration.ofMinutes(11).toNanos());
+        for (long requestId = 10000; requestId < 10100; requestId++) {
+            idempotentCheckout.checkout(requestId, () -> run(LADW, 1));
+        }
+        assertEquals(100, idempotentCheckout.size());
+    }
+
+    @Test
+    public void checkout_shouldWaitForRunningAttempt_whenDuplicateArrivesMeanwhile() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CheckoutResult[] firstResult = new CheckoutResult[1];
+        Thread first = new Thread(() -> firstResult[0] = idempotentCheckout.checkout(9, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return run(LADW, 4);
+        }));
+        first.start();
+        started.await();
+
+        CheckoutResult[] duplicateResult = new CheckoutResult[1];
+        Thread duplicate = new Thread(() -> duplicateResult[0] = idempotentCheckout.checkout(9, () -> run(JAKR, 1)));
+        duplicate.start();
+        release.countDown();
+        first.join();
+        duplicate.join();
+
+        assertSame(firstResult[0], duplicateResult[0]);
+        assertEquals(1, runCount.get());
+        assertEquals(1, idempotentCheckout.getReplayCount());
+    }
+
+    private CheckoutResult run(ToolCode toolCode, int rentalDayCount) {
+        runCount.incrementAndGet();
+        return rentalService.tryBuildRentalAgreement(toolCode, rentalDayCount, 0, LocalDate.of(2020, 7, 2));
+    }
+}
@@ -0,0 +1,62 @@
+package programming.demo.service;
+
+import org.junit.Test;
+import programming.demo.calendar.HolidayCalendar;
+import programming.demo.catalog.ToolCatalog;
+import programming.demo.exception.InvalidRentalDayCountException;
+import programming.demo.model.PriceLadder;
+import programming.demo.model.RentalAgreement;
+import programming.demo.model.enumeration.ToolCode;
+import programming.demo.model.enumeration.ToolType;
+import programming.demo.pricing.RateRule;
+import programming.demo.pricing.RateTable;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class PriceLadderTest {
+
+    @Test
+    public void buildPriceLadder_shouldMatchEachAgreement_forEveryLength() {
+        List<RateRule> rules = new ArrayList<>(RateTable.defaultTable().getRules());
+        rules.add(RateRule.season(ToolType.Ladder, MonthDay.of(12, 20), MonthDay.of(1, 5), 249));
+        rules.add(RateRule.dates(ToolType.Jackhammer, LocalDate.of(2021, 1, 2), LocalDate.of(2021, 1, 9), 199));
+        RentalService rentalService = new RentalService(HolidayCalendar.defaultCalendar(), ToolCatalog.defaultCatalog(),
+                RateTable.of(rules));
+
+        for (ToolCode toolCode : ToolCode.values()) {
+            for (LocalDate checkoutDate = LocalDate.of(2020, 12, 1); checkoutDate.isBefore(LocalDate.of(2021, 1, 15));
+                 checkoutDate = checkoutDate.plusDays(3)) {
+                PriceLadder ladder = rentalService.buildPriceLadder(toolCode, 60, 15, checkoutDate);
+                assertEquals(60, ladder.getMaxRentalDayCount());
+                assertEquals(15, ladder.getRequestedDiscountPercent());
+                for (int days = 1; days <= 60; days++) {
+                    RentalAgreement agreement = rentalService.buildRentalAgreement(toolCode, days, 15, checkoutDate);
+                    assertEquals(agreement.getDailyRentalCostCents(), ladder.getDailyRentalCostCents());
+                    assertEquals(agreement.getDiscountPercent(), ladder.getDiscountPercent(days));
+                    assertEquals(agreement.getChargeDays(), ladder.getChargeDays(days));
+                    assertEquals(agreement.getPreDiscountChargeCents(), ladder.getPreDiscountChargeCents(days));
+                    assertEquals(agreement.getDiscountAmountCents(), ladder.getDiscountAmountCents(days));
+                    assertEquals(agreement.getFinalChargeCents(), ladder.getFinalChargeCents(days));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void buildPriceLadder_shouldPriceLongestLadder_whenAtCap() {
+        PriceLadder ladder = new RentalService().buildPriceLadder(ToolCode.JAKR, RentalService.MAX_PRICE_LADDER_DAY_COUNT, 0,
+                LocalDate.of(2020, 7, 2));
+
+        assertEquals(RentalService.MAX_PRICE_LADDER_DAY_COUNT, ladder.getMaxRentalDayCount());
+    }
+
+    @Test(expected = InvalidRentalDayCountException.class)
+    public void buildPriceLadder_shouldThrowInvalidRentalDayCountException_whenAboveCap() {
+        new RentalService().buildPriceLadder(ToolCode.JAKR, Integer.MAX_VALUE, 0, LocalDate.of(2020, 7, 2));
+    }
+}
@@ -0,0 +1,53 @@
+package programming.demo.service;
+
+import org.junit.Test;
+import programming.demo.catalog.ToolCatalog;
+import programming.demo.model.RentalAgreement;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.*;
+import static programming.demo.model.enumeration.ToolCode.*;
+
+public class QuoteCacheTest {
+
+    private final RentalService rentalService = new RentalService();
+
+    @Test
+    public void quote_shouldReturnSharedAgreement_whenInputsRepeat() {
+        QuoteCache cache = new QuoteCache(rentalService, 100);
+
+        RentalAgreement first = cache.quote(LADW, 3, 10, LocalDate.of(2020, 7, 2));
+        RentalAgreement second = cache.quote(LADW, 3, 10, LocalDate.of(2020, 7, 2));
+
+        assertSame(first, second);
+        assertEquals(rentalService.buildRentalAgreement(LADW, 3, 10, LocalDate.of(2020, 7, 2)), first);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void quote_shouldEvictLeastRecentlyUsed_whenFull() {
+        QuoteCache cache = new QuoteCache(rentalService, 16);
+
+        for (int rentalDayCount = 1; rentalDayCount <= 1000; rentalDayCount++) {
+            cache.quote(JAKR, rentalDayCount, 0, LocalDate.of(2015, 7, 2));
+        }
+
+        assertTrue(cache.size() <= 16);
+        assertEquals(1000 - cache.size(), cache.getEvictionCount());
+    }
+
+    @Test
+    public void quote_shouldRecompute_whenToolCatalogIsSwapped() {
+        QuoteCache cache = new QuoteCache(rentalService, 100);
+        RentalAgreement first = cache.quote(CHNS, 5, 25, LocalDate.of(2015, 7, 2));
+
+        rentalService.swapToolCatalog(ToolCatalog.defaultCatalog());
+        RentalAgreement second = cache.quote(CHNS, 5, 25, LocalDate.of(2015, 7, 2));
+
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        assertEquals(2, cache.getMissCount());
+    }
+}
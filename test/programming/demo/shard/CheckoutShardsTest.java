@@ -0,0 +1,119 @@
+package programming.demo.shard;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import programming.demo.journal.AgreementJournal;
+import programming.demo.model.CheckoutResult;
+import programming.demo.model.enumeration.CheckoutError;
+import programming.demo.service.RentalService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.Assert.*;
+import static programming.demo.model.enumeration.ToolCode.*;
+
+public class CheckoutShardsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void checkout_shouldNeverOversellAnyStore_whenManyThreadsCheckoutAcrossShards() throws Exception {
+        List<CheckoutResult> results = new ArrayList<>();
+        try (CheckoutShards shards = CheckoutShards.builder(new RentalService()).shardCount(4).queueCapacity(1 << 16)
+                .journalDirectory(folder.getRoot().toPath()).start()) {
+            for (int store = 0; store < 16; store++) {
+                shards.addUnits("store-" + store, LADW, 100).join();
+            }
+
+            List<Thread> threads = new ArrayList<>();
+            List<List<CompletableFuture<CheckoutResult>>> futuresByThread = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int offset = t;
+                List<CompletableFuture<CheckoutResult>> futures = new ArrayList<>();
+                futuresByThread.add(futures);
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        futures.add(shards.checkout("store-" + (offset + i) % 16, LADW, 3, 10, LocalDate.of(2020, 7, 2)));
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            for (List<CompletableFuture<CheckoutResult>> futures : futuresByThread) {
+                for (CompletableFuture<CheckoutResult> future : futures) {
+                    results.add(future.join());
+                }
+            }
+
+            long succeeded = 0;
+            for (CheckoutResult result : results) {
+                if (result.isSuccess()) {
+                    succeeded++;
+                } else {
+                    assertEquals(CheckoutError.TOOL_NOT_AVAILABLE, result.getErrorCode());
+                }
+            }
+            assertEquals(8 * 500, results.size());
+            assertEquals(1600, succeeded);
+            long completed = 0;
+            for (int store = 0; store < 16; store++) {
+                assertEquals(0, shards.getAvailableUnits("store-" + store, LADW));
+            }
+            for (ShardStats stats : shards.getShardStats()) {
+                completed += stats.getCompletedCount();
+                assertEquals(0, stats.getRejectedCount());
+            }
+            assertEquals(16 + 8 * 500, completed);
+        }
+
+        long journaled = 0;
+        for (int shard = 0; shard < 4; shard++) {
+            try (AgreementJournal journal = AgreementJournal.open(folder.getRoot().toPath().resolve("shard-" + shard + ".journal"))) {
+                journaled += journal.size();
+            }
+        }
+        assertEquals(1600, journaled);
+    }
+
+    @Test
+    public void returnUnit_shouldMakeTheUnitAvailableAgain() {
+        try (CheckoutShards shards = CheckoutShards.builder(new RentalService()).shardCount(2).start()) {
+            shards.addUnits("store-1", JAKD, 1).join();
+
+            assertTrue(shards.checkout("store-1", JAKD, 5, 0, LocalDate.of(2015, 9, 3)).join().isSuccess());
+            assertFalse(shards.checkout("store-1", JAKD, 5, 0, LocalDate.of(2015, 9, 3)).join().isSuccess());
+            shards.returnUnit("store-1", JAKD).join();
+
+            assertEquals(1, shards.getAvailableUnits("store-1", JAKD));
+            assertEquals(CheckoutError.INVALID_DISCOUNT, shards.checkout("store-1", JAKD, 5, 101, LocalDate.of(2015, 9, 3)).join().getErrorCode());
+            assertEquals(1, shards.getAvailableUnits("store-1", JAKD));
+        }
+    }
+
+    @Test
+    public void checkout_shouldFail_whenShardsAreClosed() {
+        CheckoutShards shards = CheckoutShards.builder(new RentalService()).shardCount(2).start();
+        shards.addUnits("store-1", JAKD, 1).join();
+        shards.close();
+
+        CompletableFuture<CheckoutResult> future = shards.checkout("store-1", JAKD, 5, 0, LocalDate.of(2015, 9, 3));
+
+        assertTrue(future.isCompletedExceptionally());
+        try {
+            future.join();
+            fail("Expected the checkout to fail.");
+        } catch (CompletionException ex) {
+            assertEquals(IllegalStateException.class, ex.getCause().getClass());
+        }
+        assertEquals(1, shards.getAvailableUnits("store-1", JAKD));
+    }
+}